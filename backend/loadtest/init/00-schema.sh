@@ -0,0 +1,8 @@
+#!/bin/sh
+# Applies the Flyway migrations in version order. Errors are not fatal: V1 declares complaint_evidence twice,
+# which Flyway-managed databases never ran as-is.
+set -u
+for file in $(ls /migrations/V*__*.sql | sort -t V -k 2 -n); do
+    echo "Applying $file"
+    psql -v ON_ERROR_STOP=0 -q -U "$POSTGRES_USER" -d "$POSTGRES_DB" -f "$file"
+done
@@ -0,0 +1,129 @@
+// Load scenarios for the seeded data set (see ../seed.sql).
+// Flows run side by side in the proportions below; every request is tagged with its flow so the summary
+// reports latency per flow. The summary is written to /results/<LABEL>.json for release-over-release diffs.
+import http from 'k6/http';
+import { check, fail, sleep } from 'k6';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.1.0/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8089/api';
+const TENANTS = parseInt(__ENV.TENANTS || '1000', 10);
+const VUS = parseInt(__ENV.VUS || '50', 10);
+const DURATION = __ENV.DURATION || '2m';
+const LABEL = __ENV.LABEL || 'local';
+const PASSWORD = 'LoadTest@123';
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+const CITIES = ['Kathmandu', 'Lalitpur', 'Bhaktapur', 'Pokhara', 'Biratnagar', 'Bharatpur', 'Butwal'];
+
+function vus(share) {
+    return Math.max(1, Math.round(VUS * share));
+}
+
+export const options = {
+    scenarios: {
+        search: { executor: 'constant-vus', exec: 'search', vus: vus(0.45), duration: DURATION },
+        detail: { executor: 'constant-vus', exec: 'detail', vus: vus(0.35), duration: DURATION },
+        wishlist: { executor: 'constant-vus', exec: 'wishlist', vus: vus(0.2), duration: DURATION },
+        // Logins are CPU-bound (BCrypt), so they run at a fixed rate instead of as fast as possible
+        login: {
+            executor: 'constant-arrival-rate', exec: 'login', duration: DURATION,
+            rate: parseInt(__ENV.LOGIN_RATE || '5', 10), timeUnit: '1s', preAllocatedVUs: 20,
+        },
+    },
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+        'http_req_duration{flow:search}': ['p(99)<1000'],
+        'http_req_duration{flow:detail}': ['p(99)<800'],
+        'http_req_duration{flow:wishlist}': ['p(99)<800'],
+        'http_req_duration{flow:login}': ['p(99)<2000'],
+    },
+    summaryTrendStats: ['avg', 'min', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+function tenantEmail(n) {
+    return `tenant${1 + (n % TENANTS)}@loadtest.khojdu`;
+}
+
+function logIn(email, flow) {
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ email, password: PASSWORD }),
+        { headers: JSON_HEADERS, tags: { flow, name: 'POST /auth/login' } });
+    check(res, { 'login 200': (r) => r.status === 200 });
+    return res.status === 200 ? res.json('data.accessToken') : null;
+}
+
+function authHeaders(token) {
+    return { ...JSON_HEADERS, Authorization: `Bearer ${token}` };
+}
+
+export function setup() {
+    const token = logIn(tenantEmail(0), 'setup');
+    if (!token) fail('setup login failed: is the data set seeded?');
+
+    // Property ids for the detail and wishlist flows
+    const ids = [];
+    for (let page = 0; page < 10; page++) {
+        const res = http.post(`${BASE_URL}/properties/search`, JSON.stringify({ page, size: 100 }),
+            { headers: authHeaders(token), tags: { flow: 'setup' } });
+        const content = res.json('data.content') || [];
+        content.forEach((p) => ids.push(p.id));
+        if (content.length < 100) break;
+    }
+    if (ids.length === 0) fail('setup found no properties');
+    return { ids };
+}
+
+// One token per VU, obtained on its first iteration
+let vuToken = null;
+function token() {
+    if (!vuToken) vuToken = logIn(tenantEmail(__VU), 'setup');
+    return vuToken;
+}
+
+function pick(values) {
+    return values[Math.floor(Math.random() * values.length)];
+}
+
+export function search() {
+    const body = {
+        page: Math.floor(Math.random() * 5),
+        size: 20,
+        city: pick(CITIES),
+        maxRent: 10000 + Math.floor(Math.random() * 60000),
+    };
+    const res = http.post(`${BASE_URL}/properties/search`, JSON.stringify(body),
+        { headers: JSON_HEADERS, tags: { flow: 'search', name: 'POST /properties/search' } });
+    check(res, { 'search 200': (r) => r.status === 200 });
+    sleep(0.5);
+}
+
+export function detail(data) {
+    const res = http.get(`${BASE_URL}/properties/${pick(data.ids)}`,
+        { headers: authHeaders(token()), tags: { flow: 'detail', name: 'GET /properties/{id}' } });
+    check(res, { 'detail 200': (r) => r.status === 200 });
+    sleep(0.5);
+}
+
+export function wishlist(data) {
+    const headers = authHeaders(token());
+    const id = pick(data.ids);
+    const add = http.post(`${BASE_URL}/wishlist/${id}`, null,
+        { headers, tags: { flow: 'wishlist', name: 'POST /wishlist/{id}' } });
+    check(add, { 'wishlist add 2xx/409': (r) => (r.status >= 200 && r.status < 300) || r.status === 409 });
+    const list = http.get(`${BASE_URL}/wishlist`,
+        { headers, tags: { flow: 'wishlist', name: 'GET /wishlist' } });
+    check(list, { 'wishlist list 200': (r) => r.status === 200 });
+    const remove = http.del(`${BASE_URL}/wishlist/${id}`, null,
+        { headers, tags: { flow: 'wishlist', name: 'DELETE /wishlist/{id}' } });
+    check(remove, { 'wishlist remove 2xx/404': (r) => (r.status >= 200 && r.status < 300) || r.status === 404 });
+    sleep(0.5);
+}
+
+export function login() {
+    logIn(tenantEmail(Math.floor(Math.random() * TENANTS)), 'login');
+}
+
+export function handleSummary(data) {
+    return {
+        stdout: textSummary(data, { indent: ' ', enableColors: true }),
+        [`/results/${LABEL}.json`]: JSON.stringify(data, null, 2),
+    };
+}
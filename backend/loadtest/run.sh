@@ -0,0 +1,28 @@
+#!/bin/sh
+# Seeds the load-test stack and runs the k6 scenarios against it.
+#
+#   ./run.sh                        platform threads, default data set
+#   MODE=virtual ./run.sh           same run with VIRTUAL_THREADS_ENABLED=true
+#   PROPERTIES=100000 VUS=200 DURATION=5m ./run.sh
+#
+# The k6 summary (p50/p90/p95/p99 per flow, error rate, throughput) goes to results/<label>.json.
+set -eu
+cd "$(dirname "$0")"
+
+MODE=${MODE:-platform}
+TENANTS=${TENANTS:-1000}
+LANDLORDS=${LANDLORDS:-100}
+PROPERTIES=${PROPERTIES:-10000}
+export TENANTS
+export VIRTUAL_THREADS_ENABLED=false
+[ "$MODE" = "virtual" ] && VIRTUAL_THREADS_ENABLED=true
+export LABEL=${LABEL:-"$(date +%Y%m%d-%H%M%S)-$MODE-$PROPERTIES"}
+
+mkdir -p results
+docker compose up -d --wait postgres redis
+docker compose exec -T postgres psql -U khojdu -d khojdu -v ON_ERROR_STOP=1 \
+    -v tenants="$TENANTS" -v landlords="$LANDLORDS" -v properties="$PROPERTIES" -f /loadtest/seed.sql
+# Recreate the backend so a MODE change takes effect and caches start cold
+docker compose up -d --build --force-recreate --wait backend
+docker compose --profile run run --rm k6 run /scripts/scenarios.js
+echo "Summary written to results/$LABEL.json"
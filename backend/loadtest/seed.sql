@@ -0,0 +1,89 @@
+-- Deterministic load-test data set.
+-- psql -v tenants=1000 -v landlords=100 -v properties=10000 -f seed.sql
+-- Every seeded account uses the password LoadTest@123. Re-running replaces the previous data set.
+
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+
+BEGIN;
+
+DELETE FROM properties WHERE landlord_id IN (SELECT id FROM users WHERE email LIKE '%@loadtest.khojdu');
+DELETE FROM users WHERE email LIKE '%@loadtest.khojdu';
+
+SELECT setseed(0.42);
+
+-- One hash for every account (BCrypt-12, the default strength, so logins do not trigger a rehash)
+CREATE TEMP TABLE seed_password AS SELECT crypt('LoadTest@123', gen_salt('bf', 12)) AS hash;
+
+INSERT INTO users (email, password_hash, full_name, phone, role, is_verified, is_active)
+SELECT 'landlord' || g || '@loadtest.khojdu', p.hash, 'Load Landlord ' || g, '98' || lpad(g::text, 8, '0'),
+       'LANDLORD', TRUE, TRUE
+FROM generate_series(1, :landlords) g, seed_password p;
+
+INSERT INTO users (email, password_hash, full_name, phone, role, is_verified, is_active)
+SELECT 'tenant' || g || '@loadtest.khojdu', p.hash, 'Load Tenant ' || g, '97' || lpad(g::text, 8, '0'),
+       'TENANT', TRUE, TRUE
+FROM generate_series(1, :tenants) g, seed_password p;
+
+CREATE TEMP TABLE seed_landlords AS
+SELECT row_number() OVER (ORDER BY email) AS n, id
+FROM users WHERE role = 'LANDLORD' AND email LIKE '%@loadtest.khojdu';
+
+-- City centres with a rough weight for how much of the data set they get
+CREATE TEMP TABLE seed_cities (n INT, city TEXT, district TEXT, lat NUMERIC, lon NUMERIC);
+INSERT INTO seed_cities VALUES
+    (0, 'Kathmandu', 'Kathmandu', 27.7172, 85.3240),
+    (1, 'Kathmandu', 'Kathmandu', 27.7172, 85.3240),
+    (2, 'Kathmandu', 'Kathmandu', 27.7172, 85.3240),
+    (3, 'Lalitpur', 'Lalitpur', 27.6588, 85.3247),
+    (4, 'Bhaktapur', 'Bhaktapur', 27.6710, 85.4298),
+    (5, 'Pokhara', 'Kaski', 28.2096, 83.9856),
+    (6, 'Pokhara', 'Kaski', 28.2096, 83.9856),
+    (7, 'Biratnagar', 'Morang', 26.4525, 87.2718),
+    (8, 'Bharatpur', 'Chitwan', 27.6766, 84.4354),
+    (9, 'Butwal', 'Rupandehi', 27.7006, 83.4484);
+
+INSERT INTO properties (title, description, property_type, landlord_id, address, city, district, ward_number,
+                        latitude, longitude, monthly_rent, security_deposit, bedrooms, bathrooms, total_area,
+                        is_furnished, parking_available, internet_included, pets_allowed,
+                        is_available, status, is_featured, created_at, updated_at)
+SELECT (ARRAY['Cozy', 'Spacious', 'Sunny', 'Quiet', 'Modern'])[1 + (g % 5)] || ' ' ||
+           lower(t.type) || ' in ' || c.city,
+       'Load test listing ' || g || ' close to ' || c.city || ' centre',
+       t.type,
+       l.id,
+       'Ward ' || (1 + g % 32) || ', ' || c.city,
+       c.city,
+       c.district,
+       1 + g % 32,
+       round((c.lat + (random() - 0.5) * 0.08)::numeric, 8),
+       round((c.lon + (random() - 0.5) * 0.08)::numeric, 8),
+       round((5000 + random() * 75000)::numeric, -2),
+       round((10000 + random() * 150000)::numeric, -2),
+       1 + (g % 4),
+       1 + (g % 3),
+       200 + (g % 1800),
+       random() < 0.4,
+       random() < 0.5,
+       random() < 0.6,
+       random() < 0.2,
+       random() < 0.9,
+       'APPROVED',
+       g % 50 = 0,
+       now() - (random() * interval '365 days'),
+       now()
+FROM generate_series(1, :properties) g
+JOIN seed_cities c ON c.n = g % 10
+JOIN seed_landlords l ON l.n = 1 + g % (SELECT count(*) FROM seed_landlords)
+CROSS JOIN LATERAL (SELECT (ARRAY['ROOM', 'FLAT', 'HOUSE', 'APARTMENT'])[1 + (g % 4)] AS type) t;
+
+INSERT INTO property_images (property_id, image_url, alt_text, is_primary, display_order)
+SELECT p.id, 'https://picsum.photos/seed/' || p.id || '-' || i || '/800/600', p.title, i = 0, i
+FROM properties p
+JOIN seed_landlords l ON l.id = p.landlord_id
+CROSS JOIN generate_series(0, 2) i;
+
+COMMIT;
+
+ANALYZE users;
+ANALYZE properties;
+ANALYZE property_images;
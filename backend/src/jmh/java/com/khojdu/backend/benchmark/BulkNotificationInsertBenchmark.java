@@ -0,0 +1,119 @@
+package com.khojdu.backend.benchmark;
+
+import com.khojdu.backend.entity.enums.NotificationType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of the bulk notification fan-out, in notifications per second, against a throwaway PostgreSQL
+ * container (needs Docker). Each invocation writes ROWS notifications the way BulkNotificationServiceImpl does:
+ * JdbcTemplate.batchUpdate with app-generated ids, one transaction per batch. batchSize = 1 is a commit per row;
+ * a fan-out to N users takes about N / score seconds plus the recipient cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(BulkNotificationInsertBenchmark.ROWS)
+public class BulkNotificationInsertBenchmark {
+
+    static final int ROWS = 5_000;
+
+    // Same statement as BulkNotificationServiceImpl
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (id, user_id, type, title, message, data, is_read, is_sent, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), false, false, ?)";
+
+    // The columns, key and indexes the fan-out writes through (V1 and V4, plus the entity's data column)
+    private static final String[] SCHEMA = {
+            "CREATE TABLE users (id UUID PRIMARY KEY, email VARCHAR(255) UNIQUE NOT NULL)",
+            "CREATE TABLE notifications (id UUID PRIMARY KEY DEFAULT gen_random_uuid()," +
+                    " user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE, type VARCHAR(50) NOT NULL," +
+                    " title VARCHAR(255) NOT NULL, message TEXT NOT NULL, data JSONB, is_read BOOLEAN DEFAULT FALSE," +
+                    " is_sent BOOLEAN DEFAULT FALSE, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, read_at TIMESTAMP)",
+            "CREATE INDEX idx_notifications_user ON notifications(user_id)",
+            "CREATE INDEX idx_notifications_unread ON notifications(user_id, is_read) WHERE is_read = false",
+            "CREATE INDEX idx_notifications_type ON notifications(type)"
+    };
+
+    @Param({"1", "100", "1000"})
+    private int batchSize;
+
+    // application.yml turns this on for the pool
+    @Param({"false", "true"})
+    private boolean reWriteBatchedInserts;
+
+    private PostgreSQLContainer<?> postgres;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate batchTransaction;
+    private List<UUID> recipients;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        dataSource = new SingleConnectionDataSource(
+                postgres.getJdbcUrl() + "&reWriteBatchedInserts=" + reWriteBatchedInserts,
+                postgres.getUsername(), postgres.getPassword(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        batchTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        for (String statement : SCHEMA) {
+            jdbcTemplate.execute(statement);
+        }
+
+        recipients = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            recipients.add(UUID.randomUUID());
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, email) VALUES (?, ?)", recipients, 1000, (ps, id) -> {
+            ps.setObject(1, id);
+            ps.setString(2, id + "@example.com");
+        });
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE notifications");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int fanOut() {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        int inserted = 0;
+        for (int from = 0; from < ROWS; from += batchSize) {
+            List<UUID> batch = recipients.subList(from, Math.min(from + batchSize, ROWS));
+            batchTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, userId) -> {
+                        ps.setObject(1, UUID.randomUUID());
+                        ps.setObject(2, userId);
+                        ps.setString(3, NotificationType.NEW_MATCH.name());
+                        ps.setString(4, "New listings in Kathmandu");
+                        ps.setString(5, "12 flats matching your saved search were listed this week.");
+                        ps.setString(6, "{\"city\":\"Kathmandu\"}");
+                        ps.setTimestamp(7, createdAt);
+                    }));
+            inserted += batch.size();
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,107 @@
+package com.khojdu.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.khojdu.backend.util.ExportRowWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding throughput of admin exports, in property rows per second, for each format with and without gzip.
+ * Rows are prebuilt and the output is discarded, so this is the CPU ceiling of an export; a million-row export takes
+ * at least 1e6 / score seconds on top of the database cursor and the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(ExportEncodingBenchmark.ROWS)
+public class ExportEncodingBenchmark {
+
+    static final int ROWS = 10_000;
+
+    private static final String[] COLUMNS = {
+            "id", "title", "propertyType", "status", "landlordId", "landlordEmail", "address", "city", "district",
+            "monthlyRent", "bedrooms", "bathrooms", "isFurnished", "isAvailable", "isFeatured", "createdAt"
+    };
+
+    @Param({"ndjson", "csv"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private Object[][] rows;
+    private CountingOutputStream sink;
+
+    @Setup
+    public void setUp() {
+        rows = new Object[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new Object[]{
+                    UUID.randomUUID(), "2BHK flat, near \"Baneshwor\" chowk " + i, "FLAT", "APPROVED",
+                    UUID.randomUUID(), "landlord" + (i % 500) + "@example.com", "New Baneshwor, Ward " + (i % 32 + 1),
+                    "Kathmandu", "Kathmandu", BigDecimal.valueOf(8_000 + (i * 731L) % 40_000).setScale(2),
+                    i % 3 + 1, i % 2 + 1, i % 2 == 0, true, i % 10 == 0, LocalDateTime.now().minusMinutes(i)
+            };
+        }
+        sink = new CountingOutputStream();
+    }
+
+    @TearDown
+    public void report() {
+        System.out.printf("%n%s%s: %.1f bytes per row%n", format, gzip ? " (gzip)" : "",
+                (double) sink.bytes / sink.rows);
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        GZIPOutputStream gzipOut = gzip ? fastGzip(sink) : null;
+        OutputStream target = gzipOut != null ? gzipOut : sink;
+        ExportRowWriter writer = "csv".equals(format)
+                ? ExportRowWriter.csv(target)
+                : ExportRowWriter.ndjson(target, jsonFactory);
+        writer.start(COLUMNS);
+        for (Object[] row : rows) {
+            writer.write(row);
+        }
+        writer.close();
+        if (gzipOut != null) gzipOut.finish();
+        sink.rows += ROWS;
+        return sink.bytes;
+    }
+
+    // Same level as AdminExportServiceImpl
+    private static GZIPOutputStream fastGzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, 64 * 1024) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long bytes;
+        long rows;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
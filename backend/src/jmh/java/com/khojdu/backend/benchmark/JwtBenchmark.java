@@ -0,0 +1,83 @@
+package com.khojdu.backend.benchmark;
+
+import com.khojdu.backend.config.JwtConfig;
+import com.khojdu.backend.security.JwtKeyProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token verification, the per-request hot path of JwtAuthenticationFilter.
+ * {@code rebuildParser} is the previous HS256 approach (key and parser built on every call) for comparison;
+ * for the asymmetric algorithms it is the same as {@code cachedParser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-0123456789";
+
+    @Param({"HS256", "ES256", "EDDSA"})
+    private JwtConfig.Algorithm algorithm;
+
+    private JwtKeyProvider keyProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfig config = new JwtConfig();
+        config.setSecret(SECRET);
+        config.setAlgorithm(algorithm);
+        // No active profile, so ES256 and EDDSA get a generated key pair
+        keyProvider = new JwtKeyProvider(config, new StandardEnvironment());
+
+        Date now = new Date();
+        token = keyProvider.sign(Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .claim("email", "tenant@example.com")
+                .claim("role", "TENANT")
+                .claim("type", "access")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3_600_000)))
+                .compact();
+    }
+
+    @Benchmark
+    public Claims cachedParser() {
+        return keyProvider.parser().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims rebuildParser() {
+        if (algorithm != JwtConfig.Algorithm.HS256) {
+            return cachedParser();
+        }
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public String sign() {
+        Date now = new Date();
+        return keyProvider.sign(Jwts.builder()
+                .subject("00000000-0000-0000-0000-000000000001")
+                .claim("type", "access")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3_600_000)))
+                .compact();
+    }
+}
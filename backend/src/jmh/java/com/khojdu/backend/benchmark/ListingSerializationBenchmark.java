@@ -0,0 +1,143 @@
+package com.khojdu.backend.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.khojdu.backend.dto.common.ApiResponse;
+import com.khojdu.backend.dto.common.PagedResponse;
+import com.khojdu.backend.dto.property.PropertyListField;
+import com.khojdu.backend.dto.property.PropertyListProjection;
+import com.khojdu.backend.dto.property.PropertyListResponse;
+import com.khojdu.backend.entity.enums.PropertyStatus;
+import com.khojdu.backend.entity.enums.PropertyType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost of a page of listing cards: the full JSON response against a sparse fieldset and the columnar
+ * compact layout. Payload sizes (raw and gzipped, as served with compression on) are printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingSerializationBenchmark {
+
+    // The mobile card: what the app actually renders
+    private static final List<PropertyListField> CARD_FIELDS =
+            PropertyListField.parse("id,title,monthlyRent,primaryImageUrl");
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private ObjectMapper indentedMapper;
+    private PagedResponse<PropertyListResponse> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        indentedMapper = mapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+
+        List<PropertyListResponse> listings = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            listings.add(listing(i));
+        }
+        page = PagedResponse.of(listings, 0, pageSize, 5_000, 5_000 / pageSize);
+
+        System.out.printf("%n%d cards, bytes raw / gzip%n", pageSize);
+        report("json (indented, current default)", indentedMapper.writeValueAsBytes(fullJson()));
+        report("json", fullJsonBytes());
+        report("json fields=card", fieldsJson());
+        report("compact", compactAll());
+        report("compact fields=card", compactFields());
+    }
+
+    @Benchmark
+    public byte[] fullJsonBytes() throws IOException {
+        return mapper.writeValueAsBytes(fullJson());
+    }
+
+    @Benchmark
+    public byte[] fieldsJson() throws IOException {
+        return mapper.writeValueAsBytes(projected(CARD_FIELDS, false));
+    }
+
+    @Benchmark
+    public byte[] compactAll() throws IOException {
+        return mapper.writeValueAsBytes(projected(PropertyListField.ALL, true));
+    }
+
+    @Benchmark
+    public byte[] compactFields() throws IOException {
+        return mapper.writeValueAsBytes(projected(CARD_FIELDS, true));
+    }
+
+    private ApiResponse<PagedResponse<PropertyListResponse>> fullJson() {
+        return ApiResponse.success(page);
+    }
+
+    // Same envelope ListingResponseAdvice builds
+    private ApiResponse<Map<String, Object>> projected(List<PropertyListField> fields, boolean columnar) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("content", new PropertyListProjection(page.getContent(), fields, columnar));
+        data.put("page", page.getPage());
+        data.put("size", page.getSize());
+        data.put("totalElements", page.getTotalElements());
+        data.put("totalPages", page.getTotalPages());
+        return ApiResponse.success(data);
+    }
+
+    private static void report(String label, byte[] payload) throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(payload);
+        }
+        System.out.printf("  %-34s %8d / %7d%n", label, payload.length, gzipped.size());
+    }
+
+    private static PropertyListResponse listing(int i) {
+        PropertyListResponse listing = new PropertyListResponse();
+        listing.setId(UUID.randomUUID());
+        listing.setTitle((i % 3 + 1) + "BHK flat near Baneshwor " + i);
+        listing.setPropertyType(i % 2 == 0 ? PropertyType.FLAT : PropertyType.ROOM);
+        listing.setStatus(PropertyStatus.APPROVED);
+        listing.setAddress("New Baneshwor, Ward " + (i % 32 + 1));
+        listing.setCity("Kathmandu");
+        listing.setDistrict("Kathmandu");
+        listing.setMonthlyRent(BigDecimal.valueOf(8_000 + (i * 731L) % 40_000).setScale(2));
+        listing.setBedrooms(i % 3 + 1);
+        listing.setBathrooms(i % 2 + 1);
+        listing.setTotalArea(450 + i % 600);
+        listing.setIsFurnished(i % 2 == 0);
+        listing.setParkingAvailable(i % 3 == 0);
+        listing.setIsAvailable(true);
+        listing.setIsFeatured(i % 10 == 0);
+        listing.setCreatedAt(LocalDateTime.now().minusDays(i));
+        listing.setPrimaryImageUrl("https://res.cloudinary.com/khojdu/image/upload/v1/properties/p" + i + ".jpg");
+        listing.setLandlordName("Landlord " + (i % 50));
+        listing.setLandlordVerified(i % 4 != 0);
+        listing.setViewCount(100L + i * 7L);
+        listing.setAverageRating(3.5 + (i % 15) / 10.0);
+        listing.setReviewCount((long) (i % 40));
+        listing.setKeyAmenities(List.of("WiFi", "Parking", "Water Supply"));
+        return listing;
+    }
+}
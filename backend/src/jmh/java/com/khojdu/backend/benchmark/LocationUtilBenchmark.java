@@ -0,0 +1,50 @@
+package com.khojdu.backend.benchmark;
+
+import com.khojdu.backend.util.LocationUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Haversine distance as used by radius search, over points spread across the Nepal bounding box.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationUtilBenchmark {
+
+    private static final int POINTS = 1024;
+
+    private final BigDecimal[] latitudes = new BigDecimal[POINTS];
+    private final BigDecimal[] longitudes = new BigDecimal[POINTS];
+    private final BigDecimal originLatitude = new BigDecimal("27.7172");
+    private final BigDecimal originLongitude = new BigDecimal("85.3240");
+    private int index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = BigDecimal.valueOf(random.nextDouble(26.0, 31.0)).setScale(8, RoundingMode.HALF_UP);
+            longitudes[i] = BigDecimal.valueOf(random.nextDouble(80.0, 89.0)).setScale(8, RoundingMode.HALF_UP);
+        }
+    }
+
+    @Benchmark
+    public double calculateDistance() {
+        int i = index++ & (POINTS - 1);
+        return LocationUtil.calculateDistance(originLatitude, originLongitude, latitudes[i], longitudes[i]);
+    }
+
+    @Benchmark
+    public boolean isWithinRadius() {
+        int i = index++ & (POINTS - 1);
+        return LocationUtil.isWithinRadius(originLatitude, originLongitude, latitudes[i], longitudes[i], 5.0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.khojdu.backend.benchmark;
+
+import com.khojdu.backend.dto.common.PagedResponse;
+import com.khojdu.backend.util.PaginationUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pageable construction and page wrapping done on every listing endpoint.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationUtilBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private Page<Integer> page;
+    private List<String> mappedContent;
+
+    @Setup
+    public void setUp() {
+        List<Integer> content = new ArrayList<>(pageSize);
+        mappedContent = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(i);
+            mappedContent.add("item-" + i);
+        }
+        page = new PageImpl<>(content, PaginationUtil.createPageable(3, pageSize, "createdAt", "DESC"), 10_000);
+    }
+
+    @Benchmark
+    public Pageable createSortedPageable() {
+        return PaginationUtil.createPageable(3, pageSize, "createdAt", "DESC");
+    }
+
+    @Benchmark
+    public Pageable createUnsortedPageable() {
+        return PaginationUtil.createPageable(3, pageSize, null, null);
+    }
+
+    @Benchmark
+    public PagedResponse<Integer> createPagedResponse() {
+        return PaginationUtil.createPagedResponse(page);
+    }
+
+    @Benchmark
+    public PagedResponse<String> createMappedPagedResponse() {
+        return PaginationUtil.createPagedResponse(page, mappedContent);
+    }
+}
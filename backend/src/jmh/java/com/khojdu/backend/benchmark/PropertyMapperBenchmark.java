@@ -0,0 +1,132 @@
+package com.khojdu.backend.benchmark;
+
+import com.khojdu.backend.dto.property.PropertyListResponse;
+import com.khojdu.backend.dto.property.PropertyResponse;
+import com.khojdu.backend.entity.Amenity;
+import com.khojdu.backend.entity.Property;
+import com.khojdu.backend.entity.PropertyImage;
+import com.khojdu.backend.entity.User;
+import com.khojdu.backend.entity.enums.AmenityCategory;
+import com.khojdu.backend.entity.enums.PropertyStatus;
+import com.khojdu.backend.entity.enums.PropertyType;
+import com.khojdu.backend.entity.enums.UserRole;
+import com.khojdu.backend.mapper.PropertyMapper;
+import com.khojdu.backend.repository.InquiryRepository;
+import com.khojdu.backend.repository.PropertyImageRepository;
+import com.khojdu.backend.repository.PropertyViewRepository;
+import com.khojdu.backend.repository.ReviewRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping cost for property detail and list responses.
+ * Repositories are replaced by constant stubs, so this measures the mapping itself;
+ * the per-property queries it triggers are measured by the load test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyMapperBenchmark {
+
+    @Param({"1", "10"})
+    private int imageCount;
+
+    private PropertyMapper mapper;
+    private Property property;
+
+    @Setup
+    public void setUp() {
+        mapper = new PropertyMapper(
+                stub(PropertyImageRepository.class),
+                stub(ReviewRepository.class),
+                stub(InquiryRepository.class),
+                stub(PropertyViewRepository.class));
+        property = property(imageCount);
+    }
+
+    @Benchmark
+    public PropertyResponse toPropertyResponse() {
+        return mapper.toPropertyResponse(property);
+    }
+
+    @Benchmark
+    public PropertyListResponse toPropertyListResponse() {
+        return mapper.toPropertyListResponse(property);
+    }
+
+    private static Property property(int imageCount) {
+        User landlord = new User();
+        landlord.setId(UUID.randomUUID());
+        landlord.setFullName("Benchmark Landlord");
+        landlord.setEmail("landlord@example.com");
+        landlord.setPhone("9800000000");
+        landlord.setRole(UserRole.LANDLORD);
+        landlord.setIsVerified(true);
+
+        Property property = new Property();
+        property.setId(UUID.randomUUID());
+        property.setTitle("2BHK flat near Baneshwor");
+        property.setDescription("Sunny flat with parking and water supply");
+        property.setPropertyType(PropertyType.FLAT);
+        property.setStatus(PropertyStatus.APPROVED);
+        property.setLandlord(landlord);
+        property.setAddress("New Baneshwor, Kathmandu");
+        property.setCity("Kathmandu");
+        property.setDistrict("Kathmandu");
+        property.setWardNumber(10);
+        property.setLatitude(new BigDecimal("27.68890000"));
+        property.setLongitude(new BigDecimal("85.33580000"));
+        property.setMonthlyRent(new BigDecimal("25000.00"));
+        property.setSecurityDeposit(new BigDecimal("50000.00"));
+        property.setCreatedAt(LocalDateTime.now());
+        property.setUpdatedAt(LocalDateTime.now());
+
+        List<PropertyImage> images = new ArrayList<>();
+        for (int i = 0; i < imageCount; i++) {
+            PropertyImage image = new PropertyImage();
+            image.setId(UUID.randomUUID());
+            image.setProperty(property);
+            image.setImageUrl("https://res.cloudinary.com/khojdu/image/upload/p" + i + ".jpg");
+            image.setIsPrimary(i == 0);
+            image.setDisplayOrder(i);
+            images.add(image);
+        }
+        property.setImages(images);
+
+        List<Amenity> amenities = new ArrayList<>();
+        for (String name : List.of("WiFi", "Parking", "Water Supply", "Balcony")) {
+            Amenity amenity = new Amenity();
+            amenity.setId(UUID.randomUUID());
+            amenity.setName(name);
+            amenity.setCategory(AmenityCategory.BASIC);
+            amenities.add(amenity);
+        }
+        property.setAmenities(amenities);
+        property.setNearbyPlaces(List.of());
+        return property;
+    }
+
+    // Answers every repository call with a constant of the declared return type
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> repositoryType) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == Long.class || returnType == long.class) return 12L;
+                    if (returnType == Double.class || returnType == double.class) return 4.2;
+                    if (returnType == Optional.class) return Optional.empty();
+                    return null;
+                });
+    }
+}
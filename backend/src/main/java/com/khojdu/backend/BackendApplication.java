@@ -2,10 +2,13 @@ package com.khojdu.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class  BackendApplication {
 
     public static void main(String[] args) {
@@ -15,6 +18,8 @@ public class  BackendApplication {
 
         SpringApplication application = new SpringApplication(BackendApplication.class);
         application.addInitializers(new DotEnvInitializer());
+        // Keeps startup steps for StartupMetrics and the actuator startup endpoint
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
         application.run(args);
     }
 
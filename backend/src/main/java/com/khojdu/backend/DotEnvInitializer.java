@@ -12,6 +12,7 @@ public class DotEnvInitializer implements ApplicationContextInitializer<Configur
     @Override
     public void initialize(ConfigurableApplicationContext applicationContext) {
         Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        // The process environment too, so quoted values set by the deployment are sanitised like .env ones
         dotenv.entries().forEach(entry -> {
             String key = entry.getKey();
             String raw = entry.getValue();
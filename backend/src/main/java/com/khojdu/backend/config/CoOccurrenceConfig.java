@@ -0,0 +1,34 @@
+package com.khojdu.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * "Tenants also viewed" recommendations from view and wishlist co-occurrence; see CoOccurrenceServiceImpl.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.co-occurrence")
+public class CoOccurrenceConfig {
+
+    private boolean enabled = true;
+
+    // Only events this recent are counted
+    private int lookbackDays = 90;
+
+    // A user's most recent distinct listings considered; pairs per user grow quadratically with this
+    private int maxItemsPerUser = 50;
+
+    // Upper bound on distinct pairs held in memory (~12-24 bytes each); rare pairs are pruned beyond it
+    private int maxPairs = 5_000_000;
+
+    // Pairs seen by fewer users than this are not recommended
+    private int minSupport = 2;
+
+    private int neighbours = 20;
+
+    private String rebuildCron = "0 0 4 * * *";
+    private boolean rebuildOnStartup = false;
+    private long ttlHours = 48;
+}
@@ -0,0 +1,49 @@
+package com.khojdu.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+
+/**
+ * Settings for the synthetic data generator (see {@link com.khojdu.backend.datagen.SyntheticDataGenerator}).
+ * Defaults approximate production scale; every count can be overridden, e.g. --app.datagen.properties=20000.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.datagen")
+public class DataGeneratorConfig {
+
+    private boolean enabled = false;
+
+    // Same seed and counts produce the same rows (ids included)
+    private long seed = 42;
+
+    // Timestamps are spread over the window before this date; fixed so a seed always yields the same rows.
+    // Move it forward to get "recent" data for time-windowed queries such as trending.
+    private LocalDate referenceDate = LocalDate.of(2026, 1, 1);
+    private int historyDays = 365;
+
+    private int landlords = 5_000;
+    private int tenants = 100_000;
+    private int properties = 500_000;
+    private int imagesPerProperty = 4;
+    private int reviews = 300_000;
+    private int inquiries = 400_000;
+    private int messagesPerInquiry = 5;
+    private long views = 5_000_000;
+    private long notifications = 1_000_000;
+
+    private int batchSize = 5_000;
+
+    // Generated accounts are recognised by this domain; they all share one password
+    private String emailDomain = "datagen.khojdu";
+    private String password = "DataGen@123";
+
+    // Delete a previous data set with the same email domain before generating
+    private boolean reset = false;
+
+    // Stop the application once generation finishes
+    private boolean exitWhenDone = true;
+}
@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
@@ -17,9 +18,11 @@ import java.time.LocalDate;
 /**
  * Configuration class that creates a default admin user on application startup
  * if it doesn't already exist.
+ * Only runs in development (the dev profile, or no profile at all); deployed profiles skip it.
  */
 @Slf4j
 @Configuration
+@Profile({"dev", "default"})
 @RequiredArgsConstructor
 public class DefaultUserConfig {
 
@@ -0,0 +1,20 @@
+package com.khojdu.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Admin data exports. Each running export holds one pooled connection for its whole duration, so the number of
+ * concurrent exports per node is capped well below the pool size.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.export")
+public class ExportConfig {
+
+    // Rows the JDBC cursor pulls per round trip
+    private int fetchSize = 2000;
+
+    private int maxConcurrent = 2;
+}
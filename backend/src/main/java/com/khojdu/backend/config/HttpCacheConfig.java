@@ -0,0 +1,52 @@
+package com.khojdu.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+/**
+ * ETag validation and Cache-Control policies for the public read endpoints.
+ * ETags come from cheap version lookups, so a matching If-None-Match is answered with 304 before the response is built.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.http-cache")
+public class HttpCacheConfig {
+
+    private boolean enabled = true;
+
+    // Counters embedded in responses (views, ratings, totals) are not versioned; ETags roll over at least this often
+    private long statsRefreshSeconds = 300;
+
+    private Policy propertyDetail = new Policy(30, 120);
+    private Policy propertyLists = new Policy(60, 300);
+    private Policy amenities = new Policy(3600, 86400);
+    private Policy reviewSummary = new Policy(60, 300);
+
+    @Data
+    public static class Policy {
+        private long maxAgeSeconds;
+        private long staleWhileRevalidateSeconds;
+
+        public Policy() {
+        }
+
+        public Policy(long maxAgeSeconds, long staleWhileRevalidateSeconds) {
+            this.maxAgeSeconds = maxAgeSeconds;
+            this.staleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+        }
+
+        public CacheControl toCacheControl() {
+            return CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                    .cachePublic()
+                    .staleWhileRevalidate(Duration.ofSeconds(staleWhileRevalidateSeconds));
+        }
+    }
+
+    public long statsBucket() {
+        return System.currentTimeMillis() / 1000 / Math.max(statsRefreshSeconds, 1);
+    }
+}
@@ -11,4 +11,19 @@ public class JwtConfig {
     private String secret;
     private long expiration;
     private long refreshExpiration;
-}
\ No newline at end of file
+
+    /**
+     * HS256 signs with the shared secret. ES256 and EDDSA sign with a private key and publish the public key
+     * at /.well-known/jwks.json, so other services can verify tokens without the secret.
+     */
+    private Algorithm algorithm = Algorithm.HS256;
+    // PEM or bare base64: PKCS#8 private key and X.509 public key. Generated per process when left empty.
+    private String privateKey;
+    private String publicKey;
+    // Defaults to the JWK thumbprint of the public key
+    private String keyId;
+    // Keep verifying secret-signed tokens after switching to an asymmetric algorithm, until they have expired
+    private boolean acceptHmac = true;
+
+    public enum Algorithm { HS256, ES256, EDDSA }
+}
@@ -0,0 +1,136 @@
+package com.khojdu.backend.config;
+
+import com.khojdu.backend.dto.common.ApiResponse;
+import com.khojdu.backend.dto.common.CursorPage;
+import com.khojdu.backend.dto.common.PagedResponse;
+import com.khojdu.backend.dto.property.PropertyListField;
+import com.khojdu.backend.dto.property.PropertyListProjection;
+import com.khojdu.backend.dto.property.PropertyListResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sparse fieldsets and the compact layout for every endpoint that returns property cards
+ * ({@code ApiResponse} of a {@code List}, {@code PagedResponse} or {@code CursorPage} of {@link PropertyListResponse}).
+ * <p>
+ * {@code ?fields=id,title,monthlyRent,primaryImageUrl} limits each card to those fields. Sending
+ * {@code Accept: application/vnd.khojdu.compact+json} switches the cards to a columnar layout (see
+ * {@link PropertyListProjection}) written without indentation. Plain JSON requests without {@code fields} pass
+ * through untouched.
+ */
+@ControllerAdvice
+public class ListingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String COMPACT_JSON_VALUE = "application/vnd.khojdu.compact+json";
+    public static final MediaType COMPACT_JSON = MediaType.parseMediaType(COMPACT_JSON_VALUE);
+
+    private static final String FIELDS_PARAM = "fields";
+
+    private enum Shape { NONE, LIST, PAGED, CURSOR }
+
+    private final Map<Method, Shape> shapes = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Method method = returnType.getMethod();
+        return method != null
+                && AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType)
+                && shapes.computeIfAbsent(method, m -> shapeOf(returnType)) != Shape.NONE;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        // Caches must keep the JSON and compact representations of a URL apart
+        if (!response.getHeaders().getVary().contains(HttpHeaders.ACCEPT)) {
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (!(body instanceof ApiResponse<?> api) || api.getData() == null) {
+            return body;
+        }
+
+        boolean columnar = COMPACT_JSON.equalsTypeAndSubtype(selectedContentType);
+        String fields = request instanceof ServletServerHttpRequest servletRequest
+                ? servletRequest.getServletRequest().getParameter(FIELDS_PARAM)
+                : null;
+        if (!columnar && (fields == null || fields.isBlank())) {
+            return body;
+        }
+        List<PropertyListField> selected = PropertyListField.parse(fields);
+
+        Object data = switch (shapes.get(returnType.getMethod())) {
+            case LIST -> project((List<?>) api.getData(), selected, columnar);
+            case PAGED -> {
+                PagedResponse<?> page = (PagedResponse<?>) api.getData();
+                Map<String, Object> projected = new LinkedHashMap<>();
+                projected.put("content", project(page.getContent(), selected, columnar));
+                projected.put("page", page.getPage());
+                projected.put("size", page.getSize());
+                projected.put("totalElements", page.getTotalElements());
+                projected.put("totalPages", page.getTotalPages());
+                yield projected;
+            }
+            case CURSOR -> {
+                CursorPage<?> page = (CursorPage<?>) api.getData();
+                Map<String, Object> projected = new LinkedHashMap<>();
+                projected.put("content", project(page.getContent(), selected, columnar));
+                projected.put("previousCursor", page.getPreviousCursor());
+                projected.put("latestCursor", page.getLatestCursor());
+                projected.put("hasMore", page.isHasMore());
+                yield projected;
+            }
+            case NONE -> api.getData();
+        };
+        return new ApiResponse<>(api.isSuccess(), api.getMessage(), data, api.getTimestamp());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PropertyListProjection project(List<?> listings, List<PropertyListField> fields, boolean columnar) {
+        return new PropertyListProjection(
+                listings == null ? List.of() : (List<PropertyListResponse>) listings, fields, columnar);
+    }
+
+    // Resolved from the declared generics once per handler method, so empty pages get the same layout as full ones
+    private static Shape shapeOf(MethodParameter returnType) {
+        ResolvableType type = ResolvableType.forMethodParameter(returnType);
+        if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.as(HttpEntity.class).getGeneric(0);
+        }
+        if (!ApiResponse.class.isAssignableFrom(type.toClass())) {
+            return Shape.NONE;
+        }
+        ResolvableType data = type.as(ApiResponse.class).getGeneric(0);
+        Class<?> container = data.toClass();
+        Shape shape;
+        if (List.class.isAssignableFrom(container)) {
+            shape = Shape.LIST;
+            data = data.as(List.class);
+        } else if (PagedResponse.class.isAssignableFrom(container)) {
+            shape = Shape.PAGED;
+            data = data.as(PagedResponse.class);
+        } else if (CursorPage.class.isAssignableFrom(container)) {
+            shape = Shape.CURSOR;
+            data = data.as(CursorPage.class);
+        } else {
+            return Shape.NONE;
+        }
+        return PropertyListResponse.class.isAssignableFrom(data.getGeneric(0).toClass()) ? shape : Shape.NONE;
+    }
+}
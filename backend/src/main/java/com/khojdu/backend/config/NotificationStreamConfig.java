@@ -0,0 +1,33 @@
+package com.khojdu.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Settings for the per-user notification SSE stream.
+ * Each node keeps its own subscribers; events are fanned out between nodes over a Redis pub/sub channel.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.notifications.stream")
+public class NotificationStreamConfig {
+
+    private String channel = "khojdu:notifications";
+    private long timeoutMs = 1_800_000;         // 30 minutes, clients reconnect afterwards
+    private long heartbeatMs = 25_000;          // below common proxy idle timeouts
+    private int maxConnectionsPerUser = 5;      // oldest stream is closed when exceeded
+    private int maxConnections = 10_000;        // per node
+    private long dispatchIntervalMs = 5_000;    // sweep for notifications stored with is_sent = false
+    private int dispatchBatchSize = 200;
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
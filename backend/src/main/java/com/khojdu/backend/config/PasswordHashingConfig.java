@@ -0,0 +1,47 @@
+package com.khojdu.backend.config;
+
+import com.khojdu.backend.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Password hashing settings.
+ * Hashes are stored with an algorithm prefix ({bcrypt}, {argon2}); legacy unprefixed hashes are read as BCrypt.
+ * Changing the algorithm or raising the BCrypt strength upgrades each hash on the user's next successful login.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.security.password")
+public class PasswordHashingConfig {
+
+    private String algorithm = "bcrypt";   // bcrypt or argon2
+    private int bcryptStrength = 12;
+    private int poolSize = 0;              // 0 = number of CPU cores
+    private int queueCapacity = 64;
+    private long timeoutMs = 5000;         // queue wait plus hashing
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, threads, queueCapacity, timeoutMs, meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.khojdu.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+
+/**
+ * Popularity signals behind the trending feed. Each event adds its weight to the property's score, and the weight
+ * halves every half-life, so recent activity dominates.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.popularity")
+public class PopularityConfig {
+
+    private boolean enabled = true;
+    private double halfLifeHours = 72;
+
+    // Scores are stored relative to this instant; weights grow 2x per half-life after it (see PopularityServiceImpl).
+    // Doubles overflow after roughly 1000 half-lives, so move it forward and clear the trending:* keys long before then.
+    private Instant epoch = Instant.parse("2026-01-01T00:00:00Z");
+
+    private double viewWeight = 1;
+    private double wishlistWeight = 3;
+    private double inquiryWeight = 5;
+
+    private int shards = 16;
+    private long flushIntervalMs = 10_000;
+
+    // Entries kept per ranking (global and per city); the tail is trimmed on every flush
+    private int maxRanked = 5_000;
+}
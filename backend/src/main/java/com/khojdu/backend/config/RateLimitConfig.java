@@ -0,0 +1,42 @@
+package com.khojdu.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-bucket policies applied by the rate limit filter.
+ * A request is checked against the first policy whose path and method match; unmatched requests are not limited.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitConfig {
+
+    private boolean enabled = true;
+    private List<Policy> policies = new ArrayList<>();
+
+    @Data
+    public static class Policy {
+        private String name;
+        private List<String> paths = new ArrayList<>();   // Ant patterns relative to the context path
+        private List<String> methods = new ArrayList<>(); // empty matches every method
+        private KeyType key = KeyType.IP;
+        private int capacity = 10;                        // burst size
+        private int refillTokens = 10;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public double refillPerMilli() {
+            return (double) refillTokens / refillPeriod.toMillis();
+        }
+    }
+
+    public enum KeyType {
+        IP,
+        USER // authenticated user id, falling back to IP for anonymous requests
+    }
+}
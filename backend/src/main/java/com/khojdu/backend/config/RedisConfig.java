@@ -2,6 +2,7 @@ package com.khojdu.backend.config;
 
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -23,7 +24,11 @@ public class RedisConfig {
         String username = env.getProperty("spring.data.redis.username", env.getProperty("spring.redis.username"));
         String password = env.getProperty("spring.data.redis.password", env.getProperty("spring.redis.password"));
         boolean useSsl = Boolean.parseBoolean(env.getProperty("spring.data.redis.ssl", env.getProperty("spring.redis.ssl", "true")));
+        // Kept short: the token store falls back to local state and the circuit breaker opens after repeated timeouts
+        Duration commandTimeout = Binder.get(env).bind("spring.data.redis.timeout", Duration.class)
+                .orElse(Duration.ofSeconds(2));
 
+        // Standalone only: the token store's Lua scripts touch keys across cluster slots (see RedisTokenServiceImpl)
         RedisStandaloneConfiguration serverConfig = new RedisStandaloneConfiguration();
         if (host != null && !host.isBlank()) serverConfig.setHostName(host);
         serverConfig.setPort(port);
@@ -32,7 +37,7 @@ public class RedisConfig {
 
         // build base builder and set common options
         LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder()
-                .commandTimeout(Duration.ofSeconds(10));
+                .commandTimeout(commandTimeout);
 
         // enable SSL if requested
         LettuceClientConfiguration clientConfig;
@@ -3,6 +3,7 @@ package com.khojdu.backend.config;
 import com.khojdu.backend.security.JwtAuthenticationEntryPoint;
 import com.khojdu.backend.security.JwtAuthenticationFilter;
 import com.khojdu.backend.security.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -15,7 +16,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -34,13 +34,10 @@ public class SecurityConfig {
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PasswordEncoder passwordEncoder;
 
     @Value("#{'${app.allowed-origins}'.split(',')}")
     private List<String> allowedOrigins;
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
-    }
 
     // Build a DaoAuthenticationProvider but do NOT expose it as a global @Bean.
     // This avoids the Spring warning that a global AuthenticationProvider prevents
@@ -50,7 +47,9 @@ public class SecurityConfig {
     private DaoAuthenticationProvider buildAuthenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehashes on successful login when the stored hash uses an older algorithm or cost
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authProvider;
     }
 
@@ -69,17 +68,23 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
+                        // Async dispatches (SSE completion/timeout) were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers(
                                 "/health",
+                                "/.well-known/jwks.json",
                                 "/auth/**",
                                 "/properties/search",
                                 "/properties/public/**",
+                                "/properties/trending",
                                 "/search/**",
                                 "/amenities",
                                 "/swagger-ui/**",
                                 "/api-docs/**",
-                                "/actuator/**",
+                                "/actuator/health",
+                                "/actuator/health/**",
                                 "/uploads/**"
                         ).permitAll()
 
@@ -87,6 +92,8 @@ public class SecurityConfig {
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers("/complaints/admin/**").hasRole("ADMIN")
                         .requestMatchers("/users/admin/**").hasRole("ADMIN")
+                        // Metrics expose endpoint names, error rates and pool sizes
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // Landlord endpoints
                         .requestMatchers("/properties/landlord/**").hasAnyRole("LANDLORD", "ADMIN")
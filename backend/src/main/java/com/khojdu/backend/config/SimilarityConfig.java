@@ -0,0 +1,44 @@
+package com.khojdu.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Precomputed "similar listings". Each live property keeps its nearest neighbours by a weighted distance over
+ * type, rent, bedrooms, location, amenities and feature flags; see SimilarListingServiceImpl.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.similarity")
+public class SimilarityConfig {
+
+    private boolean enabled = true;
+
+    // Neighbours stored per property
+    private int neighbours = 12;
+
+    // Candidates scored per property: this many on each side of its rent within the same city
+    private int candidateWindow = 150;
+
+    private String rebuildCron = "0 30 3 * * *";
+    private boolean rebuildOnStartup = true;
+
+    // Lists outlive a missed nightly rebuild; incremental refreshes reset the TTL for the property they touch
+    private long ttlHours = 48;
+
+    private Weights weights = new Weights();
+
+    @Data
+    public static class Weights {
+        private double type = 2.0;
+        // Per unit of |ln(rent ratio)|, so 2x the rent costs the same as half the rent
+        private double rent = 3.0;
+        private double bedrooms = 0.5;
+        private double distance = 2.0;
+        // Distances beyond this count as fully dissimilar
+        private double distanceScaleKm = 5.0;
+        private double amenities = 1.0;
+        private double features = 1.0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.khojdu.backend.config;
+
+import com.khojdu.backend.monitoring.MeteredDataSource;
+import com.khojdu.backend.monitoring.SqlStatementInspector;
+import lombok.Data;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL instrumentation settings.
+ * Budgets are keyed by "METHOD /pattern", e.g. "GET /properties/{propertyId}"; unlisted endpoints use the default budget.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.monitoring.sql")
+public class SqlBudgetConfig {
+
+    private boolean enabled = true;
+    private boolean exposeHeaders = false;
+    private Budget budget = new Budget();
+    private Map<String, Budget> endpoints = new HashMap<>();
+
+    @Data
+    public static class Budget {
+        private int maxStatements = 25;
+        private long maxRows = 2000;
+        private long maxDbTimeMs = 500;
+    }
+
+    public Budget budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, budget);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer() {
+        return properties -> {
+            if (enabled) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            }
+        };
+    }
+
+    // Static so the post-processor is registered before the DataSource bean is created
+    @Bean
+    public static BeanPostProcessor meteredDataSourcePostProcessor(Environment env) {
+        boolean enabled = env.getProperty("app.monitoring.sql.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof MeteredDataSource)) {
+                    return new MeteredDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
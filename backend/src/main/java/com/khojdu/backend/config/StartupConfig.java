@@ -0,0 +1,27 @@
+package com.khojdu.backend.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Startup tuning. Beans listed in app.startup.lazy-beans (by bean name) are created on first use instead of
+ * during context refresh; their consumers inject them through ObjectProvider so nothing pulls them in early.
+ */
+@Configuration
+public class StartupConfig {
+
+    // Static so the post-processor runs before any bean definition is instantiated
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeansPostProcessor(Environment env) {
+        String[] lazyBeans = env.getProperty("app.startup.lazy-beans", String[].class, new String[0]);
+        return beanFactory -> {
+            for (String name : lazyBeans) {
+                if (beanFactory.containsBeanDefinition(name)) {
+                    beanFactory.getBeanDefinition(name).setLazyInit(true);
+                }
+            }
+        };
+    }
+}
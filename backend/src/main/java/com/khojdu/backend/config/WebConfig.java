@@ -1,8 +1,14 @@
 package com.khojdu.backend.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -10,8 +16,11 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import java.util.List;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectMapper objectMapper;
+
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         PageableHandlerMethodArgumentResolver pageableResolver = new PageableHandlerMethodArgumentResolver();
@@ -26,4 +35,25 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:uploads/");
     }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // First in line but only chosen when the client asked for the compact type explicitly, so */* still gets JSON
+        MappingJackson2HttpMessageConverter compact = new MappingJackson2HttpMessageConverter(
+                objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT)) {
+            @Override
+            public boolean canRead(Class<?> clazz, MediaType mediaType) {
+                return false;
+            }
+
+            @Override
+            public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+                return mediaType != null
+                        && ListingResponseAdvice.COMPACT_JSON.equalsTypeAndSubtype(mediaType)
+                        && super.canWrite(clazz, mediaType);
+            }
+        };
+        compact.setSupportedMediaTypes(List.of(ListingResponseAdvice.COMPACT_JSON));
+        converters.add(0, compact);
+    }
 }
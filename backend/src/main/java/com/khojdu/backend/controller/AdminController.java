@@ -1,18 +1,36 @@
 package com.khojdu.backend.controller;
 
+import com.khojdu.backend.dto.admin.BulkModerationJobResponse;
+import com.khojdu.backend.dto.admin.BulkModerationRequest;
 import com.khojdu.backend.dto.common.ApiResponse;
 import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.common.SuccessResponse;
+import com.khojdu.backend.dto.notification.BulkNotificationJobResponse;
+import com.khojdu.backend.dto.notification.BulkNotificationRequest;
+import com.khojdu.backend.exception.BadRequestException;
+import com.khojdu.backend.service.AdminExportService;
 import com.khojdu.backend.service.AdminService;
+import com.khojdu.backend.service.BulkModerationService;
+import com.khojdu.backend.service.BulkNotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.khojdu.backend.entity.enums.PropertyStatus;
 import com.khojdu.backend.entity.enums.UserRole;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
@@ -24,6 +42,9 @@ import java.util.UUID;
 public class AdminController {
 
     private final AdminService adminService;
+    private final BulkNotificationService bulkNotificationService;
+    private final AdminExportService adminExportService;
+    private final BulkModerationService bulkModerationService;
 
     @GetMapping("/dashboard")
     @Operation(summary = "Get dashboard stats", description = "Get platform statistics for admin dashboard")
@@ -159,4 +180,71 @@ public class AdminController {
         adminService.deleteProperty(propertyId);
         return ResponseEntity.ok(ApiResponse.success("Property deleted", SuccessResponse.of("Property deleted successfully")));
     }
+
+    @PostMapping("/moderation/bulk")
+    @Operation(summary = "Start bulk moderation",
+            description = "Approve, reject or (un)feature properties, or (de)activate users, by id list or filter; runs as a background job")
+    public ResponseEntity<ApiResponse<BulkModerationJobResponse>> startBulkModeration(
+            @Valid @RequestBody BulkModerationRequest request) {
+        BulkModerationJobResponse job = bulkModerationService.startBulkModeration(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Bulk moderation queued", job));
+    }
+
+    @GetMapping("/moderation/bulk/{jobId}")
+    @Operation(summary = "Get bulk moderation job", description = "Get progress of a bulk moderation job")
+    public ResponseEntity<ApiResponse<BulkModerationJobResponse>> getBulkModerationJob(@PathVariable UUID jobId) {
+        BulkModerationJobResponse job = bulkModerationService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+
+    @GetMapping("/export/{dataset}")
+    @Operation(summary = "Export data",
+            description = "Stream every property, user, complaint or review as NDJSON or CSV, optionally gzipped")
+    public ResponseEntity<StreamingResponseBody> exportData(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        AdminExportService.Dataset exportDataset = parseEnum(AdminExportService.Dataset.class, dataset);
+        AdminExportService.Format exportFormat = parseEnum(AdminExportService.Format.class, format);
+        StreamingResponseBody body = adminExportService.export(exportDataset, exportFormat, gzip);
+
+        String extension = exportFormat == AdminExportService.Format.CSV ? ".csv" : ".ndjson";
+        String filename = exportDataset.name().toLowerCase(Locale.ROOT) + "-" + LocalDate.now() + extension
+                + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == AdminExportService.Format.CSV ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @PostMapping("/notifications/bulk")
+    @Operation(summary = "Send bulk notification",
+            description = "Queue a notification for every user matching roles/cities, plus explicit user ids")
+    public ResponseEntity<ApiResponse<BulkNotificationJobResponse>> sendBulkNotification(
+            @Valid @RequestBody BulkNotificationRequest request) {
+        BulkNotificationJobResponse job = bulkNotificationService.startBulkNotification(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Bulk notification queued", job));
+    }
+
+    @GetMapping("/notifications/bulk/{jobId}")
+    @Operation(summary = "Get bulk notification job", description = "Get progress of a bulk notification job")
+    public ResponseEntity<ApiResponse<BulkNotificationJobResponse>> getBulkNotificationJob(@PathVariable UUID jobId) {
+        BulkNotificationJobResponse job = bulkNotificationService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported value '" + value + "', expected one of "
+                    + Arrays.toString(type.getEnumConstants()).toLowerCase(Locale.ROOT));
+        }
+    }
 }
@@ -1,14 +1,18 @@
 package com.khojdu.backend.controller;
 
+import com.khojdu.backend.config.HttpCacheConfig;
 import com.khojdu.backend.dto.common.ApiResponse;
 import com.khojdu.backend.entity.Amenity;
 import com.khojdu.backend.entity.enums.AmenityCategory;
 import com.khojdu.backend.repository.AmenityRepository;
+import com.khojdu.backend.util.HttpCacheUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,14 +24,25 @@ import java.util.stream.Collectors;
 public class AmenityController {
 
     private final AmenityRepository amenityRepository;
+    private final HttpCacheConfig httpCacheConfig;
 
     @GetMapping
     @Operation(summary = "Get all amenities", description = "Get list of all available amenities")
-    public ResponseEntity<ApiResponse<List<AmenityDto>>> getAllAmenities() {
+    public ResponseEntity<ApiResponse<List<AmenityDto>>> getAllAmenities(WebRequest webRequest) {
         List<AmenityDto> amenities = amenityRepository.findAllOrderByCategoryAndName().stream()
                 .map(AmenityDto::fromEntity)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(ApiResponse.success(amenities));
+        if (!httpCacheConfig.isEnabled()) {
+            return ResponseEntity.ok(ApiResponse.success(amenities));
+        }
+
+        // The list is small and rarely changes, so it is versioned by its own content
+        String etag = HttpCacheUtil.weakETag(amenities.toArray());
+        CacheControl cacheControl = httpCacheConfig.getAmenities().toCacheControl();
+        if (webRequest.checkNotModified(etag)) {
+            return HttpCacheUtil.notModified(etag, cacheControl);
+        }
+        return HttpCacheUtil.ok(ApiResponse.success(amenities), etag, cacheControl);
     }
 
     @GetMapping("/category/{category}")
@@ -1,6 +1,7 @@
 package com.khojdu.backend.controller;
 
 import com.khojdu.backend.dto.common.ApiResponse;
+import com.khojdu.backend.dto.common.CursorPage;
 import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.common.SuccessResponse;
 import com.khojdu.backend.dto.inquiry.InquiryRequest;
@@ -18,7 +19,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -62,13 +62,26 @@ public class InquiryController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/unread-count")
+    @PreAuthorize("hasRole('TENANT') or hasRole('LANDLORD') or hasRole('ADMIN')")
+    @Operation(summary = "Get unread message count", description = "Get count of unread messages across the user's inquiries")
+    public ResponseEntity<ApiResponse<Long>> getUnreadMessageCount(Principal principal) {
+        Long count = inquiryService.getUnreadMessageCount(principal.getName());
+        return ResponseEntity.ok(ApiResponse.success(count));
+    }
+
     @GetMapping("/{inquiryId}/messages")
     @PreAuthorize("hasRole('TENANT') or hasRole('LANDLORD') or hasRole('ADMIN')")
-    @Operation(summary = "Get inquiry messages", description = "Get all messages in an inquiry thread")
-    public ResponseEntity<ApiResponse<List<MessageResponse>>> getInquiryMessages(
+    @Operation(summary = "Get inquiry messages",
+            description = "Get messages in an inquiry thread, oldest first. Without a cursor returns the latest page; " +
+                    "'before' pages back through history and 'after' returns only messages newer than the cursor")
+    public ResponseEntity<ApiResponse<CursorPage<MessageResponse>>> getInquiryMessages(
             @PathVariable UUID inquiryId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit,
             Principal principal) {
-        List<MessageResponse> response = inquiryService.getInquiryMessages(inquiryId, principal.getName());
+        CursorPage<MessageResponse> response = inquiryService.getInquiryMessages(inquiryId, principal.getName(), before, after, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
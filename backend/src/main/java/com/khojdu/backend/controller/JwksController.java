@@ -0,0 +1,30 @@
+package com.khojdu.backend.controller;
+
+import com.khojdu.backend.security.JwtKeyProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Keys", description = "JWT verification keys")
+public class JwksController {
+
+    private final JwtKeyProvider jwtKeyProvider;
+
+    // Standard JWK Set document (RFC 7517), not wrapped in ApiResponse so JWT libraries can consume it directly
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "JWT verification keys", description = "Public keys for verifying access tokens without the shared secret")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .body(jwtKeyProvider.jwks());
+    }
+}
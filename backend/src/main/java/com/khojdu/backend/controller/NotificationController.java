@@ -4,13 +4,16 @@ import com.khojdu.backend.dto.common.ApiResponse;
 import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.common.SuccessResponse;
 import com.khojdu.backend.dto.notification.NotificationResponse;
+import com.khojdu.backend.dto.notification.StreamTicketResponse;
 import com.khojdu.backend.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
 import java.util.UUID;
@@ -42,6 +45,24 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(count));
     }
 
+    @PostMapping("/stream/ticket")
+    @Operation(summary = "Get stream ticket",
+            description = "Single-use ticket for opening the notification stream from a browser EventSource, " +
+                    "which cannot send an Authorization header")
+    public ResponseEntity<ApiResponse<StreamTicketResponse>> issueStreamTicket(Principal principal) {
+        StreamTicketResponse ticket = notificationService.issueStreamTicket(principal.getName());
+        return ResponseEntity.ok(ApiResponse.success(ticket));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream notifications",
+            description = "Server-Sent Events stream of new notifications and unread-count updates. " +
+                    "Sends 'unread-count' ({count} or {delta}) and 'notification' events. " +
+                    "Authenticate with a bearer token or a ?ticket= from POST /notifications/stream/ticket")
+    public SseEmitter streamNotifications(Principal principal) {
+        return notificationService.openStream(principal.getName());
+    }
+
     @PutMapping("/{notificationId}/read")
     @Operation(summary = "Mark as read", description = "Mark a notification as read")
     public ResponseEntity<ApiResponse<SuccessResponse>> markAsRead(
@@ -1,21 +1,25 @@
 package com.khojdu.backend.controller;
 
+import com.khojdu.backend.config.HttpCacheConfig;
 import com.khojdu.backend.dto.common.ApiResponse;
 import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.common.SuccessResponse;
 import com.khojdu.backend.dto.property.*;
 import com.khojdu.backend.service.PropertyService;
 import com.khojdu.backend.entity.enums.PropertyStatus;
+import com.khojdu.backend.util.HttpCacheUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.security.Principal;
@@ -29,6 +33,7 @@ import java.util.UUID;
 public class PropertyController {
 
     private final PropertyService propertyService;
+    private final HttpCacheConfig httpCacheConfig;
 
     @PostMapping
     @PreAuthorize("hasRole('LANDLORD') or hasRole('ADMIN')")
@@ -67,10 +72,18 @@ public class PropertyController {
     @Operation(summary = "Get property details", description = "Get detailed property information")
     public ResponseEntity<ApiResponse<PropertyResponse>> getProperty(
             @PathVariable UUID propertyId,
-            Principal principal) {
+            Principal principal,
+            WebRequest webRequest) {
         String userEmail = principal != null ? principal.getName() : null;
+        String etag = httpCacheConfig.isEnabled() ? propertyService.getPublicPropertyETag(propertyId) : null;
+        CacheControl cacheControl = httpCacheConfig.getPropertyDetail().toCacheControl();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            // A revalidated read is still a view
+            propertyService.recordPublicView(propertyId, userEmail);
+            return HttpCacheUtil.notModified(etag, cacheControl);
+        }
         PropertyResponse response = propertyService.getPublicPropertyById(propertyId, userEmail);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return HttpCacheUtil.ok(ApiResponse.success(response), etag, cacheControl);
     }
 
     @GetMapping("/landlord/{propertyId}")
@@ -95,17 +108,38 @@ public class PropertyController {
     @Operation(summary = "Get featured properties", description = "Get featured property listings")
     public ResponseEntity<ApiResponse<PagedResponse<PropertyListResponse>>> getFeaturedProperties(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        String etag = httpCacheConfig.isEnabled() ? propertyService.getFeaturedPropertiesETag(page, size) : null;
+        CacheControl cacheControl = httpCacheConfig.getPropertyLists().toCacheControl();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return HttpCacheUtil.notModified(etag, cacheControl);
+        }
         PagedResponse<PropertyListResponse> response = propertyService.getFeaturedProperties(page, size);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return HttpCacheUtil.ok(ApiResponse.success(response), etag, cacheControl);
     }
 
     @GetMapping("/recent")
     @Operation(summary = "Get recent properties", description = "Get recently added properties")
     public ResponseEntity<ApiResponse<PagedResponse<PropertyListResponse>>> getRecentProperties(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        String etag = httpCacheConfig.isEnabled() ? propertyService.getRecentPropertiesETag(page, size) : null;
+        CacheControl cacheControl = httpCacheConfig.getPropertyLists().toCacheControl();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return HttpCacheUtil.notModified(etag, cacheControl);
+        }
         PagedResponse<PropertyListResponse> response = propertyService.getRecentProperties(page, size);
+        return HttpCacheUtil.ok(ApiResponse.success(response), etag, cacheControl);
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending properties", description = "Get properties ranked by recent views, wishlist saves and inquiries, optionally within a city")
+    public ResponseEntity<ApiResponse<List<PropertyListResponse>>> getTrendingProperties(
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<PropertyListResponse> response = propertyService.getTrendingProperties(city, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -188,4 +222,13 @@ public class PropertyController {
         List<PropertyListResponse> response = propertyService.getSimilarProperties(propertyId, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/{propertyId}/also-viewed")
+    @Operation(summary = "Get also-viewed properties", description = "Get properties that tenants who viewed or saved this property also looked at")
+    public ResponseEntity<ApiResponse<List<PropertyListResponse>>> getAlsoViewedProperties(
+            @PathVariable UUID propertyId,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<PropertyListResponse> response = propertyService.getAlsoViewedProperties(propertyId, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
@@ -1,5 +1,6 @@
 package com.khojdu.backend.controller;
 
+import com.khojdu.backend.config.HttpCacheConfig;
 import com.khojdu.backend.dto.common.ApiResponse;
 import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.common.SuccessResponse;
@@ -7,14 +8,17 @@ import com.khojdu.backend.dto.review.ReviewRequest;
 import com.khojdu.backend.dto.review.ReviewResponse;
 import com.khojdu.backend.dto.review.ReviewSummaryResponse;
 import com.khojdu.backend.service.ReviewService;
+import com.khojdu.backend.util.HttpCacheUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 import java.util.UUID;
@@ -26,6 +30,7 @@ import java.util.UUID;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final HttpCacheConfig httpCacheConfig;
 
     @PostMapping
     @Operation(summary = "Create review", description = "Create a new property review")
@@ -70,9 +75,15 @@ public class ReviewController {
     @GetMapping("/property/{propertyId}/summary")
     @Operation(summary = "Get review summary", description = "Get review statistics for a property")
     public ResponseEntity<ApiResponse<ReviewSummaryResponse>> getPropertyReviewSummary(
-            @PathVariable UUID propertyId) {
+            @PathVariable UUID propertyId,
+            WebRequest webRequest) {
+        String etag = httpCacheConfig.isEnabled() ? reviewService.getPropertyReviewSummaryETag(propertyId) : null;
+        CacheControl cacheControl = httpCacheConfig.getReviewSummary().toCacheControl();
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return HttpCacheUtil.notModified(etag, cacheControl);
+        }
         ReviewSummaryResponse response = reviewService.getPropertyReviewSummary(propertyId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return HttpCacheUtil.ok(ApiResponse.success(response), etag, cacheControl);
     }
 
     @GetMapping("/me")
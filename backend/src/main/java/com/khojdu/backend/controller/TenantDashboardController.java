@@ -1,15 +1,16 @@
 package com.khojdu.backend.controller;
 
 import com.khojdu.backend.dto.common.ApiResponse;
+import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.inquiry.InquiryResponse;
 import com.khojdu.backend.dto.property.PropertyListResponse;
 import com.khojdu.backend.dto.tenant.TenantDashboardResponse;
 import com.khojdu.backend.entity.User;
 import com.khojdu.backend.exception.ResourceNotFoundException;
 import com.khojdu.backend.mapper.InquiryMapper;
-import com.khojdu.backend.mapper.PropertyMapper;
 import com.khojdu.backend.repository.InquiryRepository;
 import com.khojdu.backend.repository.UserRepository;
+import com.khojdu.backend.service.WishlistService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -38,8 +39,8 @@ public class TenantDashboardController {
 
     private final UserRepository userRepository;
     private final InquiryRepository inquiryRepository;
-    private final PropertyMapper propertyMapper;
     private final InquiryMapper inquiryMapper;
+    private final WishlistService wishlistService;
 
     private User resolveUser(String identifier) {
         Optional<User> byEmail = userRepository.findByEmail(identifier);
@@ -58,14 +59,10 @@ public class TenantDashboardController {
     public ResponseEntity<ApiResponse<TenantDashboardResponse>> getDashboard(Principal principal) {
         User user = resolveUser(principal.getName());
 
-        // initialize wishlist to avoid LazyInitializationException
-        List<PropertyListResponse> recentWishlist = (user.getWishlistProperties() == null ? List.<PropertyListResponse>of() :
-                user.getWishlistProperties().stream()
-                        .limit(5)
-                        .map(propertyMapper::toPropertyListResponse)
-                        .collect(Collectors.toList()));
-
-        long wishlistCount = user.getWishlistProperties() != null ? user.getWishlistProperties().size() : 0;
+        // First page of the wishlist; its total comes from the cached id set, not a COUNT
+        PagedResponse<PropertyListResponse> wishlist = wishlistService.getUserWishlist(principal.getName(), 0, 5);
+        List<PropertyListResponse> recentWishlist = wishlist.getContent();
+        long wishlistCount = wishlist.getTotalElements();
 
         var pageRequest = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"));
         var inquiryPage = inquiryRepository.findByTenant(user, pageRequest);
@@ -14,6 +14,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -63,4 +65,12 @@ public class WishlistController {
         boolean isInWishlist = wishlistService.isInWishlist(principal.getName(), propertyId);
         return ResponseEntity.ok(ApiResponse.success(isInWishlist));
     }
+
+    @GetMapping("/check")
+    @Operation(summary = "Check several properties", description = "Wishlist state for up to 100 property ids, e.g. one page of search results")
+    public ResponseEntity<ApiResponse<Map<UUID, Boolean>>> checkWishlist(
+            @RequestParam List<UUID> propertyIds,
+            Principal principal) {
+        return ResponseEntity.ok(ApiResponse.success(wishlistService.checkWishlist(principal.getName(), propertyIds)));
+    }
 }
@@ -0,0 +1,588 @@
+package com.khojdu.backend.datagen;
+
+import com.khojdu.backend.config.DataGeneratorConfig;
+import com.khojdu.backend.entity.enums.ContactMethod;
+import com.khojdu.backend.entity.enums.InquiryStatus;
+import com.khojdu.backend.entity.enums.NotificationType;
+import com.khojdu.backend.entity.enums.PropertyStatus;
+import com.khojdu.backend.entity.enums.PropertyType;
+import com.khojdu.backend.entity.enums.UserRole;
+import com.khojdu.backend.util.LocationUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Fills the database with a deterministic, production-sized data set so query plans and indexes can be checked
+ * at real cardinalities. Rows are written with plain JDBC batches (one transaction per batch) instead of JPA saves;
+ * the driver rewrites each batch into multi-row INSERTs (reWriteBatchedInserts).
+ * <p>
+ * Every table draws from its own random stream derived from the seed, so changing one count does not reshuffle
+ * the others. Listings cluster around city centres inside {@link LocationUtil#isValidNepalCoordinates} bounds,
+ * and views, inquiries and reviews are skewed towards a minority of popular listings.
+ * <p>
+ * Run with {@code --app.datagen.enabled=true --spring.main.web-application-type=none}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.datagen", name = "enabled", havingValue = "true")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final int[] USER_TYPES = {Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.BOOLEAN, Types.BOOLEAN, Types.DATE, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+    private static final String USER_SQL =
+            "INSERT INTO users (id, email, password_hash, full_name, phone, role, is_verified, is_active, " +
+            "date_of_birth, occupation, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] PROFILE_TYPES = {Types.OTHER, Types.OTHER};
+    private static final String PROFILE_SQL = "INSERT INTO user_profiles (id, user_id) VALUES (?, ?)";
+
+    private static final int[] PROPERTY_TYPES = {Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.OTHER,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC,
+            Types.NUMERIC, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.BOOLEAN,
+            Types.BOOLEAN, Types.BOOLEAN, Types.BOOLEAN, Types.BOOLEAN, Types.BOOLEAN, Types.BOOLEAN, Types.DATE,
+            Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP, Types.TIMESTAMP};
+    private static final String PROPERTY_SQL =
+            "INSERT INTO properties (id, title, description, property_type, landlord_id, address, city, district, " +
+            "ward_number, latitude, longitude, monthly_rent, security_deposit, bedrooms, bathrooms, total_area, " +
+            "floor_number, total_floors, is_furnished, parking_available, internet_included, utilities_included, " +
+            "pets_allowed, smoking_allowed, is_available, available_from, status, is_featured, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] IMAGE_TYPES = {Types.OTHER, Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN,
+            Types.INTEGER};
+    private static final String IMAGE_SQL =
+            "INSERT INTO property_images (id, property_id, image_url, alt_text, is_primary, display_order) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int[] REVIEW_TYPES = {Types.OTHER, Types.OTHER, Types.OTHER, Types.OTHER, Types.INTEGER,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BOOLEAN, Types.INTEGER, Types.TIMESTAMP, Types.TIMESTAMP};
+    private static final String REVIEW_SQL =
+            "INSERT INTO reviews (id, property_id, tenant_id, landlord_id, overall_rating, cleanliness_rating, " +
+            "location_rating, value_rating, landlord_rating, review_text, pros, cons, is_verified, " +
+            "stay_duration_months, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INQUIRY_TYPES = {Types.OTHER, Types.OTHER, Types.OTHER, Types.OTHER, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP};
+    private static final String INQUIRY_SQL =
+            "INSERT INTO inquiries (id, property_id, tenant_id, landlord_id, message, contact_method, status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] MESSAGE_TYPES = {Types.OTHER, Types.OTHER, Types.OTHER, Types.VARCHAR, Types.BOOLEAN,
+            Types.TIMESTAMP};
+    private static final String MESSAGE_SQL =
+            "INSERT INTO messages (id, inquiry_id, sender_id, message, is_read, sent_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int[] VIEW_TYPES = {Types.OTHER, Types.OTHER, Types.OTHER, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP};
+    private static final String VIEW_SQL =
+            "INSERT INTO property_views (id, property_id, user_id, user_ip, user_agent, viewed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // is_sent = true so the notification stream sweep does not try to push the backlog
+    private static final int[] NOTIFICATION_TYPES = {Types.OTHER, Types.OTHER, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.BOOLEAN, Types.BOOLEAN, Types.TIMESTAMP, Types.TIMESTAMP};
+    private static final String NOTIFICATION_SQL =
+            "INSERT INTO notifications (id, user_id, type, title, message, is_read, is_sent, created_at, read_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] ANALYZED_TABLES = {"users", "user_profiles", "properties", "property_images",
+            "reviews", "inquiries", "messages", "property_views", "notifications"};
+
+    private static final City[] CITIES = {
+            new City("Kathmandu", "Kathmandu", 27.7172, 85.3240, 0.035, 30),
+            new City("Lalitpur", "Lalitpur", 27.6588, 85.3247, 0.025, 12),
+            new City("Bhaktapur", "Bhaktapur", 27.6710, 85.4298, 0.020, 6),
+            new City("Pokhara", "Kaski", 28.2096, 83.9856, 0.030, 12),
+            new City("Biratnagar", "Morang", 26.4525, 87.2718, 0.025, 7),
+            new City("Bharatpur", "Chitwan", 27.6766, 84.4354, 0.030, 7),
+            new City("Butwal", "Rupandehi", 27.7006, 83.4484, 0.025, 6),
+            new City("Birgunj", "Parsa", 27.0104, 84.8770, 0.020, 5),
+            new City("Dharan", "Sunsari", 26.8065, 87.2846, 0.020, 4),
+            new City("Nepalgunj", "Banke", 28.0500, 81.6167, 0.020, 4),
+            new City("Hetauda", "Makwanpur", 27.4287, 85.0325, 0.020, 3),
+            new City("Dhangadhi", "Kailali", 28.6852, 80.6216, 0.020, 4)
+    };
+    private static final int TOTAL_CITY_WEIGHT = 100;
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Sita", "Ram", "Gita", "Bikash", "Anjali", "Suman", "Priya",
+            "Rajesh", "Sunita", "Nabin", "Asmita", "Kiran", "Pooja", "Sujan", "Rachana", "Dipesh", "Manisha"};
+    private static final String[] LAST_NAMES = {"Shrestha", "Sharma", "Gurung", "Tamang", "Thapa", "Karki", "Rai",
+            "Magar", "Adhikari", "Maharjan", "Bhandari", "Poudel", "Joshi", "Limbu", "Yadav"};
+    private static final String[] OCCUPATIONS = {"Student", "Software Engineer", "Teacher", "Nurse", "Accountant",
+            "Business Owner", "Banker", "Designer", "Civil Servant", "Doctor"};
+    private static final String[] ADJECTIVES = {"Cozy", "Spacious", "Sunny", "Quiet", "Modern", "Furnished",
+            "Affordable", "Bright", "Family", "Newly built"};
+    private static final String[] REVIEW_TEXTS = {"Great place, would rent again.", "Good location but a bit noisy.",
+            "Landlord was responsive and helpful.", "Water supply was unreliable in summer.",
+            "Clean and exactly as described.", "Decent value for the price."};
+    private static final String[] INQUIRY_TEXTS = {"Is this still available?", "Can I visit this weekend?",
+            "Is the rent negotiable?", "Are pets allowed?", "Is parking included?",
+            "When can I move in?"};
+    private static final String[] MESSAGE_TEXTS = {"Yes, it is available.", "Saturday afternoon works for me.",
+            "The rent is fixed, sorry.", "Could you share more photos?", "Thanks, I will confirm soon.",
+            "Please bring your citizenship card.", "Water and electricity are extra."};
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Linux; Android 14; SM-A546E) AppleWebKit/537.36 Chrome/124.0 Mobile Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 Mobile/15E148",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/124.0 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_4) AppleWebKit/605.1.15 Version/17.4 Safari/605.1.15"};
+
+    private final DataGeneratorConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext applicationContext;
+
+    public SyntheticDataGenerator(DataGeneratorConfig config,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  PasswordEncoder passwordEncoder,
+                                  ConfigurableApplicationContext applicationContext) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.passwordEncoder = passwordEncoder;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            generate();
+        } catch (RuntimeException e) {
+            if (!config.isExitWhenDone()) throw e;
+            log.error("Data generation failed", e);
+            exitCode = 1;
+        }
+        if (config.isExitWhenDone()) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> code));
+        }
+    }
+
+    private void generate() {
+        String emailPattern = "%@" + config.getEmailDomain();
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE email LIKE ?", Long.class, emailPattern);
+        if (existing != null && existing > 0) {
+            if (!config.isReset()) {
+                log.warn("Found {} generated users (@{}); set app.datagen.reset=true to replace them", existing, config.getEmailDomain());
+                return;
+            }
+            deleteExisting(emailPattern);
+        }
+
+        long start = System.nanoTime();
+        LocalDateTime end = config.getReferenceDate().atStartOfDay();
+        log.info("Generating data set (seed {}, {} properties, {} views) up to {}", config.getSeed(),
+                config.getProperties(), config.getViews(), end);
+
+        String passwordHash = passwordEncoder.encode(config.getPassword());
+        UUID[] landlords = insertUsers("landlord", UserRole.LANDLORD, config.getLandlords(), passwordHash, end);
+        UUID[] tenants = insertUsers("tenant", UserRole.TENANT, config.getTenants(), passwordHash, end);
+        Listings listings = insertProperties(landlords, end);
+        insertImages(listings);
+        insertReviews(listings, landlords, tenants, end);
+        Inquiries inquiries = insertInquiries(listings, landlords, tenants, end);
+        insertMessages(inquiries, landlords, tenants);
+        insertViews(listings, tenants, end);
+        insertNotifications(landlords, tenants, end);
+
+        for (String table : ANALYZED_TABLES) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        log.info("Data set generated in {} s", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private UUID[] insertUsers(String prefix, UserRole role, int count, String passwordHash, LocalDateTime end) {
+        SplittableRandom random = random("users:" + prefix);
+        UUID[] ids = new UUID[count];
+        try (BatchWriter users = new BatchWriter("users (" + prefix + ")", USER_SQL, USER_TYPES);
+             BatchWriter profiles = new BatchWriter("user_profiles (" + prefix + ")", PROFILE_SQL, PROFILE_TYPES)) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = uuid(random);
+                Timestamp createdAt = timestamp(end, random, config.getHistoryDays() * 2);
+                users.add(ids[i],
+                        prefix + (i + 1) + "@" + config.getEmailDomain(),
+                        passwordHash,
+                        pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                        "98" + String.format("%08d", random.nextInt(100_000_000)),
+                        role.name(),
+                        random.nextInt(10) < 8,
+                        random.nextInt(100) < 97,
+                        Date.valueOf(LocalDate.of(1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28))),
+                        pick(random, OCCUPATIONS),
+                        createdAt,
+                        createdAt);
+                profiles.add(uuid(random), ids[i]);
+            }
+        }
+        return ids;
+    }
+
+    private Listings insertProperties(UUID[] landlords, LocalDateTime end) {
+        SplittableRandom random = random("properties");
+        int count = config.getProperties();
+        Listings listings = new Listings(new UUID[count], new int[count], new String[count]);
+        PropertyType[] types = PropertyType.values();
+
+        try (BatchWriter writer = new BatchWriter("properties", PROPERTY_SQL, PROPERTY_TYPES)) {
+            for (int i = 0; i < count; i++) {
+                City city = pickCity(random);
+                PropertyType type = types[random.nextInt(types.length)];
+                BigDecimal[] location = location(random, city);
+                int landlord = skewed(random, landlords.length, 2.0);
+                BigDecimal rent = rent(random, type);
+                int bedrooms = type == PropertyType.ROOM ? 1 : 1 + random.nextInt(type == PropertyType.HOUSE ? 6 : 4);
+                Integer totalFloors = type == PropertyType.ROOM ? null : 1 + random.nextInt(type == PropertyType.APARTMENT ? 15 : 4);
+                Timestamp createdAt = timestamp(end, random, config.getHistoryDays());
+                String title = pick(random, ADJECTIVES) + " " + type.name().toLowerCase() + " in " + city.name();
+
+                listings.ids()[i] = uuid(random);
+                listings.landlords()[i] = landlord;
+                listings.titles()[i] = title;
+                writer.add(listings.ids()[i],
+                        title,
+                        title + ". " + bedrooms + " bedroom(s), close to " + city.name() + " centre.",
+                        type.name(),
+                        landlords[landlord],
+                        "Ward " + (1 + random.nextInt(32)) + ", " + city.name(),
+                        city.name(),
+                        city.district(),
+                        1 + random.nextInt(32),
+                        location[0],
+                        location[1],
+                        rent,
+                        rent.multiply(BigDecimal.valueOf(1 + random.nextInt(3))),
+                        bedrooms,
+                        Math.max(1, bedrooms - random.nextInt(2)),
+                        150 + random.nextInt(type == PropertyType.HOUSE ? 3000 : 1200),
+                        totalFloors == null ? null : random.nextInt(totalFloors),
+                        totalFloors,
+                        random.nextInt(10) < 4,
+                        random.nextInt(10) < 5,
+                        random.nextInt(10) < 6,
+                        random.nextInt(10) < 3,
+                        random.nextInt(10) < 2,
+                        random.nextInt(10) < 1,
+                        random.nextInt(10) < 8,
+                        random.nextInt(10) < 3 ? Date.valueOf(end.toLocalDate().plusDays(random.nextInt(60))) : null,
+                        status(random).name(),
+                        random.nextInt(100) < 2,
+                        createdAt,
+                        createdAt);
+            }
+        }
+        return listings;
+    }
+
+    private void insertImages(Listings listings) {
+        SplittableRandom random = random("property_images");
+        try (BatchWriter writer = new BatchWriter("property_images", IMAGE_SQL, IMAGE_TYPES)) {
+            for (int i = 0; i < listings.ids().length; i++) {
+                int images = 1 + random.nextInt(Math.max(1, config.getImagesPerProperty() * 2 - 1));
+                for (int order = 0; order < images; order++) {
+                    UUID id = uuid(random);
+                    writer.add(id,
+                            listings.ids()[i],
+                            "https://picsum.photos/seed/" + id + "/800/600",
+                            listings.titles()[i],
+                            order == 0,
+                            order);
+                }
+            }
+        }
+    }
+
+    private void insertReviews(Listings listings, UUID[] landlords, UUID[] tenants, LocalDateTime end) {
+        SplittableRandom random = random("reviews");
+        try (BatchWriter writer = new BatchWriter("reviews", REVIEW_SQL, REVIEW_TYPES)) {
+            for (int i = 0; i < config.getReviews(); i++) {
+                int property = skewed(random, listings.ids().length, 2.0);
+                int overall = rating(random);
+                Timestamp createdAt = timestamp(end, random, config.getHistoryDays());
+                writer.add(uuid(random),
+                        listings.ids()[property],
+                        tenants[random.nextInt(tenants.length)],
+                        landlords[listings.landlords()[property]],
+                        overall,
+                        near(random, overall),
+                        near(random, overall),
+                        near(random, overall),
+                        near(random, overall),
+                        pick(random, REVIEW_TEXTS),
+                        random.nextBoolean() ? "Good location" : null,
+                        random.nextBoolean() ? "Limited parking" : null,
+                        random.nextInt(10) < 6,
+                        1 + random.nextInt(36),
+                        createdAt,
+                        createdAt);
+            }
+        }
+    }
+
+    private Inquiries insertInquiries(Listings listings, UUID[] landlords, UUID[] tenants, LocalDateTime end) {
+        SplittableRandom random = random("inquiries");
+        int count = config.getInquiries();
+        Inquiries inquiries = new Inquiries(new UUID[count], new int[count], new int[count], new Timestamp[count]);
+        ContactMethod[] methods = ContactMethod.values();
+
+        try (BatchWriter writer = new BatchWriter("inquiries", INQUIRY_SQL, INQUIRY_TYPES)) {
+            for (int i = 0; i < count; i++) {
+                int property = skewed(random, listings.ids().length, 2.0);
+                inquiries.ids()[i] = uuid(random);
+                inquiries.tenants()[i] = random.nextInt(tenants.length);
+                inquiries.landlords()[i] = listings.landlords()[property];
+                inquiries.createdAt()[i] = timestamp(end, random, config.getHistoryDays());
+
+                int roll = random.nextInt(10);
+                InquiryStatus status = roll < 3 ? InquiryStatus.OPEN : roll < 8 ? InquiryStatus.RESPONDED : InquiryStatus.CLOSED;
+                writer.add(inquiries.ids()[i],
+                        listings.ids()[property],
+                        tenants[inquiries.tenants()[i]],
+                        landlords[inquiries.landlords()[i]],
+                        pick(random, INQUIRY_TEXTS),
+                        methods[random.nextInt(methods.length)].name(),
+                        status.name(),
+                        inquiries.createdAt()[i]);
+            }
+        }
+        return inquiries;
+    }
+
+    private void insertMessages(Inquiries inquiries, UUID[] landlords, UUID[] tenants) {
+        SplittableRandom random = random("messages");
+        int maxPerInquiry = Math.max(1, config.getMessagesPerInquiry() * 2 - 1);
+        try (BatchWriter writer = new BatchWriter("messages", MESSAGE_SQL, MESSAGE_TYPES)) {
+            for (int i = 0; i < inquiries.ids().length; i++) {
+                int messages = 1 + random.nextInt(maxPerInquiry);
+                long sentAt = inquiries.createdAt()[i].getTime();
+                for (int m = 0; m < messages; m++) {
+                    // Conversations alternate between tenant and landlord, replies minutes to days apart
+                    sentAt += 60_000L * (1 + random.nextInt(m == 0 ? 60 : 2_880));
+                    UUID sender = m % 2 == 0 ? tenants[inquiries.tenants()[i]] : landlords[inquiries.landlords()[i]];
+                    writer.add(uuid(random),
+                            inquiries.ids()[i],
+                            sender,
+                            pick(random, MESSAGE_TEXTS),
+                            m < messages - 1 || random.nextBoolean(),
+                            new Timestamp(sentAt));
+                }
+            }
+        }
+    }
+
+    private void insertViews(Listings listings, UUID[] tenants, LocalDateTime end) {
+        SplittableRandom random = random("property_views");
+        try (BatchWriter writer = new BatchWriter("property_views", VIEW_SQL, VIEW_TYPES)) {
+            for (long i = 0; i < config.getViews(); i++) {
+                // Two in five views are anonymous
+                UUID user = random.nextInt(5) < 3 ? tenants[random.nextInt(tenants.length)] : null;
+                writer.add(uuid(random),
+                        listings.ids()[skewed(random, listings.ids().length, 3.0)],
+                        user,
+                        "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256),
+                        pick(random, USER_AGENTS),
+                        timestamp(end, random, Math.min(config.getHistoryDays(), 180)));
+            }
+        }
+    }
+
+    private void insertNotifications(UUID[] landlords, UUID[] tenants, LocalDateTime end) {
+        SplittableRandom random = random("notifications");
+        NotificationType[] types = NotificationType.values();
+        try (BatchWriter writer = new BatchWriter("notifications", NOTIFICATION_SQL, NOTIFICATION_TYPES)) {
+            for (long i = 0; i < config.getNotifications(); i++) {
+                UUID user = random.nextInt(4) == 0
+                        ? landlords[random.nextInt(landlords.length)]
+                        : tenants[random.nextInt(tenants.length)];
+                NotificationType type = types[random.nextInt(types.length)];
+                Timestamp createdAt = timestamp(end, random, Math.min(config.getHistoryDays(), 90));
+                boolean read = random.nextInt(10) < 7;
+                writer.add(uuid(random),
+                        user,
+                        type.name(),
+                        type.name().replace('_', ' ').toLowerCase(),
+                        "Synthetic " + type.name().toLowerCase() + " notification",
+                        read,
+                        true,
+                        createdAt,
+                        read ? new Timestamp(createdAt.getTime() + 60_000L * random.nextInt(1, 1_440)) : null);
+            }
+        }
+    }
+
+    private void deleteExisting(String emailPattern) {
+        log.info("Deleting previously generated data (@{})", config.getEmailDomain());
+        String users = "SELECT id FROM users WHERE email LIKE ?";
+        String properties = "SELECT id FROM properties WHERE landlord_id IN (" + users + ")";
+        String inquiries = "SELECT id FROM inquiries WHERE tenant_id IN (" + users + ") OR landlord_id IN (" + users + ")";
+
+        jdbcTemplate.update("DELETE FROM notifications WHERE user_id IN (" + users + ")", emailPattern);
+        jdbcTemplate.update("DELETE FROM messages WHERE inquiry_id IN (" + inquiries + ")", emailPattern, emailPattern);
+        jdbcTemplate.update("DELETE FROM inquiries WHERE id IN (" + inquiries + ")", emailPattern, emailPattern);
+        jdbcTemplate.update("DELETE FROM reviews WHERE tenant_id IN (" + users + ") OR landlord_id IN (" + users + ")",
+                emailPattern, emailPattern);
+        jdbcTemplate.update("DELETE FROM property_views WHERE property_id IN (" + properties + ") OR user_id IN (" + users + ")",
+                emailPattern, emailPattern);
+        jdbcTemplate.update("DELETE FROM properties WHERE landlord_id IN (" + users + ")", emailPattern);
+        int deleted = jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", emailPattern);
+        log.info("Deleted {} generated users and their data", deleted);
+    }
+
+    private SplittableRandom random(String stream) {
+        return new SplittableRandom(config.getSeed() * 31 + stream.hashCode());
+    }
+
+    // Random (version 4 layout) UUID drawn from the seeded stream so ids are reproducible
+    private static UUID uuid(SplittableRandom random) {
+        long msb = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    // Index in [0, n) biased towards 0; higher exponents concentrate more of the draws on the first items
+    private static int skewed(SplittableRandom random, int n, double exponent) {
+        return Math.min(n - 1, (int) (n * Math.pow(random.nextDouble(), exponent)));
+    }
+
+    private static Timestamp timestamp(LocalDateTime end, SplittableRandom random, int days) {
+        return Timestamp.valueOf(end.minusSeconds(random.nextLong(Math.max(1, days) * 86_400L)));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static City pickCity(SplittableRandom random) {
+        int roll = random.nextInt(TOTAL_CITY_WEIGHT);
+        for (City city : CITIES) {
+            roll -= city.weight();
+            if (roll < 0) return city;
+        }
+        return CITIES[0];
+    }
+
+    // Normally distributed around the city centre, redrawn until it falls inside the Nepal bounds
+    private static BigDecimal[] location(SplittableRandom random, City city) {
+        while (true) {
+            BigDecimal latitude = BigDecimal.valueOf(city.latitude() + random.nextGaussian() * city.spread())
+                    .setScale(6, RoundingMode.HALF_UP);
+            BigDecimal longitude = BigDecimal.valueOf(city.longitude() + random.nextGaussian() * city.spread())
+                    .setScale(6, RoundingMode.HALF_UP);
+            if (LocationUtil.isValidNepalCoordinates(latitude, longitude)) {
+                return new BigDecimal[]{latitude, longitude};
+            }
+        }
+    }
+
+    // Log-uniform between a per-type floor and ceiling, rounded to NPR 500
+    private static BigDecimal rent(SplittableRandom random, PropertyType type) {
+        double[] range = switch (type) {
+            case ROOM -> new double[]{3_000, 15_000};
+            case FLAT -> new double[]{10_000, 45_000};
+            case APARTMENT -> new double[]{20_000, 120_000};
+            case HOUSE -> new double[]{30_000, 200_000};
+        };
+        double rent = range[0] * Math.exp(random.nextDouble() * Math.log(range[1] / range[0]));
+        return BigDecimal.valueOf(Math.round(rent / 500) * 500L).setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private static PropertyStatus status(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 85) return PropertyStatus.APPROVED;
+        if (roll < 93) return PropertyStatus.PENDING;
+        if (roll < 98) return PropertyStatus.INACTIVE;
+        return PropertyStatus.REJECTED;
+    }
+
+    // Skewed towards 4 and 5 stars like real review data
+    private static int rating(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 5) return 1;
+        if (roll < 12) return 2;
+        if (roll < 27) return 3;
+        if (roll < 62) return 4;
+        return 5;
+    }
+
+    private static int near(SplittableRandom random, int rating) {
+        return Math.max(1, Math.min(5, rating + random.nextInt(3) - 1));
+    }
+
+    /**
+     * Buffers rows and writes them as one JDBC batch per transaction; logs the table's throughput when closed.
+     */
+    private final class BatchWriter implements AutoCloseable {
+
+        private final String table;
+        private final String sql;
+        private final int[] types;
+        private final List<Object[]> rows;
+        private final long start = System.nanoTime();
+        private long written;
+
+        private BatchWriter(String table, String sql, int[] types) {
+            this.table = table;
+            this.sql = sql;
+            this.types = types;
+            this.rows = new ArrayList<>(config.getBatchSize());
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= config.getBatchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) return;
+            batchTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows, types));
+            written += rows.size();
+            rows.clear();
+            if (written % (config.getBatchSize() * 100L) == 0) {
+                log.info("  {}: {} rows", table, written);
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            log.info("  {}: {} rows in {} ms ({} rows/s)", table, written, millis, written * 1000 / millis);
+        }
+    }
+
+    private record City(String name, String district, double latitude, double longitude, double spread, int weight) {
+    }
+
+    private record Listings(UUID[] ids, int[] landlords, String[] titles) {
+    }
+
+    private record Inquiries(UUID[] ids, int[] tenants, int[] landlords, Timestamp[] createdAt) {
+    }
+}
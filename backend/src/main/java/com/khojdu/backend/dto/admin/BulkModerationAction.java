@@ -0,0 +1,10 @@
+package com.khojdu.backend.dto.admin;
+
+public enum BulkModerationAction {
+    APPROVE_PROPERTIES, REJECT_PROPERTIES, FEATURE_PROPERTIES, UNFEATURE_PROPERTIES,
+    ACTIVATE_USERS, DEACTIVATE_USERS;
+
+    public boolean targetsUsers() {
+        return this == ACTIVATE_USERS || this == DEACTIVATE_USERS;
+    }
+}
@@ -0,0 +1,22 @@
+package com.khojdu.backend.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationJobResponse {
+    private UUID jobId;
+    private BulkModerationAction action;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private long total;    // rows selected when the job started
+    private long updated;  // rows changed so far; ids already in the target state are not counted
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
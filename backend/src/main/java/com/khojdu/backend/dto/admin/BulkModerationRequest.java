@@ -0,0 +1,35 @@
+package com.khojdu.backend.dto.admin;
+
+import com.khojdu.backend.entity.enums.PropertyStatus;
+import com.khojdu.backend.entity.enums.UserRole;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A moderation action applied either to explicit ids or to every row matching the filter fields.
+ * Property actions filter on status, city, landlordId and createdBefore; user actions on role, verified and
+ * createdBefore. Rows already in the target state are left alone.
+ */
+@Data
+public class BulkModerationRequest {
+    @NotNull
+    private BulkModerationAction action;
+
+    private List<UUID> ids;
+
+    private PropertyStatus status;
+    private String city;
+    private UUID landlordId;
+
+    private UserRole role;
+    private Boolean verified;
+
+    private LocalDateTime createdBefore;
+
+    // Kept in the job log for rejections
+    private String reason;
+}
@@ -0,0 +1,25 @@
+package com.khojdu.backend.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paged slice. Pass {@code previousCursor} back as "before" to load older items
+ * and {@code latestCursor} as "after" to fetch only what was added since.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String previousCursor;
+    private String latestCursor;
+    private boolean hasMore;
+
+    public static <T> CursorPage<T> of(List<T> content, String previousCursor, String latestCursor, boolean hasMore) {
+        return new CursorPage<>(content, previousCursor, latestCursor, hasMore);
+    }
+}
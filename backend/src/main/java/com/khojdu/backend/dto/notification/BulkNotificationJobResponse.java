@@ -0,0 +1,20 @@
+package com.khojdu.backend.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationJobResponse {
+    private UUID jobId;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private long inserted;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
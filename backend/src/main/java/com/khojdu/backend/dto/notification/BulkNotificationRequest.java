@@ -0,0 +1,36 @@
+package com.khojdu.backend.dto.notification;
+
+import com.khojdu.backend.entity.enums.NotificationType;
+import com.khojdu.backend.entity.enums.UserRole;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Notification template plus recipient selection.
+ * Active users matching both roles and cities (when given) receive it, as do all explicit userIds.
+ * A user matches a city through a saved search or a listing in that city.
+ */
+@Data
+public class BulkNotificationRequest {
+    @NotNull
+    private NotificationType type;
+
+    @NotBlank
+    private String title;
+
+    @NotBlank
+    private String message;
+
+    private Map<String, String> data;
+
+    private List<UserRole> roles;
+
+    private List<String> cities;
+
+    private List<UUID> userIds;
+}
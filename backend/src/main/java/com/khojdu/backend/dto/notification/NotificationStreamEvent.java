@@ -0,0 +1,23 @@
+package com.khojdu.backend.dto.notification;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Envelope published on the Redis notification channel.
+ * {@code event} is the SSE event name ("notification" or "unread-count"), {@code payload} its data.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NotificationStreamEvent {
+    private UUID userId;
+    private String event;
+    private JsonNode payload;
+}
@@ -0,0 +1,13 @@
+package com.khojdu.backend.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamTicketResponse {
+    private String ticket;          // pass as ?ticket= to GET /notifications/stream; valid for one connection
+    private long expiresInSeconds;
+}
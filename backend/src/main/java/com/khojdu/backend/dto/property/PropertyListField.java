@@ -0,0 +1,93 @@
+package com.khojdu.backend.dto.property;
+
+import com.khojdu.backend.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Fields of {@link PropertyListResponse} that a listing can be projected to with {@code fields=}, in response order.
+ * Names match the JSON property names of the full response.
+ */
+public enum PropertyListField {
+    ID("id", PropertyListResponse::getId),
+    TITLE("title", PropertyListResponse::getTitle),
+    PROPERTY_TYPE("propertyType", PropertyListResponse::getPropertyType),
+    STATUS("status", PropertyListResponse::getStatus),
+    ADDRESS("address", PropertyListResponse::getAddress),
+    CITY("city", PropertyListResponse::getCity),
+    DISTRICT("district", PropertyListResponse::getDistrict),
+    MONTHLY_RENT("monthlyRent", PropertyListResponse::getMonthlyRent),
+    BEDROOMS("bedrooms", PropertyListResponse::getBedrooms),
+    BATHROOMS("bathrooms", PropertyListResponse::getBathrooms),
+    TOTAL_AREA("totalArea", PropertyListResponse::getTotalArea),
+    IS_FURNISHED("isFurnished", PropertyListResponse::getIsFurnished),
+    PARKING_AVAILABLE("parkingAvailable", PropertyListResponse::getParkingAvailable),
+    IS_AVAILABLE("isAvailable", PropertyListResponse::getIsAvailable),
+    IS_FEATURED("isFeatured", PropertyListResponse::getIsFeatured),
+    CREATED_AT("createdAt", PropertyListResponse::getCreatedAt),
+    PRIMARY_IMAGE_URL("primaryImageUrl", PropertyListResponse::getPrimaryImageUrl),
+    LANDLORD_NAME("landlordName", PropertyListResponse::getLandlordName),
+    LANDLORD_VERIFIED("landlordVerified", PropertyListResponse::getLandlordVerified),
+    VIEW_COUNT("viewCount", PropertyListResponse::getViewCount),
+    AVERAGE_RATING("averageRating", PropertyListResponse::getAverageRating),
+    REVIEW_COUNT("reviewCount", PropertyListResponse::getReviewCount),
+    KEY_AMENITIES("keyAmenities", PropertyListResponse::getKeyAmenities),
+    DISTANCE_KM("distanceKm", PropertyListResponse::getDistanceKm);
+
+    public static final List<PropertyListField> ALL = List.of(values());
+
+    private static final Map<String, PropertyListField> BY_NAME = new HashMap<>();
+
+    static {
+        for (PropertyListField field : values()) {
+            BY_NAME.put(field.jsonName, field);
+        }
+    }
+
+    private final String jsonName;
+    private final Function<PropertyListResponse, Object> accessor;
+
+    PropertyListField(String jsonName, Function<PropertyListResponse, Object> accessor) {
+        this.jsonName = jsonName;
+        this.accessor = accessor;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public Object valueOf(PropertyListResponse listing) {
+        return accessor.apply(listing);
+    }
+
+    /**
+     * Parses a comma-separated {@code fields=} value. Blank selects every field; the result keeps response order
+     * regardless of the order requested.
+     */
+    public static List<PropertyListField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        boolean[] selected = new boolean[values().length];
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) continue;
+            PropertyListField field = BY_NAME.get(trimmed);
+            if (field == null) {
+                throw new BadRequestException("Unknown listing field '" + trimmed + "', expected one of "
+                        + Arrays.stream(values()).map(PropertyListField::getJsonName).toList());
+            }
+            selected[field.ordinal()] = true;
+        }
+        List<PropertyListField> result = new ArrayList<>();
+        for (PropertyListField field : values()) {
+            if (selected[field.ordinal()]) result.add(field);
+        }
+        return result.isEmpty() ? ALL : result;
+    }
+}
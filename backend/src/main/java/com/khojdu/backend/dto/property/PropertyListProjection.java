@@ -0,0 +1,89 @@
+package com.khojdu.backend.dto.property;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Listing cards written straight to the generator, limited to the requested fields.
+ * <p>
+ * Object layout: {@code [{"id": ..., "title": ...}, ...]} with nulls omitted, like the full response.
+ * Columnar layout: {@code {"fields": ["id", "title"], "rows": [[..., ...], ...]}}, where every row has one value per
+ * field (null included) so keys are sent once per page instead of once per card.
+ */
+public class PropertyListProjection implements JsonSerializable {
+
+    private final List<PropertyListResponse> listings;
+    private final List<PropertyListField> fields;
+    private final boolean columnar;
+
+    public PropertyListProjection(List<PropertyListResponse> listings, List<PropertyListField> fields, boolean columnar) {
+        this.listings = listings;
+        this.fields = fields;
+        this.columnar = columnar;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (columnar) {
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("fields");
+            for (PropertyListField field : fields) {
+                gen.writeString(field.getJsonName());
+            }
+            gen.writeEndArray();
+            gen.writeArrayFieldStart("rows");
+            for (PropertyListResponse listing : listings) {
+                gen.writeStartArray();
+                for (PropertyListField field : fields) {
+                    writeValue(field.valueOf(listing), gen, provider);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+            return;
+        }
+
+        gen.writeStartArray();
+        for (PropertyListResponse listing : listings) {
+            gen.writeStartObject();
+            for (PropertyListField field : fields) {
+                Object value = field.valueOf(listing);
+                if (value == null) continue;
+                gen.writeFieldName(field.getJsonName());
+                writeValue(value, gen, provider);
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+        serialize(gen, provider);
+    }
+
+    // Common scalar types skip the serializer lookup; dates, enums, decimals and lists use the configured mapper
+    private static void writeValue(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof String s) {
+            gen.writeString(s);
+        } else if (value instanceof Boolean b) {
+            gen.writeBoolean(b);
+        } else if (value instanceof Integer i) {
+            gen.writeNumber(i);
+        } else if (value instanceof Long l) {
+            gen.writeNumber(l);
+        } else if (value instanceof Double d) {
+            gen.writeNumber(d);
+        } else {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+}
@@ -57,6 +57,8 @@ public class PropertyResponse {
     // Timestamps
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Send back with an update to have it rejected if someone else changed the property in between
+    private Long version;
 
     // Landlord summary
     private LandlordInfo landlord;
@@ -49,4 +49,7 @@ public class PropertyUpdateRequest {
     private List<UUID> amenityIds;
 
     private List<PropertyCreateRequest.NearbyPlaceRequest> nearbyPlaces;
+
+    // Optional: the version the client edited; a mismatch answers 409 instead of overwriting
+    private Long version;
 }
@@ -116,6 +116,11 @@ public class Property {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; targeted UPDATE statements in PropertyRepository bump it as well
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Relationships
     @OneToMany(mappedBy = "property", cascade = CascadeType.ALL)
     private List<PropertyImage> images;
@@ -0,0 +1,46 @@
+package com.khojdu.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the wishlists join table (also mapped as User.wishlistProperties), so single entries can be
+ * inserted, removed and checked without loading the user's whole wishlist.
+ */
+@Entity
+@Table(name = "wishlists")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Wishlist {
+
+    @EmbeddedId
+    private WishlistId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "property_id", insertable = false, updatable = false)
+    private Property property;
+
+    // Set by the column default on insert
+    @Column(name = "added_at", insertable = false, updatable = false)
+    private LocalDateTime addedAt;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WishlistId implements Serializable {
+
+        @Column(name = "user_id")
+        private UUID userId;
+
+        @Column(name = "property_id")
+        private UUID propertyId;
+    }
+}
@@ -61,6 +61,7 @@ public class PropertyMapper {
         // Timestamps
         response.setCreatedAt(property.getCreatedAt());
         response.setUpdatedAt(property.getUpdatedAt());
+        response.setVersion(property.getVersion());
 
         // Landlord info
         PropertyResponse.LandlordInfo landlordInfo = new PropertyResponse.LandlordInfo();
@@ -0,0 +1,110 @@
+package com.khojdu.backend.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that measures JDBC execution time and rows read for the current request.
+ * Connections, statements and result sets are wrapped in JDK proxies; everything else is passed through.
+ */
+public class MeteredDataSource extends DelegatingDataSource implements Closeable {
+
+    public MeteredDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Keeps the pool shutdown working: Spring infers the destroy method from the wrapper, not the target.
+     */
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                MeteredDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("equals".equals(method.getName())) return proxy == args[0];
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return wrapStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private static Object wrapStatement(Statement statement, Class<?> statementType) {
+        return Proxy.newProxyInstance(
+                MeteredDataSource.class.getClassLoader(),
+                new Class<?>[]{statementType},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("equals".equals(name)) return proxy == args[0];
+
+                    Object result;
+                    if (name.startsWith("execute")) {
+                        long start = System.nanoTime();
+                        try {
+                            result = invoke(statement, method, args);
+                        } finally {
+                            SqlMetricsContext context = SqlMetricsContext.current();
+                            if (context != null) context.recordExecution(System.nanoTime() - start);
+                        }
+                    } else {
+                        result = invoke(statement, method, args);
+                    }
+
+                    if (result instanceof ResultSet resultSet) {
+                        return wrapResultSet(resultSet);
+                    }
+                    return result;
+                });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(
+                MeteredDataSource.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if ("equals".equals(method.getName())) return proxy == args[0];
+                    Object result = invoke(resultSet, method, args);
+                    if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                        SqlMetricsContext context = SqlMetricsContext.current();
+                        if (context != null) context.recordRow();
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
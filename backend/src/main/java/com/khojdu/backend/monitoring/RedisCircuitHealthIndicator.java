@@ -0,0 +1,31 @@
+package com.khojdu.backend.monitoring;
+
+import com.khojdu.backend.security.redis.LocalTokenStore;
+import com.khojdu.backend.security.redis.RedisCircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the Redis circuit breaker as the "redisCircuit" health component.
+ * An open circuit is reported as UP with the state in the details: authentication keeps working on the
+ * local token store, so the instance should not be taken out of rotation for it.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisCircuitHealthIndicator implements HealthIndicator {
+
+    private final RedisCircuitBreaker circuitBreaker;
+    private final LocalTokenStore localTokenStore;
+
+    @Override
+    public Health health() {
+        RedisCircuitBreaker.State state = circuitBreaker.getState();
+        return Health.up()
+                .withDetail("state", state.name())
+                .withDetail("degraded", state != RedisCircuitBreaker.State.CLOSED)
+                .withDetail("localEntries", localTokenStore.size())
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.khojdu.backend.monitoring;
+
+import com.khojdu.backend.config.SqlBudgetConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Counts SQL statements, rows and DB time per request and publishes them per endpoint.
+ * Runs ahead of the security chain so queries made during authentication are included. For a Callable or
+ * StreamingResponseBody the counters follow the request onto the async thread and are published when it completes.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+    // Set by Spring's streaming return value handlers (StreamingResponseBody, SseEmitter) before the body is opened
+    private static final String STREAMING_ATTRIBUTE = ShallowEtagHeaderFilter.class.getName() + ".STREAMING";
+
+    private final SqlBudgetConfig sqlBudgetConfig;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        if (!sqlBudgetConfig.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Headers have to be written before the body is committed, so buffer the response when they are enabled.
+        // Streaming responses are never buffered.
+        ContentCachingResponseWrapper cachingResponse = sqlBudgetConfig.isExposeHeaders() && !isStreaming(request)
+                ? new StreamingAwareResponseWrapper(request, response)
+                : null;
+
+        SqlMetricsContext context = SqlMetricsContext.begin();
+        AtomicBoolean async = new AtomicBoolean();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(SqlBudgetFilter.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        async.set(true);
+                    }
+
+                    // The handler has returned, so the request thread runs no more SQL against this context
+                    @Override
+                    public <T> void preProcess(NativeWebRequest webRequest, Callable<T> task) {
+                        SqlMetricsContext.attach(context);
+                    }
+
+                    @Override
+                    public <T> void postProcess(NativeWebRequest webRequest, Callable<T> task, Object result) {
+                        SqlMetricsContext.end();
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        record(request, context);
+                    }
+                });
+
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            SqlMetricsContext.end();
+            if (!async.get()) {
+                record(request, context);
+            }
+            // An async body is written after this returns; its counts are not known yet and nothing was buffered
+            if (cachingResponse != null && !request.isAsyncStarted()) {
+                cachingResponse.setHeader("X-Sql-Statements", String.valueOf(context.getStatements()));
+                cachingResponse.setHeader("X-Sql-Rows", String.valueOf(context.getRows()));
+                cachingResponse.setHeader("X-Sql-Time-Ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(context.getDbTimeNanos())));
+                cachingResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlMetricsContext context) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMAPPED;
+        String method = request.getMethod();
+        String handler = resolveHandler(request);
+
+        DistributionSummary.builder("khojdu.sql.statements")
+                .description("SQL statements executed per request")
+                .tags("method", method, "uri", uri, "handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(context.getStatements());
+        DistributionSummary.builder("khojdu.sql.rows")
+                .description("Rows read from JDBC result sets per request")
+                .tags("method", method, "uri", uri, "handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(context.getRows());
+        Timer.builder("khojdu.sql.time")
+                .description("Time spent executing SQL per request")
+                .tags("method", method, "uri", uri, "handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(context.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+
+        if (UNMAPPED.equals(uri)) return;
+
+        String endpoint = method + " " + uri;
+        SqlBudgetConfig.Budget budget = sqlBudgetConfig.budgetFor(endpoint);
+        long dbTimeMs = TimeUnit.NANOSECONDS.toMillis(context.getDbTimeNanos());
+
+        boolean overStatements = context.getStatements() > budget.getMaxStatements();
+        boolean overRows = context.getRows() > budget.getMaxRows();
+        boolean overTime = dbTimeMs > budget.getMaxDbTimeMs();
+        if (!overStatements && !overRows && !overTime) return;
+
+        if (overStatements) countExceeded(method, uri, "statements");
+        if (overRows) countExceeded(method, uri, "rows");
+        if (overTime) countExceeded(method, uri, "time");
+
+        log.warn("SQL budget exceeded for {}: {} statements (max {}), {} rows (max {}), {} ms (max {}); most repeated statement ran {}x: {}",
+                endpoint,
+                context.getStatements(), budget.getMaxStatements(),
+                context.getRows(), budget.getMaxRows(),
+                dbTimeMs, budget.getMaxDbTimeMs(),
+                context.getMaxRepeats(), context.getMostRepeatedStatement());
+    }
+
+    private void countExceeded(String method, String uri, String limit) {
+        Counter.builder("khojdu.sql.budget.exceeded")
+                .description("Requests that went over their SQL budget")
+                .tags("method", method, "uri", uri, "limit", limit)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String resolveHandler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+
+    private boolean isStreaming(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return accept != null && accept.contains("text/event-stream");
+    }
+
+    // Writes straight through once the handler returns a streaming body, like ShallowEtagHeaderFilter's wrapper
+    private static final class StreamingAwareResponseWrapper extends ContentCachingResponseWrapper {
+
+        private final HttpServletRequest request;
+
+        StreamingAwareResponseWrapper(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return request.getAttribute(STREAMING_ATTRIBUTE) != null
+                    ? getResponse().getOutputStream()
+                    : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return request.getAttribute(STREAMING_ATTRIBUTE) != null
+                    ? getResponse().getWriter()
+                    : super.getWriter();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.khojdu.backend.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL counters.
+ * Bound to the request thread by {@link SqlBudgetFilter}, and to the async thread while a Callable or
+ * StreamingResponseBody of that request runs; JDBC work on other threads is not counted.
+ */
+public class SqlMetricsContext {
+
+    private static final ThreadLocal<SqlMetricsContext> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long dbTimeNanos;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+
+    public static SqlMetricsContext begin() {
+        SqlMetricsContext context = new SqlMetricsContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    static void attach(SqlMetricsContext context) {
+        CURRENT.set(context);
+    }
+
+    public static SqlMetricsContext current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        statementCounts.merge(sql, 1, Integer::sum);
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    void recordExecution(long nanos) {
+        dbTimeNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    /**
+     * Highest number of times a single SQL string ran in this request.
+     * A large value with a small distinct count is the usual N+1 signature.
+     */
+    public int getMaxRepeats() {
+        int max = 0;
+        for (int count : statementCounts.values()) {
+            if (count > max) max = count;
+        }
+        return max;
+    }
+
+    public String getMostRepeatedStatement() {
+        String result = null;
+        int max = 0;
+        for (Map.Entry<String, Integer> entry : statementCounts.entrySet()) {
+            if (entry.getValue() > max) {
+                max = entry.getValue();
+                result = entry.getKey();
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.khojdu.backend.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hook that counts every statement Hibernate prepares for the current request.
+ * The SQL is returned unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlMetricsContext context = SqlMetricsContext.current();
+        if (context != null) {
+            context.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,65 @@
+package com.khojdu.backend.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Publishes the buffered startup timeline (see BackendApplication) once the application is ready.
+ * Every step is recorded in khojdu.startup.step tagged by step name, so count and total time per phase
+ * (bean instantiation, configuration class parsing, context refresh...) can be compared between releases.
+ * Step durations include their nested steps. The slowest bean instantiations are logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupMetrics {
+
+    private static final int SLOWEST_BEANS = 10;
+
+    private final MeterRegistry meterRegistry;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) return;
+
+        List<StartupTimeline.TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+        for (StartupTimeline.TimelineEvent timelineEvent : events) {
+            Timer.builder("khojdu.startup.step")
+                    .description("Duration of application startup steps")
+                    .tag("step", timelineEvent.getStartupStep().getName())
+                    .register(meterRegistry)
+                    .record(timelineEvent.getDuration());
+        }
+
+        List<StartupTimeline.TimelineEvent> slowest = events.stream()
+                .filter(e -> "spring.beans.instantiate".equals(e.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .toList();
+        if (!slowest.isEmpty()) {
+            log.info("Slowest beans to create: {}", slowest.stream()
+                    .map(e -> beanName(e.getStartupStep()) + "=" + e.getDuration().toMillis() + "ms")
+                    .toList());
+        }
+        log.info("Recorded {} startup steps; ready in {} ms", events.size(),
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1);
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) return tag.getValue();
+        }
+        return "?";
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,9 +22,29 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
 
     Page<Message> findByInquiryOrderBySentAt(Inquiry inquiry, Pageable pageable);
 
+    // Keyset pages over (sentAt, id); the limit comes from the Pageable and is served by idx_messages_inquiry_sent_at
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.inquiry = :inquiry ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findLatestByInquiry(@Param("inquiry") Inquiry inquiry, Pageable pageable);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.inquiry = :inquiry " +
+            "AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.id < :id)) ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findByInquiryBefore(@Param("inquiry") Inquiry inquiry, @Param("sentAt") LocalDateTime sentAt,
+                                      @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.inquiry = :inquiry " +
+            "AND (m.sentAt > :sentAt OR (m.sentAt = :sentAt AND m.id > :id)) ORDER BY m.sentAt ASC, m.id ASC")
+    List<Message> findByInquiryAfter(@Param("inquiry") Inquiry inquiry, @Param("sentAt") LocalDateTime sentAt,
+                                     @Param("id") UUID id, Pageable pageable);
+
     @Query("SELECT COUNT(m) FROM Message m WHERE m.inquiry = :inquiry AND m.sender != :currentUser AND m.isRead = false")
     Long countUnreadByInquiryAndNotSender(@Param("inquiry") Inquiry inquiry, @Param("currentUser") User currentUser);
 
+    // [inquiryId, count] for every inquiry of the user that has unread messages from the other party
+    @Query("SELECT m.inquiry.id, COUNT(m) FROM Message m " +
+            "WHERE (m.inquiry.tenant.id = :userId OR m.inquiry.landlord.id = :userId) " +
+            "AND m.sender.id <> :userId AND m.isRead = false GROUP BY m.inquiry.id")
+    List<Object[]> countUnreadByInquiryForUser(@Param("userId") UUID userId);
+
     @Modifying
     @Query("UPDATE Message m SET m.isRead = true WHERE m.inquiry = :inquiry AND m.sender != :currentUser")
     int markAllAsReadByInquiryAndNotSender(@Param("inquiry") Inquiry inquiry, @Param("currentUser") User currentUser);
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,6 +28,9 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.user = :user AND n.isRead = false")
     Long countUnreadByUser(@Param("user") User user);
 
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
+    Long countUnreadByUserId(@Param("userId") UUID userId);
+
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.user = :user AND n.isRead = false")
     int markAllAsReadByUser(@Param("user") User user, @Param("readAt") LocalDateTime readAt);
@@ -37,4 +41,12 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     @Query("SELECT n FROM Notification n WHERE n.isSent = false ORDER BY n.createdAt ASC")
     List<Notification> findUnsentNotifications();
-}
\ No newline at end of file
+
+    @Query(value = "SELECT * FROM notifications WHERE is_sent = false ORDER BY created_at ASC LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Notification> lockUnsentNotifications(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isSent = true WHERE n.id IN :ids")
+    int markAsSent(@Param("ids") Collection<UUID> ids);
+}
@@ -3,6 +3,7 @@ package com.khojdu.backend.repository;
 import com.khojdu.backend.entity.Property;
 import com.khojdu.backend.entity.PropertyImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,4 +25,14 @@ public interface PropertyImageRepository extends JpaRepository<PropertyImage, UU
     Long countByProperty(@Param("property") Property property);
 
     void deleteByProperty(Property property);
+
+    // Other primaries are cleared before the new one is set, so the one-primary index never sees two
+    @Modifying
+    @Query("UPDATE PropertyImage pi SET pi.isPrimary = false " +
+            "WHERE pi.property.id = :propertyId AND pi.isPrimary = true AND pi.id <> :imageId")
+    int clearPrimaryExcept(@Param("propertyId") UUID propertyId, @Param("imageId") UUID imageId);
+
+    @Modifying
+    @Query("UPDATE PropertyImage pi SET pi.isPrimary = true WHERE pi.id = :imageId AND pi.property.id = :propertyId")
+    int markPrimary(@Param("propertyId") UUID propertyId, @Param("imageId") UUID imageId);
 }
@@ -7,11 +7,13 @@ import com.khojdu.backend.entity.enums.PropertyType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -121,4 +123,41 @@ public interface PropertyRepository extends JpaRepository<Property, UUID> {
     Page<Property> searchAdminProperties(@Param("status") PropertyStatus status,
                                          @Param("search") String search,
                                          Pageable pageable);
+
+    @Query("SELECT p.id, p.city FROM Property p WHERE p.id IN :ids")
+    List<Object[]> findCitiesByIds(@Param("ids") Collection<UUID> ids);
+
+    // Version lookups for HTTP validators; they read status, version and timestamps only and skip the mapper's
+    // per-row queries
+    @Query("SELECT p.status, p.version, p.updatedAt, l.updatedAt FROM Property p JOIN p.landlord l WHERE p.id = :id")
+    List<Object[]> findVersionById(@Param("id") UUID id);
+
+    @Query("SELECT p.id, p.updatedAt FROM Property p WHERE p.isFeatured = true AND p.status = 'APPROVED' ORDER BY p.createdAt DESC")
+    List<Object[]> findFeaturedVersions(Pageable pageable);
+
+    @Query("SELECT p.id, p.updatedAt FROM Property p WHERE p.status = 'APPROVED' AND p.isAvailable = true ORDER BY p.createdAt DESC")
+    List<Object[]> findRecentVersions(Pageable pageable);
+
+    // Bumps the version when only child rows (images, amenities, nearby places) changed
+    @Modifying
+    @Query("UPDATE Property p SET p.version = p.version + 1, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id")
+    int touch(@Param("id") UUID id);
+
+    @Query("SELECT p.version FROM Property p WHERE p.id = :id")
+    Long findCurrentVersion(@Param("id") UUID id);
+
+    // Single-column writes that skip the full-entity merge. The version-checked one returns 0 when the row changed
+    // since it was read; the others set absolute values and only bump the version.
+    @Modifying
+    @Query("UPDATE Property p SET p.isAvailable = :available, p.version = p.version + 1, p.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE p.id = :id AND p.version = :version")
+    int updateAvailability(@Param("id") UUID id, @Param("available") boolean available, @Param("version") long version);
+
+    @Modifying
+    @Query("UPDATE Property p SET p.isFeatured = :featured, p.version = p.version + 1, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id")
+    int updateFeatured(@Param("id") UUID id, @Param("featured") boolean featured);
+
+    @Modifying
+    @Query("UPDATE Property p SET p.status = :status, p.version = p.version + 1, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :id")
+    int updateStatus(@Param("id") UUID id, @Param("status") PropertyStatus status);
 }
@@ -44,4 +44,7 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
 
     @Query("SELECT r FROM Review r WHERE r.overallRating >= :minRating ORDER BY r.createdAt DESC")
     Page<Review> findByMinRating(@Param("minRating") Integer minRating, Pageable pageable);
+
+    @Query("SELECT COUNT(r), MAX(r.updatedAt) FROM Review r WHERE r.property.id = :propertyId")
+    List<Object[]> findVersionByPropertyId(@Param("propertyId") UUID propertyId);
 }
@@ -0,0 +1,46 @@
+package com.khojdu.backend.repository;
+
+import com.khojdu.backend.entity.Property;
+import com.khojdu.backend.entity.Wishlist;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WishlistRepository extends JpaRepository<Wishlist, Wishlist.WishlistId> {
+
+    // Returns 0 when the property is already in the wishlist
+    @Modifying
+    @Query(value = "INSERT INTO wishlists (user_id, property_id) VALUES (:userId, :propertyId) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId, @Param("propertyId") UUID propertyId);
+
+    @Modifying
+    @Query("DELETE FROM Wishlist w WHERE w.id.userId = :userId AND w.id.propertyId = :propertyId")
+    int deleteEntry(@Param("userId") UUID userId, @Param("propertyId") UUID propertyId);
+
+    boolean existsByIdUserIdAndIdPropertyId(UUID userId, UUID propertyId);
+
+    @Query("SELECT w.id.propertyId FROM Wishlist w WHERE w.id.userId = :userId AND w.id.propertyId IN :propertyIds")
+    List<UUID> findWishlistedPropertyIds(@Param("userId") UUID userId, @Param("propertyIds") Collection<UUID> propertyIds);
+
+    @Query("SELECT w.id.propertyId FROM Wishlist w WHERE w.id.userId = :userId")
+    List<UUID> findPropertyIdsByUserId(@Param("userId") UUID userId);
+
+    // Most recently saved first; returns a List so no COUNT query is issued (the size comes from the cached id set)
+    @Query("SELECT p FROM Wishlist w JOIN w.property p JOIN FETCH p.landlord " +
+            "WHERE w.id.userId = :userId ORDER BY w.addedAt DESC, w.id.propertyId")
+    List<Property> findWishlistPage(@Param("userId") UUID userId, Pageable pageable);
+
+    long countByIdPropertyId(UUID propertyId);
+
+    @Query("SELECT w.id.userId FROM Wishlist w WHERE w.id.propertyId = :propertyId")
+    List<UUID> findUserIdsByPropertyId(@Param("propertyId") UUID propertyId);
+}
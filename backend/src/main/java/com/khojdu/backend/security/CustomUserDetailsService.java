@@ -6,6 +6,7 @@ import com.khojdu.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -20,7 +21,7 @@ import java.util.UUID;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -64,4 +65,24 @@ public class CustomUserDetailsService implements UserDetailsService {
         log.debug("User loaded successfully by ID: {}", id);
         return new UserPrincipal(user);
     }
+
+    /**
+     * Store a rehashed password after a successful login
+     * Called by DaoAuthenticationProvider when the stored hash needs upgrading
+     * @param userDetails Authenticated user
+     * @param newPassword Password encoded with the current algorithm and cost
+     * @return UserDetails carrying the new hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) userDetails;
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", principal.getId()));
+
+        user.setPasswordHash(newPassword);
+        userRepository.save(user);
+        log.info("Upgraded password hash for user: {}", user.getId());
+        return new UserPrincipal(user);
+    }
 }
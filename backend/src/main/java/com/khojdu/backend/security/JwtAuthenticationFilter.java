@@ -1,7 +1,11 @@
 package com.khojdu.backend.security;
 
+import com.khojdu.backend.entity.enums.UserRole;
 import com.khojdu.backend.exception.InvalidTokenException;
 import com.khojdu.backend.security.redis.RedisTokenService;
+import com.khojdu.backend.security.redis.StreamTicketStore;
+import com.khojdu.backend.security.redis.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +15,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -30,8 +33,11 @@ import java.util.UUID;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final CustomUserDetailsService customUserDetailsService;
     private final RedisTokenService redisTokenService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final StreamTicketStore streamTicketStore;
+
+    private static final String STREAM_PATH = "/notifications/stream";
 
     /**
      * Filter logic to extract and validate JWT token from request
@@ -44,11 +50,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         try {
+            // Browser EventSource cannot set headers, so the notification stream is opened with a one-time ticket
+            String ticket = getStreamTicket(request);
+            if (ticket != null) {
+                UserPrincipal userDetails = streamTicketStore.redeem(ticket);
+                if (userDetails != null) {
+                    authenticate(request, userDetails);
+                }
+            }
+
             // Extract JWT token from request
-            String jwt = getJwtFromRequest(request);
+            String jwt = ticket == null ? getJwtFromRequest(request) : null;
 
             // Validate token and set authentication
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
+            if (StringUtils.hasText(jwt)) {
+                // Verified once; the claims are reused for the rest of the request
+                Claims claims = jwtTokenProvider.parseToken(request, jwt);
                 if (redisTokenService.isTokenBlacklisted(jwt)) {
                     log.warn("Rejected blacklisted token: {}", jwt);
                     // Do not authenticate with blacklisted token
@@ -56,27 +73,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     filterChain.doFilter(request, response);
                     return;
                 }
-                UUID userId = UUID.fromString(jwtTokenProvider.getUserIdFromToken(jwt));
-
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
-
-                if (!userDetails.isAccountNonLocked() || !userDetails.isEnabled()) {
-                    log.warn("Blocked request for inactive/locked user: {}", userId);
-                    throw new InvalidTokenException("User account is inactive or locked");
+                String role = claims.get("role", String.class);
+                if (!"access".equals(claims.get("type", String.class)) || role == null) {
+                    throw new InvalidTokenException("Not an access token");
                 }
+                UUID userId = UUID.fromString(claims.getSubject());
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                // Deactivation, deletion and role changes bump the user's revocation epoch
+                if (tokenRevocationStore.isRevoked(userId, claims.getIssuedAt())) {
+                    log.warn("Blocked request with revoked token for user: {}", userId);
+                    throw new InvalidTokenException("Token has been revoked");
+                }
 
-                log.debug("Set authentication for user: {}", userId);
+                // Principal comes straight from the verified claims: no database lookup per request
+                UserPrincipal userDetails = UserPrincipal.fromClaims(
+                        userId, claims.get("email", String.class), UserRole.valueOf(role));
+                authenticate(request, userDetails);
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -85,6 +97,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(HttpServletRequest request, UserPrincipal userDetails) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        log.debug("Set authentication for user: {}", userDetails.getId());
+    }
+
     /**
      * Extract JWT token from Authorization header
      * Expected format: "Bearer <token>"
@@ -100,4 +127,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         return null;
     }
+
+    /**
+     * Ticket from POST /notifications/stream/ticket, only accepted when opening the stream
+     */
+    private String getStreamTicket(HttpServletRequest request) {
+        if (!STREAM_PATH.equals(request.getServletPath())) return null;
+        String ticket = request.getParameter("ticket");
+        return StringUtils.hasText(ticket) ? ticket : null;
+    }
 }
@@ -0,0 +1,134 @@
+package com.khojdu.backend.security;
+
+import com.khojdu.backend.config.JwtConfig;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the JWT keys and a single parser built from them.
+ * Keys are decoded once at startup; the parser is immutable and thread-safe, so it is shared by all requests.
+ */
+@Slf4j
+@Component
+public class JwtKeyProvider {
+
+    private final JwtConfig.Algorithm algorithm;
+    private final SecretKey hmacKey;
+    private final KeyPair keyPair;
+    private final PublicJwk<?> publicJwk;
+    private final String keyId;
+    private final JwtParser parser;
+
+    public JwtKeyProvider(JwtConfig jwtConfig, Environment environment) {
+        this.algorithm = jwtConfig.getAlgorithm();
+        this.hmacKey = StringUtils.hasText(jwtConfig.getSecret())
+                ? Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8))
+                : null;
+
+        if (algorithm == JwtConfig.Algorithm.HS256) {
+            if (hmacKey == null) throw new IllegalStateException("app.jwt.secret is required for HS256");
+            this.keyPair = null;
+            this.publicJwk = null;
+            this.keyId = null;
+            this.parser = Jwts.parser().verifyWith(hmacKey).build();
+            return;
+        }
+
+        // Same profiles as DefaultUserConfig: a throwaway key pair is only acceptable for local development
+        this.keyPair = loadKeyPair(jwtConfig, environment.matchesProfiles("dev", "default"));
+        String thumbprint = Jwks.builder().key(keyPair.getPublic()).build().thumbprint().toString();
+        this.keyId = StringUtils.hasText(jwtConfig.getKeyId()) ? jwtConfig.getKeyId() : thumbprint;
+        this.publicJwk = Jwks.builder().key(keyPair.getPublic()).id(keyId).publicKeyUse("sig").build();
+
+        boolean acceptHmac = jwtConfig.isAcceptHmac() && hmacKey != null;
+        JwtParserBuilder builder = Jwts.parser().keyLocator(new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                if (keyId.equals(header.getKeyId())) return keyPair.getPublic();
+                if (acceptHmac && header.getKeyId() == null && header.getAlgorithm().startsWith("HS")) return hmacKey;
+                throw new UnsupportedJwtException("Unknown JWT signing key");
+            }
+        });
+        this.parser = builder.build();
+        log.info("JWT signing with {} (kid {})", algorithm, keyId);
+    }
+
+    public JwtParser parser() {
+        return parser;
+    }
+
+    /**
+     * Sets the key id header (asymmetric algorithms) and signs the token.
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        return switch (algorithm) {
+            case HS256 -> builder.signWith(hmacKey);
+            case ES256 -> builder.header().keyId(keyId).and().signWith(keyPair.getPrivate(), Jwts.SIG.ES256);
+            case EDDSA -> builder.header().keyId(keyId).and().signWith(keyPair.getPrivate(), Jwts.SIG.EdDSA);
+        };
+    }
+
+    /**
+     * The JWK Set document with the verification key; empty when tokens are signed with the shared secret.
+     */
+    public Map<String, Object> jwks() {
+        return Map.of("keys", publicJwk != null ? List.of(publicJwk) : List.of());
+    }
+
+    private KeyPair loadKeyPair(JwtConfig jwtConfig, boolean development) {
+        String keyAlgorithm = algorithm == JwtConfig.Algorithm.ES256 ? "EC" : "Ed25519";
+        try {
+            if (!StringUtils.hasText(jwtConfig.getPrivateKey()) || !StringUtils.hasText(jwtConfig.getPublicKey())) {
+                if (!development) {
+                    // A per-process key would log every user out on restart and fail verification on other nodes
+                    throw new IllegalStateException("app.jwt.private-key and app.jwt.public-key are required for "
+                            + algorithm + " outside the dev profile");
+                }
+                log.warn("⚠️  No JWT key pair configured for {}: generated one for this process only. " +
+                        "Tokens will not verify on other nodes or after a restart.", algorithm);
+                KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+                if (algorithm == JwtConfig.Algorithm.ES256) {
+                    generator.initialize(new ECGenParameterSpec("secp256r1"));
+                }
+                return generator.generateKeyPair();
+            }
+            KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm);
+            return new KeyPair(
+                    keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(jwtConfig.getPublicKey()))),
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(jwtConfig.getPrivateKey()))));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid JWT key pair for " + algorithm, e);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
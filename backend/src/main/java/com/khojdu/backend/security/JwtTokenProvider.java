@@ -8,36 +8,31 @@ import com.khojdu.backend.exception.InvalidTokenException;
 import com.khojdu.backend.exception.TokenExpiredException;
 import com.khojdu.backend.exception.TokenReuseException;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 /**
  * Utility class for generating and validating JWT tokens
+ * Keys and the parser come from {@link JwtKeyProvider}, so a token is verified with a shared, pre-built parser
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private static final String PARSED_TOKEN_ATTRIBUTE = JwtTokenProvider.class.getName() + ".parsedToken";
+
     private final JwtConfig jwtConfig;
+    private final JwtKeyProvider jwtKeyProvider;
     private final RedisTokenServiceImpl redisTokenServiceImpl;
     private final RedisTokenService redisTokenService;
 
-    /**
-     * Get the signing key for JWT
-     * Uses HMAC SHA algorithm
-     */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
-    }
+    private record ParsedToken(String token, Claims claims) {}
 
     /**
      * Generate JWT access token for authenticated user
@@ -50,14 +45,13 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtConfig.getExpiration());
 
-        String token = Jwts.builder()
+        String token = jwtKeyProvider.sign(Jwts.builder()
                 .subject(userPrincipal.getUsername())
                 .claim("email", userPrincipal.getEmail())
                 .claim("role", userPrincipal.getRole().name())
                 .claim("type", "access")
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .expiration(expiryDate))
                 .compact();
 
         log.debug("Generated access token for user: {}", userPrincipal.getEmail());
@@ -77,12 +71,11 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtConfig.getRefreshExpiration());
 
-        String token = Jwts.builder()
+        String token = jwtKeyProvider.sign(Jwts.builder()
                 .subject(userPrincipal.getId().toString())
                 .claim("type", "refresh")
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .expiration(expiryDate))
                 .compact();
 
         // store in refresh token service (Redis)
@@ -118,12 +111,11 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtConfig.getRefreshExpiration());
 
-        String newToken = Jwts.builder()
+        String newToken = jwtKeyProvider.sign(Jwts.builder()
                 .subject(userId)
                 .claim("type", "refresh")
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .expiration(expiryDate))
                 .compact();
 
         try {
@@ -173,9 +165,7 @@ public class JwtTokenProvider {
 
     public Claims parseToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
+            return jwtKeyProvider.parser()
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
@@ -191,6 +181,21 @@ public class JwtTokenProvider {
         }
     }
 
+    /**
+     * Parse a token once per request: filters that run earlier (rate limiting) and later (authentication)
+     * share the verified claims through a request attribute
+     * @param request current HTTP request
+     * @param token JWT token string
+     * @return verified claims
+     */
+    public Claims parseToken(HttpServletRequest request, String token) {
+        if (request.getAttribute(PARSED_TOKEN_ATTRIBUTE) instanceof ParsedToken parsed && parsed.token().equals(token)) {
+            return parsed.claims();
+        }
+        Claims claims = parseToken(token);
+        request.setAttribute(PARSED_TOKEN_ATTRIBUTE, new ParsedToken(token, claims));
+        return claims;
+    }
 
     /**
      * Extract email from JWT token
@@ -198,45 +203,18 @@ public class JwtTokenProvider {
      * @return User email
      */
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts
-                .parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("email", String.class);
+        return parseToken(token).get("email", String.class);
     }
 
     /**
      * Validate JWT token
      * Checks signature and expiration
      * @param authToken JWT token to validate
-     * @return true if valid, false otherwise
+     * @return true if valid, otherwise throws InvalidTokenException / TokenExpiredException
      */
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (SignatureException ex) {
-            log.error("Invalid JWT signature: {}", ex.getMessage());
-            throw new InvalidTokenException("Invalid JWT signature", ex);
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token: {}", ex.getMessage());
-            throw new InvalidTokenException("Invalid JWT token", ex);
-        } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token: {}", ex.getMessage());
-            throw new TokenExpiredException("Expired JWT token", ex);
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token: {}", ex.getMessage());
-            throw new InvalidTokenException("Unsupported JWT token", ex);
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty: {}", ex.getMessage());
-            throw new InvalidTokenException("JWT claims string is empty", ex);
-        }
+        parseToken(authToken);
+        return true;
     }
 
     /**
@@ -246,14 +224,7 @@ public class JwtTokenProvider {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts
-                    .parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            return claims.getExpiration().before(new Date());
+            return parseToken(token).getExpiration().before(new Date());
         } catch (Exception e) {
             return true;
         }
@@ -265,27 +236,15 @@ public class JwtTokenProvider {
      * @return Expiration date
      */
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = Jwts
-                .parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getExpiration();
+        return parseToken(token).getExpiration();
     }
 
 
     public long getTokenExpiryDuration(String accessToken) {
-        Claims claims = Jwts
-                .parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(accessToken)
-                .getPayload();
-
-        Date expiration = claims.getExpiration();
-        Date now = new Date();
-        return expiration.getTime() - now.getTime();
+        return getTokenExpiryDuration(parseToken(accessToken));
+    }
+
+    public long getTokenExpiryDuration(Claims claims) {
+        return claims.getExpiration().getTime() - System.currentTimeMillis();
     }
 }
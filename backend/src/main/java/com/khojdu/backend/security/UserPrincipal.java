@@ -15,6 +15,8 @@ import java.util.UUID;
 /**
  * Implementation of Spring Security's UserDetails interface
  * Represents the authenticated user's principal
+ * Built from the User entity at login, or from verified access token claims on authenticated requests;
+ * in the latter case {@link #getUser()} is null and only id, email and role are available
  */
 @Data
 @NoArgsConstructor
@@ -23,8 +25,27 @@ import java.util.UUID;
 public class UserPrincipal implements UserDetails {
 
     private User user;
+    private UUID id;
+    private String email;
+    private UserRole role;
+
     public UserPrincipal(User user) {
         this.user = user;
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.role = user.getRole();
+    }
+
+    /**
+     * Principal for a request authenticated by an access token, without loading the user
+     * Deactivated, deleted or re-roled users are rejected through the token revocation epoch instead
+     */
+    public static UserPrincipal fromClaims(UUID id, String email, UserRole role) {
+        UserPrincipal principal = new UserPrincipal();
+        principal.id = id;
+        principal.email = email;
+        principal.role = role;
+        return principal;
     }
 
     /**
@@ -34,7 +55,7 @@ public class UserPrincipal implements UserDetails {
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
+                new SimpleGrantedAuthority("ROLE_" + role.name())
         );
     }
 
@@ -43,7 +64,7 @@ public class UserPrincipal implements UserDetails {
      */
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return user != null ? user.getPasswordHash() : null;
     }
 
     /**
@@ -51,7 +72,7 @@ public class UserPrincipal implements UserDetails {
      */
     @Override
     public String getUsername() {
-        return user.getId().toString();
+        return id.toString();
     }
 
     /**
@@ -68,7 +89,7 @@ public class UserPrincipal implements UserDetails {
      */
     @Override
     public boolean isAccountNonLocked() {
-        return user.getIsActive() != null && user.getIsActive();
+        return user == null || Boolean.TRUE.equals(user.getIsActive());
     }
 
     /**
@@ -85,7 +106,7 @@ public class UserPrincipal implements UserDetails {
      */
     @Override
     public boolean isEnabled() {
-        return user.getIsActive() != null && user.getIsActive();
+        return user == null || Boolean.TRUE.equals(user.getIsActive());
     }
 
     /**
@@ -94,7 +115,7 @@ public class UserPrincipal implements UserDetails {
      * @return true if user has the role
      */
     public boolean hasRole(UserRole checkRole) {
-        return this.user.getRole() == checkRole;
+        return this.role == checkRole;
     }
 
     /**
@@ -102,7 +123,7 @@ public class UserPrincipal implements UserDetails {
      * @return true if user is admin
      */
     public boolean isAdmin() {
-        return this.user.getRole() == UserRole.ADMIN;
+        return this.role == UserRole.ADMIN;
     }
 
     /**
@@ -110,7 +131,7 @@ public class UserPrincipal implements UserDetails {
      * @return true if user is landlord
      */
     public boolean isLandlord() {
-        return this.user.getRole() == UserRole.LANDLORD;
+        return this.role == UserRole.LANDLORD;
     }
 
     /**
@@ -118,20 +139,6 @@ public class UserPrincipal implements UserDetails {
      * @return true if user is tenant
      */
     public boolean isTenant() {
-        return this.user.getRole() == UserRole.TENANT;
-    }
-
-
-    //extra helper method to get user fields
-    public UUID getId() {
-        return user.getId();
-    }
-
-    public String getEmail() {
-        return user.getEmail();
-    }
-
-    public UserRole getRole() {
-        return user.getRole();
+        return this.role == UserRole.TENANT;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package com.khojdu.backend.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khojdu.backend.config.RateLimitConfig;
+import com.khojdu.backend.dto.common.ErrorResponse;
+import com.khojdu.backend.security.JwtTokenProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the configured rate limit policies before the Spring Security chain runs,
+ * so throttled login attempts never reach BCrypt.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitConfig rateLimitConfig;
+    private final RateLimiter rateLimiter;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !rateLimitConfig.isEnabled() || rateLimitConfig.getPolicies().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimitConfig.Policy policy = findPolicy(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryConsume(policy, resolveSubject(request, policy));
+        response.setHeader("X-RateLimit-Limit", String.valueOf(policy.getCapacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Counter.builder("khojdu.ratelimit.rejected")
+                .description("Requests rejected by a rate limit policy")
+                .tags("policy", policy.getName(), "backend", decision.local() ? "local" : "redis")
+                .register(meterRegistry)
+                .increment();
+        log.warn("Rate limit '{}' exceeded for {} {} from {}",
+                policy.getName(), request.getMethod(), request.getRequestURI(), request.getRemoteAddr());
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(decision.retryAfterMs() + 999));
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Too many requests, please try again in " + retryAfterSeconds + " seconds",
+                request.getRequestURI()
+        );
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private RateLimitConfig.Policy findPolicy(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitConfig.Policy policy : rateLimitConfig.getPolicies()) {
+            if (!policy.getMethods().isEmpty()
+                    && policy.getMethods().stream().noneMatch(m -> m.equalsIgnoreCase(request.getMethod()))) {
+                continue;
+            }
+            for (String pattern : policy.getPaths()) {
+                if (pathMatcher.match(pattern, path)) return policy;
+            }
+        }
+        return null;
+    }
+
+    private String resolveSubject(HttpServletRequest request, RateLimitConfig.Policy policy) {
+        if (policy.getKey() == RateLimitConfig.KeyType.USER) {
+            String bearerToken = request.getHeader("Authorization");
+            if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+                try {
+                    return "user:" + jwtTokenProvider.parseToken(request, bearerToken.substring(7)).getSubject();
+                } catch (RuntimeException ignored) {
+                    // Invalid token: limit by address; the security chain rejects the request anyway
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
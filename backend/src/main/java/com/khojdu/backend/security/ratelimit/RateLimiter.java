@@ -0,0 +1,112 @@
+package com.khojdu.backend.security.ratelimit;
+
+import com.khojdu.backend.config.RateLimitConfig;
+import com.khojdu.backend.security.redis.RedisCircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets shared across nodes through Redis.
+ * Refill and consume happen in one Lua script using the Redis clock, so concurrent requests on different
+ * nodes cannot both take the last token. When Redis is unreachable (or the Redis circuit is open) each node
+ * falls back to its own in-process buckets, which keeps the limit per node instead of failing open.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // ARGV: capacity, refill tokens per ms. Returns {allowed (0/1), remaining tokens, retry after ms}
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) " +
+            "local rate = tonumber(ARGV[2]) " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(bucket[1]) or capacity " +
+            "local ts = tonumber(bucket[2]) or now " +
+            "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate) " +
+            "local allowed = 0 " +
+            "local retry = 0 " +
+            "if tokens >= 1 then tokens = tokens - 1 allowed = 1 " +
+            "else retry = math.ceil((1 - tokens) / rate) end " +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now) " +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate)) " +
+            "return {allowed, math.floor(tokens), retry}", List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    private final Map<String, LocalBucket> localBuckets = new ConcurrentHashMap<>();
+
+    public record Decision(boolean allowed, long remaining, long retryAfterMs, boolean local) {}
+
+    public Decision tryConsume(RateLimitConfig.Policy policy, String subject) {
+        String key = KEY_PREFIX + policy.getName() + ":" + subject;
+        try {
+            List<?> result = circuitBreaker.call(() -> redisTemplate.execute(TOKEN_BUCKET, List.of(key),
+                    String.valueOf(policy.getCapacity()), String.valueOf(policy.refillPerMilli())));
+            if (result != null && result.size() == 3) {
+                return new Decision(toLong(result.get(0)) == 1, toLong(result.get(1)), toLong(result.get(2)), false);
+            }
+        } catch (Exception e) {
+            log.debug("Redis rate limiter unavailable, using local bucket for {}: {}", key, e.getMessage());
+        }
+        long now = System.currentTimeMillis();
+        return localBuckets.computeIfAbsent(key, k -> new LocalBucket(policy.getCapacity(), now))
+                .tryConsume(policy.getCapacity(), policy.refillPerMilli(), now);
+    }
+
+    /**
+     * Drops local buckets that have refilled completely; they are equivalent to a fresh bucket.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleLocalBuckets() {
+        long now = System.currentTimeMillis();
+        localBuckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+    }
+
+    // Callers pass the clock so refill can be tested without sleeping
+    static class LocalBucket {
+        private final int capacity;
+        private double tokens;
+        private long updatedAt;
+        private double rate;
+
+        LocalBucket(int capacity, long now) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.updatedAt = now;
+        }
+
+        synchronized Decision tryConsume(int capacity, double rate, long now) {
+            this.rate = rate;
+            tokens = Math.min(capacity, tokens + Math.max(0, now - updatedAt) * rate);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return new Decision(true, (long) tokens, 0, true);
+            }
+            return new Decision(false, 0, (long) Math.ceil((1 - tokens) / rate), true);
+        }
+
+        synchronized boolean isFull(long now) {
+            return rate > 0 && tokens + (now - updatedAt) * rate >= capacity;
+        }
+    }
+}
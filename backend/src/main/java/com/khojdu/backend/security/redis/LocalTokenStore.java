@@ -0,0 +1,75 @@
+package com.khojdu.backend.security.redis;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory stand-in for the Redis token keys, used while the Redis circuit is open.
+ * Keys and values follow the Redis layout. Least recently used entries are evicted past the size limit.
+ * Token entries are cleared once their writes are replayed to Redis; blacklist entries live until they expire.
+ */
+@Component
+public class LocalTokenStore {
+
+    private record Entry(String value, long expiresAt) {}
+
+    private final Map<String, Entry> tokens;
+    private final Map<String, Entry> blacklist;
+
+    public LocalTokenStore(@Value("${app.redis.fallback.max-entries:10000}") int maxEntries) {
+        this.tokens = boundedMap(maxEntries);
+        this.blacklist = boundedMap(maxEntries);
+    }
+
+    public synchronized void set(String key, String value, long ttlMs) {
+        tokens.put(key, new Entry(value, System.currentTimeMillis() + ttlMs));
+    }
+
+    public synchronized String get(String key) {
+        return read(tokens, key);
+    }
+
+    public synchronized void delete(String... keys) {
+        for (String key : keys) {
+            tokens.remove(key);
+        }
+    }
+
+    public synchronized void blacklist(String key, long ttlMs) {
+        blacklist.put(key, new Entry("BLACKLISTED", System.currentTimeMillis() + ttlMs));
+    }
+
+    public synchronized boolean isBlacklisted(String key) {
+        return read(blacklist, key) != null;
+    }
+
+    public synchronized void clearTokens() {
+        tokens.clear();
+    }
+
+    public synchronized int size() {
+        return tokens.size() + blacklist.size();
+    }
+
+    private static String read(Map<String, Entry> map, String key) {
+        Entry entry = map.get(key);
+        if (entry == null) return null;
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            map.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private static Map<String, Entry> boundedMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+}
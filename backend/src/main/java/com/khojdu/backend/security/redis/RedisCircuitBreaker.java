@@ -0,0 +1,125 @@
+package com.khojdu.backend.security.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for Redis calls.
+ * After {@code failureThreshold} consecutive failures calls fail immediately for {@code openDurationMs}
+ * instead of each waiting out the command timeout. Then a single trial call is let through:
+ * success closes the circuit and runs the recovery listeners, failure opens it again.
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    public static class CircuitOpenException extends RuntimeException {
+        CircuitOpenException() {
+            super("Redis circuit is open", null, false, false);
+        }
+    }
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+    private final Counter openedCounter;
+    private final Counter shortCircuitedCounter;
+    private volatile long openedAt;
+
+    @Value("${app.redis.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${app.redis.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    public RedisCircuitBreaker(MeterRegistry meterRegistry) {
+        Gauge.builder("khojdu.redis.circuit.state", state, s -> s.get().ordinal())
+                .description("Redis circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+        this.openedCounter = Counter.builder("khojdu.redis.circuit.opened")
+                .description("Times the Redis circuit breaker opened")
+                .register(meterRegistry);
+        this.shortCircuitedCounter = Counter.builder("khojdu.redis.circuit.short_circuited")
+                .description("Redis calls rejected without being attempted because the circuit was open")
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        if (!tryAcquire()) {
+            shortCircuitedCounter.increment();
+            throw new CircuitOpenException();
+        }
+        try {
+            T result = action.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isClosed() {
+        return state.get() == State.CLOSED;
+    }
+
+    /**
+     * Registers work to run (asynchronously) each time the circuit closes again.
+     */
+    public void onRecovery(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    private boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) return true;
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            // Only the caller that wins the transition makes the trial call
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Redis circuit closed, Redis is reachable again");
+            recoveryListeners.forEach(CompletableFuture::runAsync);
+        }
+    }
+
+    private void onFailure(RuntimeException e) {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                openedCounter.increment();
+                log.warn("⚠️  Redis circuit opened after {} consecutive failures, failing fast for {} ms: {}",
+                        consecutiveFailures.get(), openDurationMs, e.getMessage());
+            }
+        }
+    }
+}
@@ -2,14 +2,45 @@ package com.khojdu.backend.security.redis;
 
 import com.khojdu.backend.config.JwtConfig;
 import com.khojdu.backend.entity.enums.TokenType;
+import com.khojdu.backend.exception.InvalidTokenException;
 import com.khojdu.backend.exception.TokenReuseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Token store backed by Redis.
+ * Every operation is a single round trip: multi-key writes run as Lua scripts, so rotation is an atomic
+ * compare-and-swap. Tokens are stored as SHA-256 digests rather than the full JWT / token string.
+ * Entries written before digests were introduced (raw token in the key or value) are still honoured until they expire.
+ * Calls go through {@link RedisCircuitBreaker}; while Redis is unreachable tokens are kept in {@link LocalTokenStore}
+ * and the writes are replayed to Redis once it is reachable again.
+ * <p>
+ * Requires a single Redis node (standalone, optionally behind Sentinel), which is what {@code RedisConfig} builds.
+ * The scripts write a user's key and token-digest reverse keys that hash to different cluster slots, and STORE and
+ * REVOKE_ALL build the previous reverse key name from a value read inside the script, so it is not declared in KEYS.
+ * Declaring it would cost a second round trip, and the user key and reverse keys could still not share a hash tag:
+ * lookups by token alone do not know the user. Moving to Redis Cluster means redesigning the key layout first.
+ */
 @Service
 @Slf4j
 @Primary
@@ -22,12 +53,61 @@ public class RedisTokenServiceImpl implements RedisTokenService {
 
     private static final String BLACKLIST_KEY_PREFIX = "blacklist:token:";
 
+    // KEYS: user key, reverse key. ARGV: digest, userId, ttl ms, reverse key prefix.
+    // Replaces the user's current token and drops the reverse mapping of the one it replaces; that key is derived
+    // from the stored digest, not declared in KEYS (single-node only, see the class comment).
+    private static final DefaultRedisScript<Long> STORE = new DefaultRedisScript<>(
+            "local previous = redis.call('GET', KEYS[1]) " +
+            "if previous then redis.call('DEL', ARGV[4] .. previous) end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3]) " +
+            "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3]) " +
+            "return 1", Long.class);
+
+    // KEYS: user key, old reverse key, new reverse key, old reverse key (legacy raw form).
+    // ARGV: old digest, old raw token, new digest, userId, ttl ms, reverse key prefix.
+    // Returns 1 when rotated, 0 when the presented token is not the current one (reuse: the user's tokens are revoked).
+    private static final DefaultRedisScript<Long> ROTATE = new DefaultRedisScript<>(
+            "local stored = redis.call('GET', KEYS[1]) " +
+            "if stored ~= ARGV[1] and stored ~= ARGV[2] then " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  if stored then redis.call('DEL', ARGV[6] .. stored) end " +
+            "  return 0 " +
+            "end " +
+            "redis.call('SET', KEYS[1], ARGV[3], 'PX', ARGV[5]) " +
+            "redis.call('SET', KEYS[3], ARGV[4], 'PX', ARGV[5]) " +
+            "redis.call('DEL', KEYS[2], KEYS[4]) " +
+            "return 1", Long.class);
+
+    // KEYS: user key. ARGV: reverse key prefix. The reverse key is derived as in STORE.
+    private static final DefaultRedisScript<Long> REVOKE_ALL = new DefaultRedisScript<>(
+            "local stored = redis.call('GET', KEYS[1]) " +
+            "if stored then redis.call('DEL', ARGV[1] .. stored) end " +
+            "return redis.call('DEL', KEYS[1])", Long.class);
+
     private final StringRedisTemplate redisTemplate;
     private final JwtConfig jwtConfig;
-
-    public RedisTokenServiceImpl(StringRedisTemplate redisTemplate, JwtConfig jwtConfig) {
+    private final MeterRegistry meterRegistry;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final LocalTokenStore localStore;
+
+    // Writes that failed to reach Redis, keyed by the Redis key they target: a later write supersedes an earlier one
+    private final Map<String, Runnable> pendingWrites = new ConcurrentHashMap<>();
+    private final int maxPendingWrites;
+    // A lock rather than synchronized: replay does network I/O and must not pin a virtual thread
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    public RedisTokenServiceImpl(StringRedisTemplate redisTemplate, JwtConfig jwtConfig, MeterRegistry meterRegistry,
+                                 RedisCircuitBreaker circuitBreaker, LocalTokenStore localStore,
+                                 @Value("${app.redis.fallback.max-pending-writes:10000}") int maxPendingWrites) {
         this.redisTemplate = redisTemplate;
         this.jwtConfig = jwtConfig;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = circuitBreaker;
+        this.localStore = localStore;
+        this.maxPendingWrites = maxPendingWrites;
+        meterRegistry.gaugeMapSize("khojdu.redis.token.pending_writes", Tags.empty(), pendingWrites);
+        meterRegistry.gauge("khojdu.redis.token.local_entries", localStore, LocalTokenStore::size);
+        circuitBreaker.onRecovery(this::reconcile);
     }
 
     private String keyFor(String userId, TokenType type) {
@@ -40,22 +120,126 @@ public class RedisTokenServiceImpl implements RedisTokenService {
         };
     }
 
+    // Reverse mapping (token -> userId) key prefix
+    private String reversePrefix(TokenType type) {
+        return type.name();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private <T> T timed(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return circuitBreaker.call(action);
+        } catch (RedisCircuitBreaker.CircuitOpenException e) {
+            outcome = "short_circuited";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("khojdu.redis.token.operation")
+                    .description("Latency of Redis token store operations")
+                    .tags("operation", operation, "outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void enqueue(String key, Runnable write) {
+        if (pendingWrites.size() >= maxPendingWrites && !pendingWrites.containsKey(key)) {
+            log.warn("Pending Redis token writes at the limit of {}, dropping the write for {}", maxPendingWrites, key);
+            return;
+        }
+        pendingWrites.put(key, write);
+    }
+
+    // A successful Redis write for the key makes any local state and queued write for it stale
+    private void settled(String userKey, String prefix) {
+        pendingWrites.remove(userKey);
+        revokeLocally(userKey, prefix);
+    }
+
+    @Scheduled(fixedDelayString = "${app.redis.fallback.reconcile-interval-ms:30000}")
+    public void reconcilePending() {
+        if (!pendingWrites.isEmpty() && circuitBreaker.isClosed()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Replays writes that failed to reach Redis. Stops at the first failure and keeps the rest queued.
+     */
+    private void reconcile() {
+        // Another thread is already replaying
+        if (!reconcileLock.tryLock()) return;
+        try {
+            replayPending();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void replayPending() {
+        int replayed = 0;
+        for (Map.Entry<String, Runnable> entry : pendingWrites.entrySet()) {
+            try {
+                entry.getValue().run();
+                pendingWrites.remove(entry.getKey(), entry.getValue());
+                replayed++;
+            } catch (Exception e) {
+                log.warn("⚠️  Redis token reconciliation stopped after {} writes: {}", replayed, e.getMessage());
+                return;
+            }
+        }
+        if (pendingWrites.isEmpty()) {
+            // Redis is authoritative again; blacklist entries stay local until they expire
+            localStore.clearTokens();
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} token writes to Redis", replayed);
+        }
+    }
+
+    private void storeInRedis(String userKey, String prefix, String tokenDigest, String userId, long ttlMs) {
+        timed("store", () -> redisTemplate.execute(STORE,
+                List.of(userKey, prefix + tokenDigest),
+                tokenDigest, userId, String.valueOf(ttlMs), prefix));
+    }
+
+    private void storeLocally(String userKey, String prefix, String tokenDigest, String userId, long ttlMs) {
+        synchronized (localStore) {
+            String previous = localStore.get(userKey);
+            if (previous != null) localStore.delete(prefix + previous);
+            localStore.set(userKey, tokenDigest, ttlMs);
+            localStore.set(prefix + tokenDigest, userId, ttlMs);
+        }
+    }
+
     @Override
     public void store(String userId, String token, TokenType tokenType) {
         if (userId == null || token == null) return;
 
+        long ttlMs = jwtConfig.getRefreshExpiration();
+        String userKey = keyFor(userId, tokenType);
+        String prefix = reversePrefix(tokenType);
+        String tokenDigest = digest(token);
         try {
-            String key = keyFor(userId, tokenType);
-            long ttlMs = jwtConfig.getRefreshExpiration();
-
-            redisTemplate.opsForValue().set(key, token, ttlMs, TimeUnit.MILLISECONDS);
-            redisTemplate.opsForValue().set(tokenType + token, userId, ttlMs, TimeUnit.MILLISECONDS);
-
+            storeInRedis(userKey, prefix, tokenDigest, userId, ttlMs);
+            settled(userKey, prefix);
             log.debug("Stored {} token for user {} (TTL={}ms)", tokenType, userId, ttlMs);
         } catch (Exception e) {
-            log.warn("⚠️  Redis unavailable - Failed to store {} token for user {}: {}. Authentication will continue without Redis features.", 
+            log.warn("⚠️  Redis unavailable - Storing {} token for user {} locally until Redis recovers: {}",
                      tokenType, userId, e.getMessage());
-            // Don't throw - allow authentication to proceed without Redis
+            storeLocally(userKey, prefix, tokenDigest, userId, ttlMs);
+            enqueue(userKey, () -> storeInRedis(userKey, prefix, tokenDigest, userId, ttlMs));
         }
     }
 
@@ -63,49 +247,57 @@ public class RedisTokenServiceImpl implements RedisTokenService {
     public void rotate(String userId, String oldToken, String newToken, TokenType tokenType) throws TokenReuseException {
         if (userId == null) throw new TokenReuseException("Missing userId for rotation");
 
-        try {
-            String key = keyFor(userId, tokenType);
-            log.debug("Rotating token for key: {}", key);
-
-            // Get the currently stored token for this user
-            String storedToken = redisTemplate.opsForValue().get(key);
-            log.debug("Stored token for user {}: {}", userId, storedToken != null ? "exists" : "null");
+        long ttlMs = jwtConfig.getRefreshExpiration();
+        String userKey = keyFor(userId, tokenType);
+        String prefix = reversePrefix(tokenType);
+        String oldDigest = digest(oldToken);
+        String newDigest = digest(newToken);
 
-            // If no stored token or the stored token doesn't match the old token being rotated,
-            // this indicates token reuse (someone is trying to use an old/invalid token)
-            if (storedToken == null || !storedToken.equals(oldToken)) {
-                log.warn("Token reuse detected for user {}. Stored token exists: {}",
-                         userId, storedToken != null);
+        Long rotated;
+        try {
+            rotated = timed("rotate", () -> redisTemplate.execute(ROTATE,
+                    List.of(userKey, prefix + oldDigest, prefix + newDigest, prefix + oldToken),
+                    oldDigest, oldToken, newDigest, userId, String.valueOf(ttlMs), prefix));
+        } catch (Exception e) {
+            log.warn("⚠️  Redis unavailable - Rotating {} token for user {} locally until Redis recovers: {}",
+                     tokenType, userId, e.getMessage());
+            rotateLocally(userKey, prefix, oldDigest, newDigest, userId, ttlMs);
+            enqueue(userKey, () -> storeInRedis(userKey, prefix, newDigest, userId, ttlMs));
+            return;
+        }
 
-                // Revoke all tokens for security
-                redisTemplate.delete(key);
-                if (storedToken != null) {
-                    redisTemplate.delete(tokenType + storedToken);
-                }
+        if ((rotated == null || rotated == 0) && oldDigest.equals(localStore.get(userKey))) {
+            // The presented token was issued while Redis was unreachable and has not been replayed yet
+            storeInRedis(userKey, prefix, newDigest, userId, ttlMs);
+            rotated = 1L;
+        }
+        if (rotated == null || rotated == 0) {
+            // The script has already revoked the user's stored token
+            log.warn("Token reuse detected for user {}", userId);
+            throw new TokenReuseException("Refresh token reuse detected for user: " + userId);
+        }
+        settled(userKey, prefix);
+        log.info("Successfully rotated {} token for user {}", tokenType, userId);
+    }
 
+    // Same compare-and-swap as ROTATE against the local store. A token issued before the outage is unknown locally and
+    // cannot be told apart from one that was already rotated or revoked, so it is refused; the user logs in again,
+    // which works during the outage. Not treated as reuse, so the user's other sessions stay signed in.
+    private void rotateLocally(String userKey, String prefix, String oldDigest, String newDigest, String userId, long ttlMs) {
+        synchronized (localStore) {
+            String stored = localStore.get(userKey);
+            if (stored == null) {
+                log.warn("Refused to rotate an unverifiable refresh token for user {} while Redis is unavailable", userId);
+                throw new InvalidTokenException("Refresh token cannot be verified right now, please log in again");
+            }
+            if (!stored.equals(oldDigest)) {
+                localStore.delete(userKey, prefix + stored);
+                log.warn("Token reuse detected for user {}", userId);
                 throw new TokenReuseException("Refresh token reuse detected for user: " + userId);
             }
-
-            // Valid rotation: update the stored token
-            redisTemplate.opsForValue().set(key, newToken);
-
-            long ttlMs = jwtConfig.getRefreshExpiration();
-            redisTemplate.expire(key, ttlMs, TimeUnit.MILLISECONDS);
-
-            // Store reverse mapping (token -> userId)
-            redisTemplate.opsForValue().set(tokenType + newToken, userId, ttlMs, TimeUnit.MILLISECONDS);
-
-            // Clean up old token reverse mapping
-            redisTemplate.delete(tokenType + oldToken);
-
-            log.info("Successfully rotated {} token for user {}", tokenType, userId);
-        } catch (TokenReuseException tre) {
-            // Re-throw TokenReuseException as-is
-            throw tre;
-        } catch (Exception e) {
-            log.warn("⚠️  Redis unavailable - Failed to rotate {} token for user {}: {}. Token rotation disabled.", 
-                     tokenType, userId, e.getMessage());
-            // Don't throw - allow token refresh to proceed without rotation
+            localStore.delete(prefix + oldDigest);
+            localStore.set(userKey, newDigest, ttlMs);
+            localStore.set(prefix + newDigest, userId, ttlMs);
         }
     }
 
@@ -113,8 +305,7 @@ public class RedisTokenServiceImpl implements RedisTokenService {
     public boolean validate(String userId, String token, TokenType tokenType) {
         if (userId == null || token == null) return false;
         try {
-            String storedUser = redisTemplate.opsForValue().get(tokenType + token);
-            return userId.equals(storedUser);
+            return userId.equals(getTokenUserId(token, tokenType));
         } catch (Exception e) {
             log.warn("⚠️  Redis unavailable - Cannot validate token: {}", e.getMessage());
             return false; // Fail closed - don't validate if Redis is down
@@ -123,45 +314,75 @@ public class RedisTokenServiceImpl implements RedisTokenService {
 
     @Override
     public void revokeAll(String userId, TokenType tokenType) {
+        String userKey = keyFor(userId, tokenType);
+        String prefix = reversePrefix(tokenType);
+        Runnable revokeInRedis = () -> timed("revokeAll", () -> redisTemplate.execute(REVOKE_ALL, List.of(userKey), prefix));
         try {
-            redisTemplate.delete(keyFor(userId, tokenType));
+            revokeInRedis.run();
+            settled(userKey, prefix);
             log.info("Revoked all {} tokens for user {}", tokenType, userId);
         } catch (Exception e) {
-            log.warn("⚠️  Redis unavailable - Failed to revoke {} tokens for user {}: {}", 
+            log.warn("⚠️  Redis unavailable - Revoking {} tokens for user {} locally until Redis recovers: {}",
                      tokenType, userId, e.getMessage());
+            revokeLocally(userKey, prefix);
+            enqueue(userKey, revokeInRedis);
+        }
+    }
+
+    private void revokeLocally(String userKey, String prefix) {
+        synchronized (localStore) {
+            String stored = localStore.get(userKey);
+            if (stored != null) localStore.delete(prefix + stored);
+            localStore.delete(userKey);
         }
     }
 
     @Override
     public void revoke(String userId, String token, TokenType tokenType) {
+        String userKey = keyFor(userId, tokenType);
+        String prefix = reversePrefix(tokenType);
+        List<String> keys = List.of(userKey, prefix + digest(token), prefix + token);
+        // Multi-key DEL: one round trip
+        Runnable revokeInRedis = () -> timed("revoke", () -> redisTemplate.delete(keys));
+        localStore.delete(keys.toArray(String[]::new));
         try {
-            redisTemplate.delete(keyFor(userId, tokenType));
-            redisTemplate.delete(tokenType + token);
+            revokeInRedis.run();
+            pendingWrites.remove(userKey);
             log.info("Revoked {} token for user {}", tokenType, userId);
         } catch (Exception e) {
-            log.warn("⚠️  Redis unavailable - Failed to revoke {} token for user {}: {}", 
+            log.warn("⚠️  Redis unavailable - Revoking {} token for user {} locally until Redis recovers: {}",
                      tokenType, userId, e.getMessage());
+            enqueue(userKey, revokeInRedis);
         }
     }
 
     @Override
     public String getToken(String token, TokenType tokenType){
-        return redisTemplate.opsForValue().get(tokenType+token);
+        return getTokenUserId(token, tokenType);
     }
 
     @Override
     public String getTokenUserId(String token, TokenType tokenType) {
         if (token == null || tokenType == null) return null;
 
-        // Your reverse mapping key pattern: "<tokenType>:<token>"
-        String key = tokenType + token;
-
-        // This returns userId because you stored userId as the value for this key
-        return redisTemplate.opsForValue().get(key);
+        // Reverse mapping "<tokenType><digest>" holds the userId; the raw-token key is the pre-digest form
+        String prefix = reversePrefix(tokenType);
+        String tokenDigest = digest(token);
+        // Tokens issued while Redis was unreachable are only known locally until they are replayed
+        String local = localStore.get(prefix + tokenDigest);
+        if (local != null) return local;
+        List<String> values;
+        try {
+            values = timed("lookup", () -> redisTemplate.opsForValue()
+                    .multiGet(List.of(prefix + tokenDigest, prefix + token)));
+        } catch (RedisCircuitBreaker.CircuitOpenException e) {
+            return null;
+        }
+        if (values == null) return null;
+        return values.stream().filter(Objects::nonNull).findFirst().orElse(null);
     }
 
 
-
     /**
      * Blacklists an access token for the given duration (in milliseconds).
      */
@@ -169,12 +390,25 @@ public class RedisTokenServiceImpl implements RedisTokenService {
     public void blacklistToken(String token, long durationMs) {
         if (token == null) return;
 
+        String key = BLACKLIST_KEY_PREFIX + digest(token);
+        long expiresAt = System.currentTimeMillis() + durationMs;
         try {
-            String key = BLACKLIST_KEY_PREFIX + token;
-            redisTemplate.opsForValue().set(key, "BLACKLISTED", durationMs, TimeUnit.MILLISECONDS);
+            timed("blacklist", () -> {
+                redisTemplate.opsForValue().set(key, "BLACKLISTED", durationMs, TimeUnit.MILLISECONDS);
+                return null;
+            });
             log.info("Blacklisted token for {} ms", durationMs);
         } catch (Exception e) {
-            log.warn("⚠️  Redis unavailable - Failed to blacklist token: {}", e.getMessage());
+            log.warn("⚠️  Redis unavailable - Blacklisting token locally until Redis recovers: {}", e.getMessage());
+            localStore.blacklist(key, durationMs);
+            enqueue(key, () -> {
+                long remainingMs = expiresAt - System.currentTimeMillis();
+                if (remainingMs <= 0) return;
+                timed("blacklist", () -> {
+                    redisTemplate.opsForValue().set(key, "BLACKLISTED", remainingMs, TimeUnit.MILLISECONDS);
+                    return null;
+                });
+            });
         }
     }
 
@@ -184,9 +418,16 @@ public class RedisTokenServiceImpl implements RedisTokenService {
     @Override
     public boolean isTokenBlacklisted(String token) {
         if (token == null) return false;
+        String key = BLACKLIST_KEY_PREFIX + digest(token);
+        // Covers logouts made during an outage that have not been replayed yet
+        if (localStore.isBlacklisted(key)) return true;
         try {
-            String key = BLACKLIST_KEY_PREFIX + token;
-            return redisTemplate.hasKey(key);
+            // Multi-key EXISTS covers both the digest key and the pre-digest raw key
+            Long count = timed("isBlacklisted", () -> redisTemplate.countExistingKeys(
+                    List.of(key, BLACKLIST_KEY_PREFIX + token)));
+            return count != null && count > 0;
+        } catch (RedisCircuitBreaker.CircuitOpenException e) {
+            return false;
         } catch (Exception e) {
             log.warn("⚠️  Redis unavailable - Cannot check blacklist: {}", e.getMessage());
             return false; // If Redis is down, assume not blacklisted
@@ -0,0 +1,71 @@
+package com.khojdu.backend.security.redis;
+
+import com.khojdu.backend.entity.enums.UserRole;
+import com.khojdu.backend.exception.ServiceUnavailableException;
+import com.khojdu.backend.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Single-use tickets that open the notification stream.
+ * Browser EventSource cannot send an Authorization header, and an access token in the query string ends up in
+ * proxy and access logs. A ticket is issued to an authenticated request, is good for one connection and expires
+ * within seconds, so one read from a log is worthless. Tickets live in Redis so any node can redeem them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StreamTicketStore {
+
+    private static final String KEY_PREFIX = "stream:ticket:";
+    public static final Duration TICKET_TTL = Duration.ofSeconds(30);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final TokenRevocationStore tokenRevocationStore;
+
+    public String issue(UUID userId, String email, UserRole role) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String value = userId + "|" + role.name() + "|" + System.currentTimeMillis() + "|" + email;
+        try {
+            circuitBreaker.run(() -> redisTemplate.opsForValue().set(KEY_PREFIX + ticket, value, TICKET_TTL));
+        } catch (Exception e) {
+            log.warn("Could not issue notification stream ticket for user {}: {}", userId, e.getMessage());
+            throw new ServiceUnavailableException("Notification stream is temporarily unavailable");
+        }
+        return ticket;
+    }
+
+    /**
+     * Consumes the ticket; null when it is unknown, already used, expired or its user was revoked since.
+     */
+    public UserPrincipal redeem(String ticket) {
+        String value;
+        try {
+            value = circuitBreaker.call(() -> redisTemplate.opsForValue().getAndDelete(KEY_PREFIX + ticket));
+        } catch (Exception e) {
+            log.warn("Could not redeem notification stream ticket: {}", e.getMessage());
+            return null;
+        }
+        if (value == null) return null;
+
+        String[] parts = value.split("\\|", 4);
+        UUID userId = UUID.fromString(parts[0]);
+        if (tokenRevocationStore.isRevoked(userId, new Date(Long.parseLong(parts[2])))) {
+            log.warn("Rejected notification stream ticket of revoked user {}", userId);
+            return null;
+        }
+        return UserPrincipal.fromClaims(userId, parts[3], UserRole.valueOf(parts[1]));
+    }
+}
@@ -0,0 +1,116 @@
+package com.khojdu.backend.security.redis;
+
+import com.khojdu.backend.config.JwtConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-user "revoked since" epoch: tokens issued at or before it are rejected.
+ * Lets access tokens be trusted without a database lookup while deactivation, deletion and role changes still take
+ * effect immediately. Epochs live in Redis for the lifetime of a token and are cached locally for a few seconds,
+ * so other nodes pick up a revocation within {@code app.security.revocation.cache-ms}.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    private static final String KEY_PREFIX = "revoked:since:";
+
+    private record CachedEpoch(long revokedSince, long expiresAt) {}
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final JwtConfig jwtConfig;
+    private final long cacheMs;
+    private final int cacheSize;
+    // Lock-free reads on the per-request path; bounded by pruning on insert rather than by access order
+    private final Map<UUID, CachedEpoch> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    public TokenRevocationStore(StringRedisTemplate redisTemplate, RedisCircuitBreaker circuitBreaker, JwtConfig jwtConfig,
+                                @Value("${app.security.revocation.cache-ms:5000}") long cacheMs,
+                                @Value("${app.security.revocation.cache-size:100000}") int cacheSize) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.jwtConfig = jwtConfig;
+        this.cacheMs = cacheMs;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Rejects every token issued to the user up to now.
+     */
+    public void revokeAll(UUID userId) {
+        long now = System.currentTimeMillis();
+        // Nothing issued before the epoch outlives the longest token lifetime, so neither does the key
+        long ttlMs = Math.max(jwtConfig.getExpiration(), jwtConfig.getRefreshExpiration());
+        // Authoritative on this node for the whole token lifetime, even if Redis is unreachable
+        cache(userId, new CachedEpoch(now, now + ttlMs));
+        try {
+            circuitBreaker.run(() -> redisTemplate.opsForValue()
+                    .set(KEY_PREFIX + userId, String.valueOf(now), ttlMs, TimeUnit.MILLISECONDS));
+            log.info("Revoked tokens issued before {} for user {}", now, userId);
+        } catch (Exception e) {
+            log.warn("⚠️  Redis unavailable - Token revocation for user {} only applies on this node: {}", userId, e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(UUID userId, Date issuedAt) {
+        long revokedSince = revokedSince(userId);
+        // iat has second precision, so a token issued in the same second as the revocation is rejected too
+        return revokedSince > 0 && (issuedAt == null || issuedAt.getTime() <= revokedSince);
+    }
+
+    private long revokedSince(UUID userId) {
+        long now = System.currentTimeMillis();
+        CachedEpoch cached = cache.get(userId);
+        if (cached != null && cached.expiresAt() > now) return cached.revokedSince();
+        long revokedSince;
+        try {
+            String value = circuitBreaker.call(() -> redisTemplate.opsForValue().get(KEY_PREFIX + userId));
+            revokedSince = value != null ? Long.parseLong(value) : 0;
+        } catch (Exception e) {
+            log.debug("Revocation epoch unavailable for user {}: {}", userId, e.getMessage());
+            return 0; // Same as the blacklist: if Redis is down, assume not revoked
+        }
+        cache(userId, new CachedEpoch(revokedSince, now + cacheMs));
+        return revokedSince;
+    }
+
+    // A read that raced a revocation must not replace the newer epoch with the older one it fetched
+    private void cache(UUID userId, CachedEpoch epoch) {
+        long now = System.currentTimeMillis();
+        cache.merge(userId, epoch, (existing, fresh) ->
+                existing.revokedSince() > fresh.revokedSince() && existing.expiresAt() > now ? existing : fresh);
+        if (cache.size() > cacheSize && pruning.compareAndSet(false, true)) {
+            try {
+                prune(now);
+            } finally {
+                pruning.set(false);
+            }
+        }
+    }
+
+    // Expired entries go first, then plain read caches, and only then revocations made on this node
+    private void prune(long now) {
+        cache.values().removeIf(epoch -> epoch.expiresAt() <= now);
+        if (cache.size() > cacheSize) {
+            cache.values().removeIf(epoch -> epoch.expiresAt() <= now + cacheMs);
+        }
+        Iterator<UUID> keys = cache.keySet().iterator();
+        while (cache.size() > cacheSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
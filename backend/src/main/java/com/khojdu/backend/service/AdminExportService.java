@@ -0,0 +1,13 @@
+package com.khojdu.backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface AdminExportService {
+
+    enum Dataset { PROPERTIES, USERS, COMPLAINTS, REVIEWS }
+
+    enum Format { NDJSON, CSV }
+
+    // Reserves an export slot up front; the slot is released when the returned body finishes streaming
+    StreamingResponseBody export(Dataset dataset, Format format, boolean gzip);
+}
@@ -0,0 +1,11 @@
+package com.khojdu.backend.service;
+
+import com.khojdu.backend.dto.admin.BulkModerationJobResponse;
+import com.khojdu.backend.dto.admin.BulkModerationRequest;
+
+import java.util.UUID;
+
+public interface BulkModerationService {
+    BulkModerationJobResponse startBulkModeration(BulkModerationRequest request);
+    BulkModerationJobResponse getJob(UUID jobId);
+}
@@ -0,0 +1,11 @@
+package com.khojdu.backend.service;
+
+import com.khojdu.backend.dto.notification.BulkNotificationJobResponse;
+import com.khojdu.backend.dto.notification.BulkNotificationRequest;
+
+import java.util.UUID;
+
+public interface BulkNotificationService {
+    BulkNotificationJobResponse startBulkNotification(BulkNotificationRequest request);
+    BulkNotificationJobResponse getJob(UUID jobId);
+}
@@ -0,0 +1,9 @@
+package com.khojdu.backend.service;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CoOccurrenceService {
+    List<UUID> getAlsoViewedPropertyIds(UUID propertyId);
+    int rebuildAll();
+}
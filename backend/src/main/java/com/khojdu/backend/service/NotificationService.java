@@ -1,7 +1,10 @@
 package com.khojdu.backend.service;
 
 import com.khojdu.backend.dto.common.PagedResponse;
+import com.khojdu.backend.dto.notification.NotificationCreateRequest;
 import com.khojdu.backend.dto.notification.NotificationResponse;
+import com.khojdu.backend.dto.notification.StreamTicketResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
@@ -11,5 +14,7 @@ public interface NotificationService {
     void markAsRead(UUID notificationId, String userEmail);
     void markAllAsRead(String userEmail);
     void deleteNotification(UUID notificationId, String userEmail);
+    NotificationResponse createNotification(NotificationCreateRequest request);
+    SseEmitter openStream(String userEmail);
+    StreamTicketResponse issueStreamTicket(String userEmail);
 }
-
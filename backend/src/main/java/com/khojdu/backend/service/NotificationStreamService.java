@@ -0,0 +1,14 @@
+package com.khojdu.backend.service;
+
+import com.khojdu.backend.dto.notification.NotificationResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface NotificationStreamService {
+    SseEmitter subscribe(UUID userId, long unreadCount);
+    void publishNotification(UUID userId, NotificationResponse notification);
+    void publishUnreadDelta(UUID userId, int delta);
+    void publishUnreadCount(UUID userId, long count);
+    int getConnectionCount();
+}
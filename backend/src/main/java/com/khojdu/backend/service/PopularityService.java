@@ -0,0 +1,11 @@
+package com.khojdu.backend.service;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface PopularityService {
+    void recordView(UUID propertyId);
+    void recordWishlist(UUID propertyId, boolean added);
+    void recordInquiry(UUID propertyId);
+    List<UUID> getTrendingPropertyIds(String city, int limit);
+}
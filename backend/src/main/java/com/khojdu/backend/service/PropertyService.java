@@ -20,6 +20,10 @@ public interface PropertyService {
 
     PropertyResponse getPublicPropertyById(UUID propertyId, String userEmail);
 
+    String getPublicPropertyETag(UUID propertyId);
+
+    void recordPublicView(UUID propertyId, String userEmail);
+
     PagedResponse<PropertyListResponse> searchProperties(PropertySearchRequest request);
 
     PagedResponse<PropertyListResponse> getLandlordProperties(String landlordEmail, int page, int size, PropertyStatus status);
@@ -28,6 +32,10 @@ public interface PropertyService {
 
     PagedResponse<PropertyListResponse> getRecentProperties(int page, int size);
 
+    String getFeaturedPropertiesETag(int page, int size);
+
+    String getRecentPropertiesETag(int page, int size);
+
     List<String> uploadPropertyImages(UUID propertyId, List<MultipartFile> images, String landlordEmail);
 
     void deletePropertyImage(UUID propertyId, UUID imageId, String landlordEmail);
@@ -41,4 +49,8 @@ public interface PropertyService {
     void markAsFeatured(UUID propertyId, boolean featured);
 
     List<PropertyListResponse> getSimilarProperties(UUID propertyId, int limit);
+
+    List<PropertyListResponse> getTrendingProperties(String city, int limit);
+
+    List<PropertyListResponse> getAlsoViewedProperties(UUID propertyId, int limit);
 }
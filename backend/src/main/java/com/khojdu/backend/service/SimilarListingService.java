@@ -0,0 +1,15 @@
+package com.khojdu.backend.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SimilarListingService {
+    // Empty when no list has been computed for the property yet
+    Optional<List<UUID>> getSimilarPropertyIds(UUID propertyId);
+    void refreshAfterCommit(UUID propertyId);
+    // Recomputes the property's list on the calling thread
+    void refresh(UUID propertyId);
+    void evictAfterCommit(UUID propertyId);
+    int rebuildAll();
+}
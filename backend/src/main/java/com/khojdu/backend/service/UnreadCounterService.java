@@ -0,0 +1,18 @@
+package com.khojdu.backend.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface UnreadCounterService {
+    long getUnreadNotifications(UUID userId, Supplier<Long> loader);
+    void adjustUnreadNotifications(UUID userId, long delta);
+    void resetUnreadNotifications(UUID userId);
+    void evictUnreadNotifications(UUID userId);
+
+    Map<UUID, Long> getUnreadMessages(UUID userId, Collection<UUID> inquiryIds, Supplier<Map<UUID, Long>> loader);
+    long getTotalUnreadMessages(UUID userId, Supplier<Map<UUID, Long>> loader);
+    void adjustUnreadMessages(UUID userId, UUID inquiryId, long delta);
+    void resetUnreadMessages(UUID userId, UUID inquiryId);
+}
@@ -0,0 +1,16 @@
+package com.khojdu.backend.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface WishlistCacheService {
+    Set<UUID> getPropertyIds(UUID userId, Supplier<Collection<UUID>> loader);
+    Map<UUID, Boolean> contains(UUID userId, Collection<UUID> propertyIds, Supplier<Collection<UUID>> loader);
+    long count(UUID userId, Supplier<Collection<UUID>> loader);
+    void added(UUID userId, UUID propertyId);
+    void removed(UUID userId, UUID propertyId);
+    void evictAll(Collection<UUID> userIds);
+}
@@ -3,6 +3,8 @@ package com.khojdu.backend.service;
 import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.property.PropertyListResponse;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface WishlistService {
@@ -10,5 +12,6 @@ public interface WishlistService {
     void removeFromWishlist(String userEmail, UUID propertyId);
     PagedResponse<PropertyListResponse> getUserWishlist(String userEmail, int page, int size);
     boolean isInWishlist(String userEmail, UUID propertyId);
+    Map<UUID, Boolean> checkWishlist(String userEmail, List<UUID> propertyIds);
 }
 
@@ -0,0 +1,200 @@
+package com.khojdu.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khojdu.backend.config.ExportConfig;
+import com.khojdu.backend.exception.ServiceUnavailableException;
+import com.khojdu.backend.service.AdminExportService;
+import com.khojdu.backend.util.ExportRowWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams whole tables through a server-side cursor straight into the response: rows are read fetch-size at a time
+ * and written as they arrive, so memory use does not depend on the table size. Rows come in physical order
+ * (no ORDER BY) to avoid sorting millions of rows before the first byte goes out.
+ */
+@Slf4j
+@Service
+public class AdminExportServiceImpl implements AdminExportService {
+
+    // Column aliases become NDJSON keys and CSV headers; password hashes and birth dates are never exported
+    private static final Map<Dataset, String> QUERIES = Map.of(
+            Dataset.PROPERTIES,
+            "SELECT p.id, p.title, p.property_type AS \"propertyType\", p.status, " +
+            "p.landlord_id AS \"landlordId\", u.email AS \"landlordEmail\", " +
+            "p.address, p.city, p.district, p.ward_number AS \"wardNumber\", p.latitude, p.longitude, " +
+            "p.monthly_rent AS \"monthlyRent\", p.security_deposit AS \"securityDeposit\", " +
+            "p.bedrooms, p.bathrooms, p.total_area AS \"totalArea\", " +
+            "p.is_furnished AS \"isFurnished\", p.parking_available AS \"parkingAvailable\", " +
+            "p.is_available AS \"isAvailable\", p.is_featured AS \"isFeatured\", p.version, " +
+            "p.created_at AS \"createdAt\", p.updated_at AS \"updatedAt\" " +
+            "FROM properties p JOIN users u ON u.id = p.landlord_id",
+            Dataset.USERS,
+            "SELECT u.id, u.email, u.full_name AS \"fullName\", u.phone, u.role, " +
+            "u.is_verified AS \"isVerified\", u.is_active AS \"isActive\", u.occupation, " +
+            "u.created_at AS \"createdAt\", u.updated_at AS \"updatedAt\" " +
+            "FROM users u",
+            Dataset.COMPLAINTS,
+            "SELECT c.id, c.complainant_id AS \"complainantId\", u.email AS \"complainantEmail\", " +
+            "c.property_id AS \"propertyId\", c.landlord_id AS \"landlordId\", " +
+            "c.complaint_type AS \"complaintType\", c.subject, c.description, c.status, c.priority, " +
+            "c.assigned_to AS \"assignedTo\", c.resolution_notes AS \"resolutionNotes\", " +
+            "c.created_at AS \"createdAt\", c.resolved_at AS \"resolvedAt\" " +
+            "FROM complaints c JOIN users u ON u.id = c.complainant_id",
+            Dataset.REVIEWS,
+            "SELECT r.id, r.property_id AS \"propertyId\", r.tenant_id AS \"tenantId\", r.landlord_id AS \"landlordId\", " +
+            "r.overall_rating AS \"overallRating\", r.cleanliness_rating AS \"cleanlinessRating\", " +
+            "r.location_rating AS \"locationRating\", r.value_rating AS \"valueRating\", " +
+            "r.landlord_rating AS \"landlordRating\", r.review_text AS \"reviewText\", r.pros, r.cons, " +
+            "r.is_verified AS \"isVerified\", r.stay_duration_months AS \"stayDurationMonths\", " +
+            "r.created_at AS \"createdAt\", r.updated_at AS \"updatedAt\" " +
+            "FROM reviews r"
+    );
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final Semaphore slots;
+
+    public AdminExportServiceImpl(ExportConfig config,
+                                  DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(config.getFetchSize());
+
+        // The PostgreSQL driver only streams with a fetch size when autocommit is off
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+
+        this.slots = new Semaphore(config.getMaxConcurrent());
+    }
+
+    @Override
+    public StreamingResponseBody export(Dataset dataset, Format format, boolean gzip) {
+        if (!slots.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports running, please retry later");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) slots.release();
+        };
+        releaseOnAsyncCompletion(release);
+        return out -> {
+            try {
+                stream(dataset, format, gzip, out);
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    // The body may never run: the async executor can reject it, or the request can time out or the client leave
+    // before it starts. The async request completes in every case, so the slot is also handed back from there.
+    private static void releaseOnAsyncCompletion(Runnable release) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) return;
+        WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(release,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        release.run();
+                    }
+                });
+    }
+
+    private void stream(Dataset dataset, Format format, boolean gzip, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        GZIPOutputStream gzipOut = gzip ? fastGzip(out) : null;
+        OutputStream target = gzipOut != null ? gzipOut : out;
+
+        ExportRowWriter writer = format == Format.CSV
+                ? ExportRowWriter.csv(target)
+                : ExportRowWriter.ndjson(target, objectMapper.getFactory());
+        RowExporter exporter = new RowExporter(writer);
+        try {
+            readTransaction.executeWithoutResult(status -> cursorJdbcTemplate.query(QUERIES.get(dataset), exporter));
+            writer.close();
+            if (gzipOut != null) gzipOut.finish();
+        } catch (UncheckedIOException e) {
+            // Client went away mid-download; the cursor and its connection are already released by the rollback
+            log.info("Export of {} aborted after {} rows: {}", dataset, exporter.rows, e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        long millis = Math.max(1, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        log.info("Exported {} {} rows as {}{} in {} ms ({} rows/s)", exporter.rows, dataset, format,
+                gzip ? " (gzip)" : "", millis, exporter.rows * 1000 / millis);
+    }
+
+    // Level 1 deflate: about twice the rows/s of the default level for ~20% larger output; CPU, not the link, is
+    // what limits a gzipped export
+    private static GZIPOutputStream fastGzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, 64 * 1024) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    // Header first, even for an empty table, then one write per row into a reused value array
+    private static final class RowExporter implements ResultSetExtractor<Void> {
+        private final ExportRowWriter writer;
+        private long rows;
+
+        RowExporter(ExportRowWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public Void extractData(ResultSet rs) throws SQLException {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                String[] columns = new String[meta.getColumnCount()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = meta.getColumnLabel(i + 1);
+                }
+                writer.start(columns);
+
+                Object[] values = new Object[columns.length];
+                while (rs.next()) {
+                    for (int i = 0; i < values.length; i++) {
+                        Object value = rs.getObject(i + 1);
+                        values[i] = value instanceof Timestamp ts ? ts.toLocalDateTime() : value;
+                    }
+                    writer.write(values);
+                    rows++;
+                }
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
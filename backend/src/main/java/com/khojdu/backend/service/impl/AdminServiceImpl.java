@@ -11,9 +11,13 @@ import com.khojdu.backend.entity.enums.VerificationStatus;
 import com.khojdu.backend.exception.ConflictException;
 import com.khojdu.backend.exception.ResourceNotFoundException;
 import com.khojdu.backend.repository.*;
+import com.khojdu.backend.security.redis.TokenRevocationStore;
 import com.khojdu.backend.service.AdminService;
 import com.khojdu.backend.service.EmailService;
+import com.khojdu.backend.service.SimilarListingService;
+import com.khojdu.backend.service.WishlistCacheService;
 import com.khojdu.backend.util.PaginationUtil;
+import com.khojdu.backend.util.TransactionUtil;
 import com.khojdu.backend.mapper.PropertyMapper;
 import com.khojdu.backend.mapper.UserMapper;
 import com.khojdu.backend.dto.property.PropertyListResponse;
@@ -30,6 +34,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -44,9 +49,13 @@ public class AdminServiceImpl implements AdminService {
     private final ComplaintRepository complaintRepository;
     private final InquiryRepository inquiryRepository;
     private final LandlordVerificationRepository landlordVerificationRepository;
+    private final WishlistRepository wishlistRepository;
     private final EmailService emailService;
+    private final SimilarListingService similarListingService;
+    private final WishlistCacheService wishlistCacheService;
     private final PropertyMapper propertyMapper;
     private final UserMapper userMapper;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Override
     @Transactional(readOnly = true)
@@ -91,8 +100,9 @@ public class AdminServiceImpl implements AdminService {
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
 
-        property.setStatus(PropertyStatus.APPROVED);
-        propertyRepository.save(property);
+        // Targeted update so a landlord edit racing the moderation is neither lost nor overwritten
+        propertyRepository.updateStatus(propertyId, PropertyStatus.APPROVED);
+        similarListingService.refreshAfterCommit(propertyId);
 
         // Send email to landlord
         emailService.sendPropertyApprovedEmail(
@@ -112,8 +122,8 @@ public class AdminServiceImpl implements AdminService {
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
 
-        property.setStatus(PropertyStatus.REJECTED);
-        propertyRepository.save(property);
+        propertyRepository.updateStatus(propertyId, PropertyStatus.REJECTED);
+        similarListingService.evictAfterCommit(propertyId);
 
         // TODO: Send rejection email with reason
 
@@ -125,11 +135,9 @@ public class AdminServiceImpl implements AdminService {
     public void featureProperty(UUID propertyId, boolean featured) {
         log.info("Setting property {} as featured: {}", propertyId, featured);
 
-        Property property = propertyRepository.findById(propertyId)
-                .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
-
-        property.setIsFeatured(featured);
-        propertyRepository.save(property);
+        if (propertyRepository.updateFeatured(propertyId, featured) == 0) {
+            throw new ResourceNotFoundException("Property not found");
+        }
 
         log.info("Property featured status updated: {}", propertyId);
     }
@@ -158,6 +166,7 @@ public class AdminServiceImpl implements AdminService {
 
         user.setIsActive(false);
         userRepository.save(user);
+        TransactionUtil.afterCommit(() -> tokenRevocationStore.revokeAll(userId));
 
         log.info("User deactivated successfully: {}", userId);
     }
@@ -181,6 +190,8 @@ public class AdminServiceImpl implements AdminService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         user.setRole(role);
         userRepository.save(user);
+        // Access tokens carry the role claim, so the old ones must stop working
+        TransactionUtil.afterCommit(() -> tokenRevocationStore.revokeAll(userId));
     }
 
     @Override
@@ -202,6 +213,7 @@ public class AdminServiceImpl implements AdminService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         try {
             userRepository.delete(user);
+            TransactionUtil.afterCommit(() -> tokenRevocationStore.revokeAll(userId));
             log.info("User deleted successfully: {}", userId);
         } catch (DataIntegrityViolationException ex) {
             log.warn("User delete blocked due to existing references: {}", userId, ex);
@@ -216,7 +228,11 @@ public class AdminServiceImpl implements AdminService {
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
         try {
+            // Wishlist rows go with the property through ON DELETE CASCADE, which the cached id sets never hear about
+            List<UUID> wishlistedBy = wishlistRepository.findUserIdsByPropertyId(propertyId);
             propertyRepository.delete(property);
+            similarListingService.evictAfterCommit(propertyId);
+            TransactionUtil.afterCommit(() -> wishlistCacheService.evictAll(wishlistedBy));
             log.info("Property deleted successfully: {}", propertyId);
         } catch (DataIntegrityViolationException ex) {
             log.warn("Property delete blocked due to existing references: {}", propertyId, ex);
@@ -16,6 +16,8 @@ import com.khojdu.backend.security.redis.RedisTokenService;
 import com.khojdu.backend.service.AuthService;
 import com.khojdu.backend.service.EmailService;
 import com.khojdu.backend.util.PasswordUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -131,6 +133,9 @@ public class AuthServiceImpl implements AuthService {
         } catch (ForbiddenException fe) {
             // Bubble up explicit inactive/unverified messages
             throw fe;
+        } catch (ServiceUnavailableException sue) {
+            // Password hashing pool is saturated: tell the client to retry rather than reporting bad credentials
+            throw sue;
         } catch (AuthenticationException ae) {
             // Expected authentication failures (bad credentials, locked/disabled user) shouldn't dump a full stack trace
             if (ae instanceof org.springframework.security.authentication.DisabledException
@@ -270,23 +275,26 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public void logout(String accessToken) {
+        Claims claims;
         try{
-            if (!jwtTokenProvider.validateToken(accessToken)) {
-                throw new BadRequestException("Invalid access token");
-            }if(redisTokenService.isTokenBlacklisted(accessToken)){
+            claims = jwtTokenProvider.parseToken(accessToken);
+            if(redisTokenService.isTokenBlacklisted(accessToken)){
                 throw new BadRequestException("Access token already used and blacklisted");
             }
         } catch (TokenExpiredException tee) {
-            // Even if token is expired, we can still extract userId for blacklisting
+            // Even if token is expired, we can still extract userId from the verified claims
             log.info("Access token already expired during logout");
+            claims = ((ExpiredJwtException) tee.getCause()).getClaims();
         }
-        String userId = jwtTokenProvider.getUserIdFromToken(accessToken);
+        String userId = claims.getSubject();
         log.info("User logging out: {}", userId);
-        long accessTtlMs = jwtTokenProvider.getTokenExpiryDuration(accessToken);
+        long accessTtlMs = jwtTokenProvider.getTokenExpiryDuration(claims);
 
         // Remove all refresh tokens for this user
         redisTokenService.revokeAll(userId, TokenType.REFRESH);
-        redisTokenService.blacklistToken(accessToken, accessTtlMs);
+        if (accessTtlMs > 0) {
+            redisTokenService.blacklistToken(accessToken, accessTtlMs);
+        }
 
         // In a real application, you might also maintain a blacklist of access tokens
         log.info("User logged out successfully: {}", userId);
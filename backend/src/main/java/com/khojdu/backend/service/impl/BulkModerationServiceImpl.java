@@ -0,0 +1,377 @@
+package com.khojdu.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khojdu.backend.dto.admin.BulkModerationAction;
+import com.khojdu.backend.dto.admin.BulkModerationJobResponse;
+import com.khojdu.backend.dto.admin.BulkModerationRequest;
+import com.khojdu.backend.entity.enums.NotificationType;
+import com.khojdu.backend.exception.BadRequestException;
+import com.khojdu.backend.exception.ResourceNotFoundException;
+import com.khojdu.backend.exception.ServiceUnavailableException;
+import com.khojdu.backend.security.redis.TokenRevocationStore;
+import com.khojdu.backend.service.BulkModerationService;
+import com.khojdu.backend.service.EmailService;
+import com.khojdu.backend.service.SimilarListingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a moderation action to many properties or users as set-based UPDATEs of at most batch-size rows, each
+ * chunk committed in its own transaction so locks stay short and progress survives a failure part way.
+ * Every UPDATE is guarded by "not already in the target state" and returns the rows it changed: that makes
+ * filter-selected jobs terminate (changed rows drop out of the filter), and side effects fire only for real changes.
+ * Landlord notifications are inserted in the chunk transaction; emails, similar-listing upkeep and token revocation
+ * are queued after it commits. Job progress is kept in Redis so any node can report it.
+ */
+@Slf4j
+@Service
+public class BulkModerationServiceImpl implements BulkModerationService {
+
+    private static final String JOB_KEY_PREFIX = "bulk:moderation:job:";
+    private static final long JOB_TTL_HOURS = 24;
+
+    private static final String NOTIFICATION_SQL =
+            "INSERT INTO notifications (id, user_id, type, title, message, data, is_read, is_sent, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), false, false, ?)";
+
+    private static final String PROPERTY_RETURNING = " RETURNING x.id, x.title, x.landlord_id, u.email, u.full_name";
+    private static final String USER_RETURNING = " RETURNING x.id, NULL, NULL, NULL, NULL";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final TaskExecutor taskExecutor;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final EmailService emailService;
+    private final SimilarListingService similarListingService;
+    private final TokenRevocationStore tokenRevocationStore;
+
+    // Jobs running on this node, and finished jobs whose final state could not be stored in Redis
+    private final Map<UUID, BulkModerationJobResponse> localJobs = new ConcurrentHashMap<>();
+
+    @Value("${app.moderation.bulk.batch-size:500}")
+    private int batchSize;
+
+    // Above this many approvals one full similar-listings rebuild is cheaper than refreshing each property
+    @Value("${app.moderation.bulk.similar-rebuild-threshold:200}")
+    private int similarRebuildThreshold;
+
+    public BulkModerationServiceImpl(NamedParameterJdbcTemplate namedJdbcTemplate,
+                                     JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                     StringRedisTemplate redisTemplate,
+                                     ObjectMapper objectMapper,
+                                     EmailService emailService,
+                                     SimilarListingService similarListingService,
+                                     TokenRevocationStore tokenRevocationStore) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskExecutor = taskExecutor;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.emailService = emailService;
+        this.similarListingService = similarListingService;
+        this.tokenRevocationStore = tokenRevocationStore;
+    }
+
+    @Override
+    public BulkModerationJobResponse startBulkModeration(BulkModerationRequest request) {
+        if (isEmpty(request.getIds()) && filters(request, "q").isEmpty()) {
+            throw new BadRequestException("Either ids or at least one filter for " + request.getAction() + " is required");
+        }
+
+        BulkModerationJobResponse job = new BulkModerationJobResponse(
+                UUID.randomUUID(), request.getAction(), "QUEUED", 0, 0, null, null, null);
+        publish(job);
+        BulkModerationJobResponse queued = copyOf(job);
+
+        try {
+            taskExecutor.execute(() -> run(job, request));
+        } catch (TaskRejectedException e) {
+            job.setStatus("FAILED");
+            job.setError("Background executor is saturated");
+            job.setFinishedAt(LocalDateTime.now());
+            finish(job);
+            log.warn("Rejected bulk moderation job {} ({}): executor saturated", job.getJobId(), request.getAction());
+            throw new ServiceUnavailableException("Too many background jobs running, please retry later");
+        }
+        log.info("Queued bulk moderation job {} ({}{})", job.getJobId(), request.getAction(),
+                request.getReason() != null ? ", reason: " + request.getReason() : "");
+        return queued;
+    }
+
+    @Override
+    public BulkModerationJobResponse getJob(UUID jobId) {
+        BulkModerationJobResponse local = localJobs.get(jobId);
+        if (local != null) return local;
+
+        try {
+            String json = redisTemplate.opsForValue().get(JOB_KEY_PREFIX + jobId);
+            if (json != null) return objectMapper.readValue(json, BulkModerationJobResponse.class);
+        } catch (Exception e) {
+            log.warn("Could not read bulk moderation job {} from Redis: {}", jobId, e.getMessage());
+        }
+        throw new ResourceNotFoundException("Bulk moderation job not found");
+    }
+
+    private void run(BulkModerationJobResponse job, BulkModerationRequest request) {
+        job.setStatus("RUNNING");
+        job.setStartedAt(LocalDateTime.now());
+        publish(job);
+
+        BulkModerationAction action = request.getAction();
+        // Small approvals refresh similar listings per property; large ones rebuild once at the end
+        boolean refreshEach;
+        try {
+            if (!isEmpty(request.getIds())) {
+                List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+                job.setTotal(ids.size());
+                publish(job);
+                refreshEach = ids.size() <= similarRebuildThreshold;
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    MapSqlParameterSource params = new MapSqlParameterSource(
+                            "ids", ids.subList(from, Math.min(from + batchSize, ids.size())));
+                    applyChunk(job, action, "x.id IN (:ids)", params, refreshEach);
+                }
+            } else {
+                MapSqlParameterSource params = filterParams(request).addValue("limit", batchSize);
+                String where = String.join(" AND ", whereClauses(action, request, "q"));
+                Long total = namedJdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM " + table(action) + " q WHERE " + where, params, Long.class);
+                job.setTotal(total != null ? total : 0);
+                publish(job);
+                refreshEach = job.getTotal() <= similarRebuildThreshold;
+
+                // Changed rows no longer match the guard, so each pass picks up the next chunk until none are left
+                String selector = "x.id IN (SELECT q.id FROM " + table(action) + " q WHERE " + where + " LIMIT :limit)";
+                int changed;
+                do {
+                    changed = applyChunk(job, action, selector, params, refreshEach);
+                } while (changed > 0);
+            }
+
+            if (action == BulkModerationAction.APPROVE_PROPERTIES && !refreshEach && job.getUpdated() > 0) {
+                runInBackground(similarListingService::rebuildAll);
+            }
+            job.setStatus("COMPLETED");
+            log.info("Bulk moderation job {} completed: {} of {} rows changed ({})",
+                    job.getJobId(), job.getUpdated(), job.getTotal(), action);
+        } catch (Exception e) {
+            job.setStatus("FAILED");
+            job.setError(e.getMessage());
+            log.error("Bulk moderation job {} failed after {} rows ({})", job.getJobId(), job.getUpdated(), action, e);
+        }
+
+        job.setFinishedAt(LocalDateTime.now());
+        finish(job);
+    }
+
+    private int applyChunk(BulkModerationJobResponse job, BulkModerationAction action, String selector,
+                           MapSqlParameterSource params, boolean refreshEach) {
+        String sql = updateSql(action, selector);
+        List<Changed> changed = chunkTransaction.execute(status -> {
+            List<Changed> rows = namedJdbcTemplate.query(sql, params, (rs, rowNum) -> new Changed(
+                    rs.getObject(1, UUID.class), rs.getString(2), rs.getObject(3, UUID.class),
+                    rs.getString(4), rs.getString(5)));
+            if (action == BulkModerationAction.APPROVE_PROPERTIES && !rows.isEmpty()) {
+                insertApprovalNotifications(rows);
+            }
+            return rows;
+        });
+        if (changed == null || changed.isEmpty()) return 0;
+
+        // Counted before any side effect: the rows are committed whatever happens to the emails
+        job.setUpdated(job.getUpdated() + changed.size());
+        publish(job);
+        try {
+            afterChunk(action, changed, refreshEach);
+        } catch (RuntimeException e) {
+            log.warn("Side effects for {} committed rows of bulk moderation job {} failed: {}",
+                    changed.size(), job.getJobId(), e.getMessage());
+        }
+        return changed.size();
+    }
+
+    // Runs after the chunk committed, so nothing here is sent for rows that were rolled back. A chunk's emails and
+    // similar-listing refreshes go out as one task rather than one per row, so a chunk cannot flood the shared executor.
+    private void afterChunk(BulkModerationAction action, List<Changed> changed, boolean refreshEach) {
+        switch (action) {
+            case APPROVE_PROPERTIES -> runInBackground(() -> {
+                for (Changed row : changed) {
+                    if (refreshEach) similarListingService.refresh(row.id());
+                    try {
+                        emailService.sendPropertyApprovedEmail(row.email(), row.fullName(), row.title());
+                    } catch (Exception e) {
+                        log.warn("Could not send approval email for property {}: {}", row.id(), e.getMessage());
+                    }
+                }
+            });
+            case REJECT_PROPERTIES -> changed.forEach(row -> similarListingService.evictAfterCommit(row.id()));
+            case DEACTIVATE_USERS -> changed.forEach(row -> tokenRevocationStore.revokeAll(row.id()));
+            default -> {
+            }
+        }
+    }
+
+    // Caller-runs when the shared executor is saturated: the job slows down instead of dropping work for committed rows
+    private void runInBackground(Runnable task) {
+        try {
+            taskExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            task.run();
+        }
+    }
+
+    private void insertApprovalNotifications(List<Changed> rows) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(NOTIFICATION_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, row.landlordId());
+            ps.setString(3, NotificationType.PROPERTY_APPROVED.name());
+            ps.setString(4, "Property approved");
+            ps.setString(5, "Your property \"" + row.title() + "\" has been approved and is now visible to tenants.");
+            ps.setString(6, propertyData(row.id()));
+            ps.setTimestamp(7, createdAt);
+        });
+    }
+
+    private String propertyData(UUID propertyId) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("propertyId", propertyId.toString()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String updateSql(BulkModerationAction action, String selector) {
+        String guard = guard(action, "x");
+        return switch (action) {
+            case APPROVE_PROPERTIES, REJECT_PROPERTIES, FEATURE_PROPERTIES, UNFEATURE_PROPERTIES ->
+                    "UPDATE properties x SET " + assignment(action) +
+                    ", version = x.version + 1, updated_at = CURRENT_TIMESTAMP FROM users u " +
+                    "WHERE u.id = x.landlord_id AND " + selector + " AND " + guard + PROPERTY_RETURNING;
+            case ACTIVATE_USERS, DEACTIVATE_USERS ->
+                    "UPDATE users x SET " + assignment(action) + ", updated_at = CURRENT_TIMESTAMP " +
+                    "WHERE " + selector + " AND " + guard + USER_RETURNING;
+        };
+    }
+
+    private static String table(BulkModerationAction action) {
+        return action.targetsUsers() ? "users" : "properties";
+    }
+
+    private static String assignment(BulkModerationAction action) {
+        return switch (action) {
+            case APPROVE_PROPERTIES -> "status = 'APPROVED'";
+            case REJECT_PROPERTIES -> "status = 'REJECTED'";
+            case FEATURE_PROPERTIES -> "is_featured = true";
+            case UNFEATURE_PROPERTIES -> "is_featured = false";
+            case ACTIVATE_USERS -> "is_active = true";
+            case DEACTIVATE_USERS -> "is_active = false";
+        };
+    }
+
+    // Rows already in the target state are skipped; admins are never deactivated in bulk
+    private static String guard(BulkModerationAction action, String alias) {
+        return switch (action) {
+            case APPROVE_PROPERTIES -> alias + ".status IS DISTINCT FROM 'APPROVED'";
+            case REJECT_PROPERTIES -> alias + ".status IS DISTINCT FROM 'REJECTED'";
+            case FEATURE_PROPERTIES -> alias + ".is_featured IS DISTINCT FROM true";
+            case UNFEATURE_PROPERTIES -> alias + ".is_featured IS DISTINCT FROM false";
+            case ACTIVATE_USERS -> alias + ".is_active IS DISTINCT FROM true";
+            case DEACTIVATE_USERS -> alias + ".is_active IS DISTINCT FROM false AND " + alias + ".role <> 'ADMIN'";
+        };
+    }
+
+    private static List<String> whereClauses(BulkModerationAction action, BulkModerationRequest request, String alias) {
+        List<String> clauses = new ArrayList<>(filters(request, alias));
+        clauses.add(guard(action, alias));
+        return clauses;
+    }
+
+    private static List<String> filters(BulkModerationRequest request, String alias) {
+        List<String> filters = new ArrayList<>();
+        if (request.getAction().targetsUsers()) {
+            if (request.getRole() != null) filters.add(alias + ".role = :role");
+            if (request.getVerified() != null) filters.add(alias + ".is_verified = :verified");
+        } else {
+            if (request.getStatus() != null) filters.add(alias + ".status = :status");
+            if (request.getCity() != null && !request.getCity().isBlank()) filters.add("LOWER(" + alias + ".city) = :city");
+            if (request.getLandlordId() != null) filters.add(alias + ".landlord_id = :landlordId");
+        }
+        if (request.getCreatedBefore() != null) filters.add(alias + ".created_at < :createdBefore");
+        return filters;
+    }
+
+    private static MapSqlParameterSource filterParams(BulkModerationRequest request) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (request.getRole() != null) params.addValue("role", request.getRole().name());
+        if (request.getVerified() != null) params.addValue("verified", request.getVerified());
+        if (request.getStatus() != null) params.addValue("status", request.getStatus().name());
+        if (request.getCity() != null) params.addValue("city", request.getCity().trim().toLowerCase());
+        if (request.getLandlordId() != null) params.addValue("landlordId", request.getLandlordId());
+        if (request.getCreatedBefore() != null) params.addValue("createdBefore", Timestamp.valueOf(request.getCreatedBefore()));
+        return params;
+    }
+
+    // The job object is only ever mutated by the thread running it; readers get an immutable copy per update
+    private boolean publish(BulkModerationJobResponse job) {
+        localJobs.put(job.getJobId(), copyOf(job));
+        return saveJob(job);
+    }
+
+    private void finish(BulkModerationJobResponse job) {
+        if (publish(job)) {
+            localJobs.remove(job.getJobId());
+        }
+    }
+
+    private static BulkModerationJobResponse copyOf(BulkModerationJobResponse job) {
+        return new BulkModerationJobResponse(job.getJobId(), job.getAction(), job.getStatus(), job.getTotal(),
+                job.getUpdated(), job.getStartedAt(), job.getFinishedAt(), job.getError());
+    }
+
+    private boolean saveJob(BulkModerationJobResponse job) {
+        try {
+            redisTemplate.opsForValue().set(JOB_KEY_PREFIX + job.getJobId(),
+                    objectMapper.writeValueAsString(job), JOB_TTL_HOURS, TimeUnit.HOURS);
+            return true;
+        } catch (Exception e) {
+            log.debug("Could not store bulk moderation job {}: {}", job.getJobId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isEmpty(List<?> values) {
+        return values == null || values.isEmpty();
+    }
+
+    private record Changed(UUID id, String title, UUID landlordId, String email, String fullName) {
+    }
+}
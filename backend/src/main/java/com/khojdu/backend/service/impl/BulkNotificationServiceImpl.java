@@ -0,0 +1,248 @@
+package com.khojdu.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khojdu.backend.dto.notification.BulkNotificationJobResponse;
+import com.khojdu.backend.dto.notification.BulkNotificationRequest;
+import com.khojdu.backend.exception.BadRequestException;
+import com.khojdu.backend.exception.ResourceNotFoundException;
+import com.khojdu.backend.exception.ServiceUnavailableException;
+import com.khojdu.backend.service.BulkNotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates one notification per recipient without going through the JPA persistence context.
+ * Recipient ids are streamed from a server-side cursor and inserted in JDBC batches, each batch committed in
+ * its own transaction. Rows are written with is_sent = false, so the notification stream sweep pushes them
+ * and updates the unread counters as they land.
+ * Job progress is kept in Redis so any node can report it.
+ */
+@Slf4j
+@Service
+public class BulkNotificationServiceImpl implements BulkNotificationService {
+
+    private static final String JOB_KEY_PREFIX = "bulk:notification:job:";
+    private static final long JOB_TTL_HOURS = 24;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (id, user_id, type, title, message, data, is_read, is_sent, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), false, false, ?)";
+
+    private final NamedParameterJdbcTemplate cursorJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate batchTransaction;
+    private final TaskExecutor taskExecutor;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Jobs running on this node, and finished jobs whose final state could not be stored in Redis
+    private final Map<UUID, BulkNotificationJobResponse> localJobs = new ConcurrentHashMap<>();
+
+    @Value("${app.notifications.bulk.batch-size:1000}")
+    private int batchSize;
+
+    public BulkNotificationServiceImpl(DataSource dataSource,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                       StringRedisTemplate redisTemplate,
+                                       ObjectMapper objectMapper) {
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(1000);
+        this.cursorJdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+        this.jdbcTemplate = jdbcTemplate;
+
+        // The PostgreSQL driver only streams with a fetch size when autocommit is off
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.taskExecutor = taskExecutor;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public BulkNotificationJobResponse startBulkNotification(BulkNotificationRequest request) {
+        if (isEmpty(request.getRoles()) && isEmpty(request.getCities()) && isEmpty(request.getUserIds())) {
+            throw new BadRequestException("At least one of roles, cities or userIds is required");
+        }
+
+        String dataJson;
+        try {
+            dataJson = request.getData() != null ? objectMapper.writeValueAsString(request.getData()) : null;
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid notification data");
+        }
+
+        BulkNotificationJobResponse job = new BulkNotificationJobResponse(
+                UUID.randomUUID(), "QUEUED", 0, null, null, null);
+        publish(job);
+        BulkNotificationJobResponse queued = copyOf(job);
+
+        try {
+            taskExecutor.execute(() -> run(job, request, dataJson));
+        } catch (TaskRejectedException e) {
+            job.setStatus("FAILED");
+            job.setError("Background executor is saturated");
+            job.setFinishedAt(LocalDateTime.now());
+            finish(job);
+            log.warn("Rejected bulk notification job {} ({}): executor saturated", job.getJobId(), request.getTitle());
+            throw new ServiceUnavailableException("Too many background jobs running, please retry later");
+        }
+        log.info("Queued bulk notification job {} ({})", job.getJobId(), request.getTitle());
+        return queued;
+    }
+
+    @Override
+    public BulkNotificationJobResponse getJob(UUID jobId) {
+        BulkNotificationJobResponse local = localJobs.get(jobId);
+        if (local != null) return local;
+
+        try {
+            String json = redisTemplate.opsForValue().get(JOB_KEY_PREFIX + jobId);
+            if (json != null) return objectMapper.readValue(json, BulkNotificationJobResponse.class);
+        } catch (Exception e) {
+            log.warn("Could not read bulk notification job {} from Redis: {}", jobId, e.getMessage());
+        }
+        throw new ResourceNotFoundException("Bulk notification job not found");
+    }
+
+    private void run(BulkNotificationJobResponse job, BulkNotificationRequest request, String dataJson) {
+        job.setStatus("RUNNING");
+        job.setStartedAt(LocalDateTime.now());
+        publish(job);
+
+        Timestamp createdAt = Timestamp.valueOf(job.getStartedAt());
+        List<UUID> batch = new ArrayList<>(batchSize);
+        try {
+            readTransaction.executeWithoutResult(status ->
+                    cursorJdbcTemplate.query(recipientQuery(request), recipientParams(request), rs -> {
+                        batch.add(rs.getObject(1, UUID.class));
+                        if (batch.size() >= batchSize) {
+                            insertBatch(job, batch, request, dataJson, createdAt);
+                        }
+                    }));
+            if (!batch.isEmpty()) {
+                insertBatch(job, batch, request, dataJson, createdAt);
+            }
+            job.setStatus("COMPLETED");
+            log.info("Bulk notification job {} completed: {} notifications", job.getJobId(), job.getInserted());
+        } catch (Exception e) {
+            job.setStatus("FAILED");
+            job.setError(e.getMessage());
+            log.error("Bulk notification job {} failed after {} notifications", job.getJobId(), job.getInserted(), e);
+        }
+
+        job.setFinishedAt(LocalDateTime.now());
+        finish(job);
+    }
+
+    private void insertBatch(BulkNotificationJobResponse job, List<UUID> recipients,
+                             BulkNotificationRequest request, String dataJson, Timestamp createdAt) {
+        batchTransaction.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, recipients, recipients.size(), (ps, userId) -> {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, userId);
+                    ps.setString(3, request.getType().name());
+                    ps.setString(4, request.getTitle());
+                    ps.setString(5, request.getMessage());
+                    ps.setString(6, dataJson);
+                    ps.setTimestamp(7, createdAt);
+                }));
+        job.setInserted(job.getInserted() + recipients.size());
+        recipients.clear();
+        publish(job);
+    }
+
+    private String recipientQuery(BulkNotificationRequest request) {
+        List<String> filters = new ArrayList<>();
+        if (!isEmpty(request.getRoles())) {
+            filters.add("u.role IN (:roles)");
+        }
+        if (!isEmpty(request.getCities())) {
+            filters.add("(EXISTS (SELECT 1 FROM search_preferences sp WHERE sp.user_id = u.id AND LOWER(sp.city) IN (:cities))" +
+                    " OR EXISTS (SELECT 1 FROM properties p WHERE p.landlord_id = u.id AND LOWER(p.city) IN (:cities)))");
+        }
+
+        List<String> selectors = new ArrayList<>();
+        if (!filters.isEmpty()) {
+            selectors.add("(" + String.join(" AND ", filters) + ")");
+        }
+        if (!isEmpty(request.getUserIds())) {
+            selectors.add("u.id IN (:userIds)");
+        }
+
+        return "SELECT u.id FROM users u WHERE u.is_active = true AND (" + String.join(" OR ", selectors) + ")";
+    }
+
+    private MapSqlParameterSource recipientParams(BulkNotificationRequest request) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (!isEmpty(request.getRoles())) {
+            params.addValue("roles", request.getRoles().stream().map(Enum::name).toList());
+        }
+        if (!isEmpty(request.getCities())) {
+            params.addValue("cities", request.getCities().stream().map(String::toLowerCase).toList());
+        }
+        if (!isEmpty(request.getUserIds())) {
+            params.addValue("userIds", request.getUserIds());
+        }
+        return params;
+    }
+
+    // The job object is only ever mutated by the thread running it; readers get an immutable copy per update
+    private boolean publish(BulkNotificationJobResponse job) {
+        localJobs.put(job.getJobId(), copyOf(job));
+        return saveJob(job);
+    }
+
+    private void finish(BulkNotificationJobResponse job) {
+        if (publish(job)) {
+            localJobs.remove(job.getJobId());
+        }
+    }
+
+    private static BulkNotificationJobResponse copyOf(BulkNotificationJobResponse job) {
+        return new BulkNotificationJobResponse(job.getJobId(), job.getStatus(), job.getInserted(),
+                job.getStartedAt(), job.getFinishedAt(), job.getError());
+    }
+
+    private boolean saveJob(BulkNotificationJobResponse job) {
+        try {
+            redisTemplate.opsForValue().set(JOB_KEY_PREFIX + job.getJobId(),
+                    objectMapper.writeValueAsString(job), JOB_TTL_HOURS, TimeUnit.HOURS);
+            return true;
+        } catch (Exception e) {
+            log.debug("Could not store bulk notification job {}: {}", job.getJobId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isEmpty(List<?> values) {
+        return values == null || values.isEmpty();
+    }
+}
@@ -0,0 +1,353 @@
+package com.khojdu.backend.service.impl;
+
+import com.khojdu.backend.config.CoOccurrenceConfig;
+import com.khojdu.backend.security.redis.RedisCircuitBreaker;
+import com.khojdu.backend.service.CoOccurrenceService;
+import com.khojdu.backend.util.LongIntCountMap;
+import com.khojdu.backend.util.UuidListCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Item-item "tenants also viewed" lists from co-occurrence in property views and wishlists.
+ * <p>
+ * A nightly batch streams the recent events ordered by user, so only one user's basket is held at a time. Every
+ * pair of listings in a basket is counted in a primitive long-to-int map keyed by the two listing indexes. When the
+ * map passes {@code maxPairs}, pairs seen at most n times are dropped and n is raised (lossy counting), so memory
+ * stays bounded however many events there are. Pairs are then scored by cosine similarity over the users who
+ * touched each listing, the best k per listing are kept, and the lists are written to Redis in the same compact
+ * form as the similar-listing lists.
+ */
+@Slf4j
+@Service
+public class CoOccurrenceServiceImpl implements CoOccurrenceService {
+
+    private static final String KEY_PREFIX = "also-viewed:";
+    private static final String BUILT_KEY = "also-viewed:_built";
+    private static final String LOCK_KEY = "also-viewed:_rebuild_lock";
+    private static final Duration LOCK_TTL = Duration.ofHours(2);
+    // Deletes the lock only while it still holds this rebuild's token; past the TTL another node may own it
+    private static final DefaultRedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+    private static final int WRITE_CHUNK = 1_000;
+
+    // Anonymous views carry no user and cannot co-occur
+    private static final String EVENTS_SQL =
+            "SELECT e.user_id, e.property_id FROM (" +
+            "SELECT v.user_id, v.property_id, v.viewed_at AS at FROM property_views v " +
+            "WHERE v.user_id IS NOT NULL AND v.viewed_at >= ? " +
+            "UNION ALL " +
+            "SELECT w.user_id, w.property_id, w.added_at AS at FROM wishlists w WHERE w.added_at >= ?" +
+            ") e ORDER BY e.user_id, e.at DESC";
+
+    private final CoOccurrenceConfig config;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TaskExecutor taskExecutor;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public CoOccurrenceServiceImpl(CoOccurrenceConfig config,
+                                   DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                   StringRedisTemplate redisTemplate,
+                                   RedisCircuitBreaker circuitBreaker) {
+        this.config = config;
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(5000);
+
+        // The PostgreSQL driver only streams with a fetch size when autocommit is off
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+
+        this.taskExecutor = taskExecutor;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public List<UUID> getAlsoViewedPropertyIds(UUID propertyId) {
+        if (!config.isEnabled()) return List.of();
+        try {
+            String value = circuitBreaker.call(() -> redisTemplate.opsForValue().get(KEY_PREFIX + propertyId));
+            return value == null ? List.of() : UuidListCodec.decode(value);
+        } catch (Exception e) {
+            log.debug("Also-viewed list unavailable for {}: {}", propertyId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Scheduled(cron = "${app.co-occurrence.rebuild-cron:0 0 4 * * *}")
+    public void scheduledRebuild() {
+        rebuildAll();
+    }
+
+    @Override
+    public int rebuildAll() {
+        if (!config.isEnabled()) return 0;
+        String lockToken = acquireLock();
+        if (lockToken == null) return 0;
+
+        long started = System.nanoTime();
+        try {
+            Counts counts = new Counts(config.getMaxItemsPerUser(), config.getMaxPairs());
+            Timestamp since = Timestamp.valueOf(LocalDateTime.now().minusDays(config.getLookbackDays()));
+            readTransaction.executeWithoutResult(status ->
+                    cursorJdbcTemplate.query(EVENTS_SQL, rs -> {
+                        counts.add(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class));
+                    }, since, since));
+            counts.finishBasket();
+
+            TopK[] lists = topNeighbours(counts);
+
+            Map<UUID, List<UUID>> pending = new HashMap<>();
+            int written = 0;
+            for (int item = 0; item < lists.length; item++) {
+                if (lists[item] == null) continue;
+                List<UUID> neighbours = new ArrayList<>(lists[item].size);
+                for (int neighbour : lists[item].sortedIds()) {
+                    neighbours.add(counts.items.get(neighbour));
+                }
+                pending.put(counts.items.get(item), neighbours);
+                if (pending.size() >= WRITE_CHUNK) {
+                    written += write(pending);
+                }
+            }
+            written += write(pending);
+
+            circuitBreaker.run(() -> redisTemplate.opsForValue()
+                    .set(BUILT_KEY, String.valueOf(System.currentTimeMillis()), Duration.ofHours(config.getTtlHours())));
+            log.info("Rebuilt also-viewed lists for {} properties from {} events by {} users ({} pairs kept, pruned at count <= {}) in {} ms",
+                    written, counts.events, counts.users, counts.pairs.size(), counts.pruneFloor,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+            return written;
+        } catch (Exception e) {
+            log.error("Also-viewed rebuild failed", e);
+            return 0;
+        } finally {
+            releaseLock(lockToken);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        if (!config.isEnabled() || !config.isRebuildOnStartup()) return;
+        try {
+            if (Boolean.TRUE.equals(circuitBreaker.call(() -> redisTemplate.hasKey(BUILT_KEY)))) return;
+        } catch (Exception e) {
+            log.debug("Skipping startup rebuild of also-viewed lists: {}", e.getMessage());
+            return;
+        }
+        log.info("No also-viewed lists found; rebuilding in the background");
+        taskExecutor.execute(this::rebuildAll);
+    }
+
+    private TopK[] topNeighbours(Counts counts) {
+        TopK[] lists = new TopK[counts.items.size()];
+        int k = config.getNeighbours();
+        int minSupport = config.getMinSupport();
+        counts.pairs.forEach((key, together) -> {
+            if (together < minSupport) return;
+            int a = pairFirst(key);
+            int b = pairSecond(key);
+            float score = (float) (together / Math.sqrt((double) counts.itemUsers[a] * counts.itemUsers[b]));
+            if (lists[a] == null) lists[a] = new TopK(k);
+            if (lists[b] == null) lists[b] = new TopK(k);
+            lists[a].offer(b, score);
+            lists[b].offer(a, score);
+        });
+        return lists;
+    }
+
+    // Unordered pair of distinct item indexes as (smaller << 32) | larger; never 0, the count map's empty marker
+    static long pairKey(int x, int y) {
+        return ((long) Math.min(x, y) << 32) | Math.max(x, y);
+    }
+
+    static int pairFirst(long key) {
+        return (int) (key >>> 32);
+    }
+
+    static int pairSecond(long key) {
+        return (int) key;
+    }
+
+    private int write(Map<UUID, List<UUID>> lists) {
+        if (lists.isEmpty()) return 0;
+        long ttlSeconds = Duration.ofHours(config.getTtlHours()).toSeconds();
+        circuitBreaker.run(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            lists.forEach((id, neighbours) -> redis.setEx(KEY_PREFIX + id, ttlSeconds, UuidListCodec.encode(neighbours)));
+            return null;
+        }));
+        int count = lists.size();
+        lists.clear();
+        return count;
+    }
+
+    // Returns the token the lock was taken with, or null when another node holds it or Redis is unavailable
+    private String acquireLock() {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = circuitBreaker.call(() -> redisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY, token, LOCK_TTL));
+            if (!Boolean.TRUE.equals(acquired)) {
+                log.info("Also-viewed rebuild already running elsewhere; skipping");
+                return null;
+            }
+            return token;
+        } catch (Exception e) {
+            log.warn("Skipping also-viewed rebuild, Redis unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void releaseLock(String token) {
+        try {
+            circuitBreaker.call(() -> redisTemplate.execute(RELEASE_LOCK, List.of(LOCK_KEY), token));
+        } catch (Exception e) {
+            log.debug("Could not release also-viewed lock: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Streaming pair counter. Listings get dense int indexes (the dictionary is bounded by the number of listings);
+     * a pair is counted under {@link CoOccurrenceServiceImpl#pairKey}.
+     */
+    private static final class Counts {
+        final int maxItemsPerUser;
+        final int maxPairs;
+
+        final Map<UUID, Integer> index = new HashMap<>();
+        final List<UUID> items = new ArrayList<>();
+        int[] itemUsers = new int[1024];
+        final LongIntCountMap pairs;
+        int pruneFloor;
+
+        UUID currentUser;
+        final int[] basket;
+        int basketSize;
+
+        long events;
+        int users;
+
+        Counts(int maxItemsPerUser, int maxPairs) {
+            this.maxItemsPerUser = maxItemsPerUser;
+            this.maxPairs = maxPairs;
+            this.basket = new int[maxItemsPerUser];
+            this.pairs = new LongIntCountMap(Math.min(maxPairs, 1 << 20));
+        }
+
+        void add(UUID userId, UUID propertyId) {
+            events++;
+            if (!userId.equals(currentUser)) {
+                finishBasket();
+                currentUser = userId;
+            }
+            // Events arrive newest first, so a full basket already holds the user's most recent listings
+            if (basketSize >= maxItemsPerUser) return;
+
+            int item = indexOf(propertyId);
+            for (int i = 0; i < basketSize; i++) {
+                if (basket[i] == item) return;
+            }
+            basket[basketSize++] = item;
+        }
+
+        void finishBasket() {
+            if (basketSize == 0) return;
+            users++;
+            for (int i = 0; i < basketSize; i++) {
+                itemUsers[basket[i]]++;
+                for (int j = i + 1; j < basketSize; j++) {
+                    pairs.increment(pairKey(basket[i], basket[j]));
+                }
+            }
+            basketSize = 0;
+
+            while (pairs.size() > maxPairs) {
+                pruneFloor++;
+                int removed = pairs.removeAtMost(pruneFloor);
+                log.debug("Pruned {} pairs seen at most {} times", removed, pruneFloor);
+            }
+        }
+
+        private int indexOf(UUID propertyId) {
+            Integer existing = index.get(propertyId);
+            if (existing != null) return existing;
+
+            int created = items.size();
+            index.put(propertyId, created);
+            items.add(propertyId);
+            if (created >= itemUsers.length) {
+                itemUsers = Arrays.copyOf(itemUsers, itemUsers.length * 2);
+            }
+            return created;
+        }
+    }
+
+    /**
+     * Best k neighbours of one listing; k is small, so replacing the minimum by linear scan is cheaper than a heap.
+     */
+    private static final class TopK {
+        final int[] ids;
+        final float[] scores;
+        int size;
+
+        TopK(int k) {
+            ids = new int[k];
+            scores = new float[k];
+        }
+
+        void offer(int id, float score) {
+            if (ids.length == 0) return;
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size++] = score;
+                return;
+            }
+            int min = 0;
+            for (int i = 1; i < size; i++) {
+                if (scores[i] < scores[min]) min = i;
+            }
+            if (score > scores[min]) {
+                ids[min] = id;
+                scores[min] = score;
+            }
+        }
+
+        int[] sortedIds() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, (x, y) -> Float.compare(scores[y], scores[x]));
+            int[] sorted = new int[size];
+            for (int i = 0; i < size; i++) sorted[i] = ids[order[i]];
+            return sorted;
+        }
+    }
+}
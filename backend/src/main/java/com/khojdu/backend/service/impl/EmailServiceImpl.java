@@ -4,6 +4,7 @@ import com.khojdu.backend.service.EmailService;
 import com.khojdu.backend.util.EmailUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -22,7 +23,8 @@ import jakarta.mail.internet.MimeMessage;
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    // Resolved on first send so the mail sender is not built during startup
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
     private final TemplateEngine templateEngine;
     private final EmailUtil emailUtil;
 
@@ -70,7 +72,7 @@ public class EmailServiceImpl implements EmailService {
         log.info("Sending verification email to: {}", email);
 
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessage message = mailSender().createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
             // sanitize configured sender and recipient
@@ -89,7 +91,7 @@ public class EmailServiceImpl implements EmailService {
             String htmlContent = templateEngine.process("email/verification", context);
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            mailSender().send(message);
             log.info("Verification email sent successfully to: {}", email);
 
         } catch (MessagingException e) {
@@ -103,7 +105,7 @@ public class EmailServiceImpl implements EmailService {
         log.info("Sending password reset email to: {}", email);
 
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessage message = mailSender().createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
             String sender = sanitizeSender(fromEmail);
@@ -121,7 +123,7 @@ public class EmailServiceImpl implements EmailService {
             String htmlContent = templateEngine.process("email/password-reset", context);
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            mailSender().send(message);
             log.info("Password reset email sent successfully to: {}", email);
 
         } catch (MessagingException e) {
@@ -135,7 +137,7 @@ public class EmailServiceImpl implements EmailService {
         log.info("Sending reactivation email to: {}", email);
 
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessage message = mailSender().createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
             String sender = sanitizeSender(fromEmail);
@@ -153,7 +155,7 @@ public class EmailServiceImpl implements EmailService {
             String htmlContent = templateEngine.process("email/reactivation", context);
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            mailSender().send(message);
             log.info("Reactivation email sent successfully to: {}", email);
 
         } catch (MessagingException e) {
@@ -167,7 +169,7 @@ public class EmailServiceImpl implements EmailService {
         log.info("Sending welcome email to: {}", email);
 
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessage message = mailSender().createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
             String sender = sanitizeSender(fromEmail);
@@ -184,7 +186,7 @@ public class EmailServiceImpl implements EmailService {
             String htmlContent = templateEngine.process("email/welcome", context);
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            mailSender().send(message);
             log.info("Welcome email sent successfully to: {}", email);
 
         } catch (MessagingException e) {
@@ -210,7 +212,7 @@ public class EmailServiceImpl implements EmailService {
                     fullName, propertyTitle
             ));
 
-            mailSender.send(message);
+            mailSender().send(message);
             log.info("Property approved email sent successfully to: {}", email);
 
         } catch (Exception e) {
@@ -235,11 +237,15 @@ public class EmailServiceImpl implements EmailService {
                     fullName, propertyTitle, inquiryMessage
             ));
 
-            mailSender.send(message);
+            mailSender().send(message);
             log.info("Inquiry notification email sent successfully to: {}", email);
 
         } catch (Exception e) {
             log.error("Failed to send inquiry notification email to: {}", email, e);
         }
     }
+
+    private JavaMailSender mailSender() {
+        return mailSenderProvider.getObject();
+    }
 }
@@ -9,6 +9,7 @@ import com.khojdu.backend.util.FileUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -23,7 +24,8 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class FileUploadServiceImpl implements FileUploadService {
 
-    private final Cloudinary cloudinary;
+    // Resolved on first upload so the client is not built during startup
+    private final ObjectProvider<Cloudinary> cloudinaryProvider;
 
     // Inject and trim the secret for diagnostics (will not be logged in full)
     @Value("${file.cloudinary.api-secret:}")
@@ -54,7 +56,7 @@ public class FileUploadServiceImpl implements FileUploadService {
                     "transformation", transformation
             );
 
-            Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+            Map<?, ?> uploadResult = cloudinary().uploader().upload(file.getBytes(), uploadParams);
             String imageUrl = (String) uploadResult.get("secure_url");
 
             log.info("Image uploaded successfully: {}", imageUrl);
@@ -99,7 +101,7 @@ public class FileUploadServiceImpl implements FileUploadService {
                             "fetch_format", "auto"
                     );
 
-                    Map<?, ?> retryResult = cloudinary.uploader().upload(file.getBytes(), retryParams);
+                    Map<?, ?> retryResult = cloudinary().uploader().upload(file.getBytes(), retryParams);
                     String imageUrl = (String) retryResult.get("secure_url");
                     log.info("Image uploaded successfully on retry (no transformation): {}", imageUrl);
                     return imageUrl;
@@ -152,7 +154,7 @@ public class FileUploadServiceImpl implements FileUploadService {
                     "resource_type", "raw"
             );
 
-            Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+            Map<?, ?> uploadResult = cloudinary().uploader().upload(file.getBytes(), uploadParams);
             String documentUrl = (String) uploadResult.get("secure_url");
 
             log.info("Document uploaded successfully: {}", documentUrl);
@@ -173,7 +175,7 @@ public class FileUploadServiceImpl implements FileUploadService {
             String publicId = extractPublicIdFromUrl(fileUrl);
 
             if (publicId != null) {
-                cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+                cloudinary().uploader().destroy(publicId, ObjectUtils.emptyMap());
                 log.info("File deleted successfully: {}", fileUrl);
             }
 
@@ -191,7 +193,7 @@ public class FileUploadServiceImpl implements FileUploadService {
             String publicId = extractPublicIdFromUrl(imageUrl);
 
             if (publicId != null) {
-                return cloudinary.url()
+                return cloudinary().url()
                         .transformation(new Transformation()
                                 .width(width)
                                 .height(height)
@@ -234,4 +236,8 @@ public class FileUploadServiceImpl implements FileUploadService {
             return null;
         }
     }
+
+    private Cloudinary cloudinary() {
+        return cloudinaryProvider.getObject();
+    }
 }
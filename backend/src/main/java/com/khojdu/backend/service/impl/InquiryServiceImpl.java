@@ -2,6 +2,7 @@ package com.khojdu.backend.service.impl;
 import com.khojdu.backend.dto.inquiry.InquiryResponse;
 import com.khojdu.backend.dto.inquiry.MessageRequest;
 
+import com.khojdu.backend.dto.common.CursorPage;
 import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.inquiry.InquiryRequest;
 import com.khojdu.backend.entity.Inquiry;
@@ -9,6 +10,7 @@ import com.khojdu.backend.entity.Message;
 import com.khojdu.backend.entity.Property;
 import com.khojdu.backend.entity.User;
 import com.khojdu.backend.entity.enums.InquiryStatus;
+import com.khojdu.backend.exception.BadRequestException;
 import com.khojdu.backend.exception.ForbiddenException;
 import com.khojdu.backend.exception.ResourceNotFoundException;
 import com.khojdu.backend.mapper.InquiryMapper;
@@ -19,16 +21,25 @@ import com.khojdu.backend.repository.PropertyRepository;
 import com.khojdu.backend.repository.UserRepository;
 import com.khojdu.backend.service.EmailService;
 import com.khojdu.backend.service.InquiryService;
+import com.khojdu.backend.service.PopularityService;
+import com.khojdu.backend.service.UnreadCounterService;
+import com.khojdu.backend.util.CursorUtil;
 import com.khojdu.backend.util.PaginationUtil;
+import com.khojdu.backend.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -44,6 +55,10 @@ public class InquiryServiceImpl implements InquiryService {
     private final PropertyRepository propertyRepository;
     private final InquiryMapper inquiryMapper;
     private final EmailService emailService;
+    private final UnreadCounterService unreadCounterService;
+    private final PopularityService popularityService;
+
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
 
     private User resolveUser(String identifier) {
         Optional<User> byEmail = userRepository.findByEmail(identifier);
@@ -55,6 +70,31 @@ public class InquiryServiceImpl implements InquiryService {
         throw new ResourceNotFoundException("User not found");
     }
 
+    // The principal name is normally the user id, which needs no lookup
+    private UUID resolveUserId(String identifier) {
+        try {
+            return UUID.fromString(identifier);
+        } catch (IllegalArgumentException e) {
+            return resolveUser(identifier).getId();
+        }
+    }
+
+    private Map<UUID, Long> loadUnreadMessageCounts(UUID userId) {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : messageRepository.countUnreadByInquiryForUser(userId)) {
+            counts.put((UUID) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private void fillUnreadCounts(UUID userId, List<InquiryResponse> inquiries) {
+        if (inquiries.isEmpty()) return;
+        Map<UUID, Long> unread = unreadCounterService.getUnreadMessages(userId,
+                inquiries.stream().map(InquiryResponse::getId).toList(),
+                () -> loadUnreadMessageCounts(userId));
+        inquiries.forEach(inquiry -> inquiry.setUnreadMessageCount(unread.getOrDefault(inquiry.getId(), 0L)));
+    }
+
     @Override
     @Transactional
     public InquiryResponse createInquiry(String userEmail, InquiryRequest request) {
@@ -74,6 +114,8 @@ public class InquiryServiceImpl implements InquiryService {
         inquiry.setStatus(InquiryStatus.OPEN);
 
         inquiry = inquiryRepository.save(inquiry);
+        UUID propertyId = property.getId();
+        TransactionUtil.afterCommit(() -> popularityService.recordInquiry(propertyId));
 
         // Send email notification to landlord
         emailService.sendInquiryNotificationEmail(
@@ -99,6 +141,7 @@ public class InquiryServiceImpl implements InquiryService {
                 .stream()
                 .map(inquiryMapper::toInquiryResponse)
                 .collect(Collectors.toList());
+        fillUnreadCounts(user.getId(), inquiries);
 
         return PaginationUtil.createPagedResponse(inquiryPage, inquiries);
     }
@@ -115,13 +158,26 @@ public class InquiryServiceImpl implements InquiryService {
                 .stream()
                 .map(inquiryMapper::toInquiryResponse)
                 .collect(Collectors.toList());
+        fillUnreadCounts(landlord.getId(), inquiries);
 
         return PaginationUtil.createPagedResponse(inquiryPage, inquiries);
     }
 
+    // Not transactional: a cached badge read must not check out a database connection
+    @Override
+    public Long getUnreadMessageCount(String userEmail) {
+        UUID userId = resolveUserId(userEmail);
+        return unreadCounterService.getTotalUnreadMessages(userId, () -> loadUnreadMessageCounts(userId));
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<MessageResponse> getInquiryMessages(UUID inquiryId, String userEmail) {
+    public CursorPage<MessageResponse> getInquiryMessages(UUID inquiryId, String userEmail,
+                                                         String before, String after, int limit) {
+        if (before != null && after != null) {
+            throw new BadRequestException("Use either before or after, not both");
+        }
+
         Inquiry inquiry = inquiryRepository.findById(inquiryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Inquiry not found"));
 
@@ -133,11 +189,38 @@ public class InquiryServiceImpl implements InquiryService {
             throw new ForbiddenException("You don't have access to this inquiry");
         }
 
-        List<Message> messages = messageRepository.findByInquiryOrderBySentAt(inquiry);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_MESSAGE_PAGE_SIZE);
+        // One extra row tells whether there is more beyond this page
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<Message> messages;
+        if (after != null) {
+            // Delta fetch: everything newer than the cursor, oldest first
+            CursorUtil.Cursor cursor = CursorUtil.decode(after);
+            messages = new ArrayList<>(messageRepository.findByInquiryAfter(inquiry, cursor.timestamp(), cursor.id(), pageable));
+        } else if (before != null) {
+            CursorUtil.Cursor cursor = CursorUtil.decode(before);
+            messages = new ArrayList<>(messageRepository.findByInquiryBefore(inquiry, cursor.timestamp(), cursor.id(), pageable));
+        } else {
+            messages = new ArrayList<>(messageRepository.findLatestByInquiry(inquiry, pageable));
+        }
+
+        boolean hasMore = messages.size() > pageSize;
+        if (hasMore) {
+            messages = messages.subList(0, pageSize);
+        }
+        if (after == null) {
+            // Fetched newest first; the thread is always returned oldest first
+            Collections.reverse(messages);
+        }
 
-        return messages.stream()
+        List<MessageResponse> content = messages.stream()
                 .map(this::toMessageResponse)
                 .collect(Collectors.toList());
+
+        String previousCursor = messages.isEmpty() ? null : cursorOf(messages.get(0));
+        String latestCursor = messages.isEmpty() ? after : cursorOf(messages.get(messages.size() - 1));
+        return CursorPage.of(content, previousCursor, latestCursor, hasMore);
     }
 
     @Override
@@ -165,6 +248,9 @@ public class InquiryServiceImpl implements InquiryService {
 
         message = messageRepository.save(message);
 
+        User recipient = inquiry.getTenant().getId().equals(sender.getId()) ? inquiry.getLandlord() : inquiry.getTenant();
+        TransactionUtil.afterCommit(() -> unreadCounterService.adjustUnreadMessages(recipient.getId(), inquiryId, 1));
+
         // Update inquiry status
         if (inquiry.getStatus() == InquiryStatus.OPEN) {
             inquiry.setStatus(InquiryStatus.RESPONDED);
@@ -181,10 +267,14 @@ public class InquiryServiceImpl implements InquiryService {
         Inquiry inquiry = inquiryRepository.findById(inquiryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Inquiry not found"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User user = resolveUser(userEmail);
 
         messageRepository.markAllAsReadByInquiryAndNotSender(inquiry, user);
+        TransactionUtil.afterCommit(() -> unreadCounterService.resetUnreadMessages(user.getId(), inquiryId));
+    }
+
+    private String cursorOf(Message message) {
+        return CursorUtil.encode(message.getSentAt(), message.getId());
     }
 
     private MessageResponse toMessageResponse(Message message) {
@@ -1,7 +1,9 @@
 package com.khojdu.backend.service.impl;
 
 import com.khojdu.backend.dto.common.PagedResponse;
+import com.khojdu.backend.dto.notification.NotificationCreateRequest;
 import com.khojdu.backend.dto.notification.NotificationResponse;
+import com.khojdu.backend.dto.notification.StreamTicketResponse;
 import com.khojdu.backend.entity.Notification;
 import com.khojdu.backend.entity.User;
 import com.khojdu.backend.exception.ForbiddenException;
@@ -9,17 +11,24 @@ import com.khojdu.backend.exception.ResourceNotFoundException;
 import com.khojdu.backend.mapper.NotificationMapper;
 import com.khojdu.backend.repository.NotificationRepository;
 import com.khojdu.backend.repository.UserRepository;
+import com.khojdu.backend.security.redis.StreamTicketStore;
 import com.khojdu.backend.service.NotificationService;
+import com.khojdu.backend.service.NotificationStreamService;
+import com.khojdu.backend.service.UnreadCounterService;
 import com.khojdu.backend.util.PaginationUtil;
+import com.khojdu.backend.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -31,14 +40,35 @@ public class NotificationServiceImpl implements NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final NotificationMapper notificationMapper;
+    private final NotificationStreamService notificationStreamService;
+    private final UnreadCounterService unreadCounterService;
+    private final StreamTicketStore streamTicketStore;
+
+    private User resolveUser(String identifier) {
+        Optional<User> byEmail = userRepository.findByEmail(identifier);
+        if (byEmail.isPresent()) return byEmail.get();
+        try {
+            Optional<User> byId = userRepository.findById(UUID.fromString(identifier));
+            if (byId.isPresent()) return byId.get();
+        } catch (IllegalArgumentException ignored) {}
+        throw new ResourceNotFoundException("User not found");
+    }
+
+    // The principal name is normally the user id, which needs no lookup
+    private UUID resolveUserId(String identifier) {
+        try {
+            return UUID.fromString(identifier);
+        } catch (IllegalArgumentException e) {
+            return resolveUser(identifier).getId();
+        }
+    }
 
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<NotificationResponse> getUserNotifications(
             String userEmail, int page, int size, Boolean unreadOnly) {
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User user = resolveUser(userEmail);
 
         Pageable pageable = PaginationUtil.createPageable(page, size, "createdAt", "DESC");
         Page<Notification> notificationPage;
@@ -57,13 +87,12 @@ public class NotificationServiceImpl implements NotificationService {
         return PaginationUtil.createPagedResponse(notificationPage, notifications);
     }
 
+    // Not transactional: a cached badge read must not check out a database connection
     @Override
-    @Transactional(readOnly = true)
     public Long getUnreadCount(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        return notificationRepository.countUnreadByUser(user);
+        UUID userId = resolveUserId(userEmail);
+        return unreadCounterService.getUnreadNotifications(userId,
+                () -> notificationRepository.countUnreadByUserId(userId));
     }
 
     @Override
@@ -74,14 +103,19 @@ public class NotificationServiceImpl implements NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification not found"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User user = resolveUser(userEmail);
 
         if (!notification.getUser().getId().equals(user.getId())) {
             throw new ForbiddenException("You don't have access to this notification");
         }
 
-        notificationRepository.markAsRead(notificationId, LocalDateTime.now());
+        if (notificationRepository.markAsRead(notificationId, LocalDateTime.now()) > 0
+                && !Boolean.TRUE.equals(notification.getIsRead())) {
+            TransactionUtil.afterCommit(() -> {
+                unreadCounterService.adjustUnreadNotifications(user.getId(), -1);
+                notificationStreamService.publishUnreadDelta(user.getId(), -1);
+            });
+        }
     }
 
     @Override
@@ -89,10 +123,14 @@ public class NotificationServiceImpl implements NotificationService {
     public void markAllAsRead(String userEmail) {
         log.info("Marking all notifications as read for user: {}", userEmail);
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User user = resolveUser(userEmail);
 
-        notificationRepository.markAllAsReadByUser(user, LocalDateTime.now());
+        if (notificationRepository.markAllAsReadByUser(user, LocalDateTime.now()) > 0) {
+            TransactionUtil.afterCommit(() -> {
+                unreadCounterService.resetUnreadNotifications(user.getId());
+                notificationStreamService.publishUnreadCount(user.getId(), 0);
+            });
+        }
     }
 
     @Override
@@ -103,13 +141,62 @@ public class NotificationServiceImpl implements NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification not found"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User user = resolveUser(userEmail);
 
         if (!notification.getUser().getId().equals(user.getId())) {
             throw new ForbiddenException("You don't have access to this notification");
         }
 
         notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            TransactionUtil.afterCommit(() -> {
+                unreadCounterService.adjustUnreadNotifications(user.getId(), -1);
+                notificationStreamService.publishUnreadDelta(user.getId(), -1);
+            });
+        }
+    }
+
+    @Override
+    @Transactional
+    public NotificationResponse createNotification(NotificationCreateRequest request) {
+        User user = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setType(request.getType());
+        notification.setTitle(request.getTitle());
+        notification.setMessage(request.getMessage());
+        notification.setData(request.getData() != null ? new HashMap<>(request.getData()) : null);
+        notification.setIsRead(false);
+        // Pushed right after commit, so the unsent-notification sweep can skip it
+        notification.setIsSent(true);
+
+        notification = notificationRepository.save(notification);
+        NotificationResponse response = notificationMapper.toNotificationResponse(notification);
+
+        TransactionUtil.afterCommit(() -> {
+            unreadCounterService.adjustUnreadNotifications(user.getId(), 1);
+            notificationStreamService.publishNotification(user.getId(), response);
+            notificationStreamService.publishUnreadDelta(user.getId(), 1);
+        });
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter openStream(String userEmail) {
+        User user = resolveUser(userEmail);
+        // One count when the stream opens; after that the client applies the pushed deltas
+        long unreadCount = unreadCounterService.getUnreadNotifications(user.getId(),
+                () -> notificationRepository.countUnreadByUser(user));
+        return notificationStreamService.subscribe(user.getId(), unreadCount);
+    }
+
+    @Override
+    public StreamTicketResponse issueStreamTicket(String userEmail) {
+        User user = resolveUser(userEmail);
+        String ticket = streamTicketStore.issue(user.getId(), user.getEmail(), user.getRole());
+        return new StreamTicketResponse(ticket, StreamTicketStore.TICKET_TTL.toSeconds());
     }
 }
@@ -0,0 +1,237 @@
+package com.khojdu.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khojdu.backend.config.NotificationStreamConfig;
+import com.khojdu.backend.dto.notification.NotificationResponse;
+import com.khojdu.backend.dto.notification.NotificationStreamEvent;
+import com.khojdu.backend.entity.Notification;
+import com.khojdu.backend.exception.ServiceUnavailableException;
+import com.khojdu.backend.mapper.NotificationMapper;
+import com.khojdu.backend.repository.NotificationRepository;
+import com.khojdu.backend.service.NotificationStreamService;
+import com.khojdu.backend.service.UnreadCounterService;
+import com.khojdu.backend.util.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-node registry of notification SSE streams.
+ * Events are published on a Redis channel and every node delivers them to the streams it holds,
+ * so a user connected to any node receives notifications created on any other.
+ * Streams are async servlet responses: an idle connection holds no request thread.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationStreamServiceImpl implements NotificationStreamService {
+
+    static final String EVENT_NOTIFICATION = "notification";
+    static final String EVENT_UNREAD_COUNT = "unread-count";
+
+    private final NotificationStreamConfig streamConfig;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final ObjectMapper objectMapper;
+    private final UnreadCounterService unreadCounterService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<UUID, Deque<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    @PostConstruct
+    void subscribeToChannel() {
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(streamConfig.getChannel()));
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID userId, long unreadCount) {
+        if (connectionCount.get() >= streamConfig.getMaxConnections()) {
+            throw new ServiceUnavailableException("Too many open notification streams, please retry later");
+        }
+
+        SseEmitter emitter = new SseEmitter(streamConfig.getTimeoutMs());
+        // Added inside compute so a concurrent removal of the last stream cannot drop the new one
+        Deque<SseEmitter> userEmitters = emitters.compute(userId, (id, existing) -> {
+            Deque<SseEmitter> deque = existing != null ? existing : new ConcurrentLinkedDeque<>();
+            deque.addLast(emitter);
+            return deque;
+        });
+        connectionCount.incrementAndGet();
+
+        // A new tab replaces the oldest one rather than being refused
+        while (userEmitters.size() > streamConfig.getMaxConnectionsPerUser()) {
+            SseEmitter oldest = userEmitters.pollFirst();
+            if (oldest == null) break;
+            connectionCount.decrementAndGet();
+            oldest.complete();
+        }
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(ex -> remove(userId, emitter));
+
+        send(userId, emitter, EVENT_UNREAD_COUNT, Map.of("count", unreadCount));
+        log.debug("Notification stream opened for user {} ({} on this node)", userId, connectionCount.get());
+        return emitter;
+    }
+
+    @Override
+    public void publishNotification(UUID userId, NotificationResponse notification) {
+        publish(userId, EVENT_NOTIFICATION, notification);
+    }
+
+    @Override
+    public void publishUnreadDelta(UUID userId, int delta) {
+        if (delta == 0) return;
+        publish(userId, EVENT_UNREAD_COUNT, Map.of("delta", delta));
+    }
+
+    @Override
+    public void publishUnreadCount(UUID userId, long count) {
+        publish(userId, EVENT_UNREAD_COUNT, Map.of("count", count));
+    }
+
+    @Override
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Keeps proxies from closing idle streams and detects clients that went away without closing.
+     */
+    @Scheduled(fixedRateString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(userId, emitter);
+                }
+            }
+        });
+    }
+
+    /**
+     * Publishes notifications that were stored without going through the stream (bulk inserts, other writers).
+     * Rows are claimed with SKIP LOCKED so concurrent nodes never publish the same notification twice.
+     * Full batches are followed by the next one straight away, for up to one interval, so a bulk fan-out is not
+     * paced at one batch per interval.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.stream.dispatch-interval-ms:5000}")
+    public void dispatchUnsentNotifications() {
+        int batchSize = streamConfig.getDispatchBatchSize();
+        long deadline = System.currentTimeMillis() + streamConfig.getDispatchIntervalMs();
+        int total = 0;
+        int dispatched;
+        do {
+            dispatched = transactionTemplate.execute(status -> dispatchBatch(batchSize));
+            total += dispatched;
+        } while (dispatched == batchSize && System.currentTimeMillis() < deadline);
+        if (total > 0) log.debug("Dispatched {} unsent notifications", total);
+    }
+
+    private int dispatchBatch(int batchSize) {
+        List<Notification> unsent = notificationRepository.lockUnsentNotifications(batchSize);
+        if (unsent.isEmpty()) return 0;
+
+        Map<UUID, List<NotificationResponse>> byUser = new LinkedHashMap<>();
+        Map<UUID, Integer> unreadByUser = new HashMap<>();
+        for (Notification notification : unsent) {
+            // The user is a lazy proxy; its id comes from the row's user_id without loading the user
+            UUID userId = notification.getUser().getId();
+            byUser.computeIfAbsent(userId, id -> new ArrayList<>())
+                    .add(notificationMapper.toNotificationResponse(notification));
+            if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                unreadByUser.merge(userId, 1, Integer::sum);
+            }
+        }
+        notificationRepository.markAsSent(unsent.stream().map(Notification::getId).toList());
+
+        // Published only once the rows are marked sent, so a rolled-back sweep is not announced and then repeated
+        TransactionUtil.afterCommit(() -> byUser.forEach((userId, notifications) -> {
+            notifications.forEach(notification -> publishNotification(userId, notification));
+            int unread = unreadByUser.getOrDefault(userId, 0);
+            if (unread > 0) {
+                // The cached counter is loaded with COUNT(is_read = false), which already includes rows that were
+                // still unsent at load time; adding to it would count them twice, so it is reloaded instead
+                unreadCounterService.evictUnreadNotifications(userId);
+                publishUnreadDelta(userId, unread);
+            }
+        }));
+        return unsent.size();
+    }
+
+    private void publish(UUID userId, String event, Object payload) {
+        NotificationStreamEvent message = new NotificationStreamEvent(userId, event, objectMapper.valueToTree(payload));
+        try {
+            stringRedisTemplate.convertAndSend(streamConfig.getChannel(), objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize notification stream event for user {}", userId, e);
+        } catch (Exception e) {
+            // Redis unavailable: at least reach the streams held by this node
+            log.warn("Notification fan-out failed, delivering locally only: {}", e.getMessage());
+            deliver(message);
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        try {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            deliver(objectMapper.readValue(body, NotificationStreamEvent.class));
+        } catch (IOException e) {
+            log.warn("Ignoring malformed notification stream message: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(NotificationStreamEvent message) {
+        Deque<SseEmitter> userEmitters = emitters.get(message.getUserId());
+        if (userEmitters == null) return;
+        for (SseEmitter emitter : userEmitters) {
+            send(message.getUserId(), emitter, message.getEvent(), message.getPayload());
+        }
+    }
+
+    private void send(UUID userId, SseEmitter emitter, String event, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(payload, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream for user {}: {}", userId, e.getMessage());
+            remove(userId, emitter);
+        }
+    }
+
+    private void remove(UUID userId, SseEmitter emitter) {
+        Deque<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters != null && userEmitters.remove(emitter)) {
+            connectionCount.decrementAndGet();
+        }
+        emitters.computeIfPresent(userId, (id, deque) -> deque.isEmpty() ? null : deque);
+    }
+}
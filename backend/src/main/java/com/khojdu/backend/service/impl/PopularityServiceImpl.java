@@ -0,0 +1,171 @@
+package com.khojdu.backend.service.impl;
+
+import com.khojdu.backend.config.PopularityConfig;
+import com.khojdu.backend.repository.PropertyRepository;
+import com.khojdu.backend.security.redis.RedisCircuitBreaker;
+import com.khojdu.backend.service.PopularityService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Decayed popularity scores per property, ranked in Redis sorted sets (one global, one per city).
+ * <p>
+ * Uses forward decay: instead of shrinking every stored score as time passes, each event is weighted by
+ * 2^(age of the event relative to the epoch / half-life). Relative order is then the same as with exponentially
+ * decayed counts, and scores only ever need ZINCRBY. Events accumulate in sharded in-memory counters and are flushed
+ * on a schedule, so a busy listing costs one Redis write per interval rather than one per view. Scores pending in
+ * memory are lost if the process dies; that is acceptable for a ranking signal.
+ */
+@Slf4j
+@Service
+public class PopularityServiceImpl implements PopularityService {
+
+    private static final String GLOBAL_KEY = "trending:global";
+    private static final String CITY_KEY_PREFIX = "trending:city:";
+    private static final int CITY_LOOKUP_CHUNK = 1_000;
+
+    private final PopularityConfig config;
+    private final PropertyRepository propertyRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final AtomicReferenceArray<ConcurrentHashMap<UUID, DoubleAdder>> shards;
+    private final double halfLifeMs;
+
+    public PopularityServiceImpl(PopularityConfig config,
+                                 PropertyRepository propertyRepository,
+                                 StringRedisTemplate redisTemplate,
+                                 RedisCircuitBreaker circuitBreaker) {
+        this.config = config;
+        this.propertyRepository = propertyRepository;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.shards = new AtomicReferenceArray<>(Math.max(1, config.getShards()));
+        for (int i = 0; i < shards.length(); i++) {
+            shards.set(i, new ConcurrentHashMap<>());
+        }
+        this.halfLifeMs = config.getHalfLifeHours() * 3_600_000d;
+    }
+
+    @Override
+    public void recordView(UUID propertyId) {
+        record(propertyId, config.getViewWeight());
+    }
+
+    @Override
+    public void recordWishlist(UUID propertyId, boolean added) {
+        // Removals are not subtracted: at the current scale factor that would take far more than the save ever
+        // added and push the score below zero. The save simply decays like any other event.
+        if (added) record(propertyId, config.getWishlistWeight());
+    }
+
+    @Override
+    public void recordInquiry(UUID propertyId) {
+        record(propertyId, config.getInquiryWeight());
+    }
+
+    @Override
+    public List<UUID> getTrendingPropertyIds(String city, int limit) {
+        if (limit <= 0) return List.of();
+        String key = city == null || city.isBlank() ? GLOBAL_KEY : cityKey(city);
+        try {
+            Set<String> members = circuitBreaker.call(() -> redisTemplate.opsForZSet().reverseRange(key, 0, limit - 1));
+            if (members == null) return List.of();
+            List<UUID> ids = new ArrayList<>(members.size());
+            for (String member : members) {
+                ids.add(UUID.fromString(member));
+            }
+            return ids;
+        } catch (Exception e) {
+            log.warn("Trending ranking unavailable for {}: {}", key, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.popularity.flush-interval-ms:10000}")
+    public void flush() {
+        if (!config.isEnabled()) return;
+
+        // Swapping in a fresh map means an increment racing the swap may land in the old map after it was drained;
+        // that loses at most a few events per interval, which a ranking can tolerate
+        Map<UUID, Double> pending = new HashMap<>();
+        for (int i = 0; i < shards.length(); i++) {
+            ConcurrentHashMap<UUID, DoubleAdder> shard = shards.getAndSet(i, new ConcurrentHashMap<>());
+            shard.forEach((id, adder) -> pending.merge(id, adder.sum(), Double::sum));
+        }
+        if (pending.isEmpty()) return;
+
+        try {
+            // Properties that no longer exist are dropped here
+            Map<UUID, String> cities = resolveCities(pending.keySet());
+            if (cities.isEmpty()) return;
+
+            circuitBreaker.run(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                Set<String> touched = new HashSet<>();
+                touched.add(GLOBAL_KEY);
+                cities.forEach((id, city) -> {
+                    double score = pending.get(id);
+                    redis.zIncrBy(GLOBAL_KEY, score, id.toString());
+                    if (city != null && !city.isBlank()) {
+                        String key = cityKey(city);
+                        redis.zIncrBy(key, score, id.toString());
+                        touched.add(key);
+                    }
+                });
+                for (String key : touched) {
+                    redis.zRemRange(key, 0, -(config.getMaxRanked() + 1L));
+                }
+                return null;
+            }));
+            log.debug("Flushed popularity scores for {} properties", cities.size());
+        } catch (Exception e) {
+            // Not re-queued: while Redis is down the counters would otherwise grow without bound
+            log.warn("Could not flush popularity scores for {} properties: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void record(UUID propertyId, double weight) {
+        if (!config.isEnabled() || propertyId == null || weight <= 0) return;
+        double decayed = weight * Math.pow(2, (System.currentTimeMillis() - config.getEpoch().toEpochMilli()) / halfLifeMs);
+        int index = Math.floorMod(propertyId.hashCode(), shards.length());
+        shards.get(index).computeIfAbsent(propertyId, id -> new DoubleAdder()).add(decayed);
+    }
+
+    private Map<UUID, String> resolveCities(Set<UUID> propertyIds) {
+        Map<UUID, String> cities = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(propertyIds);
+        for (int from = 0; from < ids.size(); from += CITY_LOOKUP_CHUNK) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + CITY_LOOKUP_CHUNK));
+            for (Object[] row : propertyRepository.findCitiesByIds(chunk)) {
+                cities.put((UUID) row[0], (String) row[1]);
+            }
+        }
+        return cities;
+    }
+
+    private static String cityKey(String city) {
+        return CITY_KEY_PREFIX + city.trim().toLowerCase(Locale.ROOT);
+    }
+}
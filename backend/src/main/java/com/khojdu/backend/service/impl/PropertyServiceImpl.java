@@ -2,6 +2,7 @@ package com.khojdu.backend.service.impl;
 
 
 
+import com.khojdu.backend.config.HttpCacheConfig;
 import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.property.*;
 import com.khojdu.backend.entity.*;
@@ -11,27 +12,40 @@ import com.khojdu.backend.entity.enums.PropertyType;
 import com.khojdu.backend.entity.enums.VerificationStatus;
 import com.khojdu.backend.entity.enums.UserRole;
 import com.khojdu.backend.exception.BadRequestException;
+import com.khojdu.backend.exception.ConflictException;
 import com.khojdu.backend.exception.ForbiddenException;
 import com.khojdu.backend.exception.ResourceNotFoundException;
 import com.khojdu.backend.mapper.PropertyMapper;
 import com.khojdu.backend.repository.*;
+import com.khojdu.backend.service.CoOccurrenceService;
 import com.khojdu.backend.service.FileUploadService;
+import com.khojdu.backend.service.PopularityService;
 import com.khojdu.backend.service.PropertyService;
+import com.khojdu.backend.service.SimilarListingService;
+import com.khojdu.backend.service.WishlistCacheService;
+import com.khojdu.backend.util.HttpCacheUtil;
 import com.khojdu.backend.util.LocationUtil;
 import com.khojdu.backend.util.PaginationUtil;
+import com.khojdu.backend.util.RetryUtil;
+import com.khojdu.backend.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -42,11 +56,22 @@ public class PropertyServiceImpl implements PropertyService {
     private final PropertyRepository propertyRepository;
     private final PropertyImageRepository propertyImageRepository;
     private final PropertyViewRepository propertyViewRepository;
+    private final InquiryRepository inquiryRepository;
+    private final WishlistRepository wishlistRepository;
     private final UserRepository userRepository;
     private final AmenityRepository amenityRepository;
     private final NearbyPlaceRepository nearbyPlaceRepository;
     private final PropertyMapper propertyMapper;
     private final FileUploadService fileUploadService;
+    private final PopularityService popularityService;
+    private final SimilarListingService similarListingService;
+    private final CoOccurrenceService coOccurrenceService;
+    private final WishlistCacheService wishlistCacheService;
+    private final HttpCacheConfig httpCacheConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.concurrency.optimistic-retries:3}")
+    private int optimisticRetries;
 
     @Override
     @Transactional
@@ -161,16 +186,24 @@ public class PropertyServiceImpl implements PropertyService {
         }
 
         property = propertyRepository.save(property);
+        if (createdByAdmin) {
+            similarListingService.refreshAfterCommit(property.getId());
+        }
 
         log.info("Property created successfully: {}", property.getId());
         return propertyMapper.toPropertyResponse(property);
     }
 
     @Override
-    @Transactional
     public PropertyResponse updateProperty(UUID propertyId, PropertyUpdateRequest request, String landlordId) {
         log.info("Updating property: {} by landlord: {}", propertyId, landlordId);
 
+        // The request only sets the fields it carries, so re-applying it to fresh state after a lost race is safe
+        return RetryUtil.onOptimisticConflict(optimisticRetries,
+                () -> transactionTemplate.execute(status -> applyUpdate(propertyId, request, landlordId)));
+    }
+
+    private PropertyResponse applyUpdate(UUID propertyId, PropertyUpdateRequest request, String landlordId) {
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
 
@@ -183,6 +216,11 @@ public class PropertyServiceImpl implements PropertyService {
             throw new ForbiddenException("You can only update your own properties");
         }
 
+        // A client that sends the version it edited gets a conflict instead of overwriting a newer edit
+        if (request.getVersion() != null && !request.getVersion().equals(property.getVersion())) {
+            throw new ConflictException("Property was modified since it was loaded, reload it and try again");
+        }
+
         // Update fields if provided
         if (request.getTitle() != null) property.setTitle(request.getTitle());
         if (request.getDescription() != null) property.setDescription(request.getDescription());
@@ -237,10 +275,21 @@ public class PropertyServiceImpl implements PropertyService {
             }
         }
 
-        property = propertyRepository.save(property);
+        // Flushed here so the entity holds the version this update wrote
+        property = propertyRepository.saveAndFlush(property);
+        Long version = property.getVersion();
+        if (request.getAmenityIds() != null || request.getNearbyPlaces() != null) {
+            // Collection-only edits do not update the properties row; keep the version used for ETags moving.
+            // touch() bypasses the persistence context, so the bumped version is read back from the row.
+            propertyRepository.touch(propertyId);
+            version = propertyRepository.findCurrentVersion(propertyId);
+        }
+        similarListingService.refreshAfterCommit(property.getId());
 
         log.info("Property updated successfully: {}", property.getId());
-        return propertyMapper.toPropertyResponse(property);
+        PropertyResponse response = propertyMapper.toPropertyResponse(property);
+        response.setVersion(version);
+        return response;
     }
 
     @Override
@@ -260,7 +309,11 @@ public class PropertyServiceImpl implements PropertyService {
             throw new ForbiddenException("You can only delete your own properties");
         }
 
+        // Wishlist rows go with the property through ON DELETE CASCADE, which the cached id sets never hear about
+        List<UUID> wishlistedBy = wishlistRepository.findUserIdsByPropertyId(propertyId);
         propertyRepository.delete(property);
+        similarListingService.evictAfterCommit(propertyId);
+        TransactionUtil.afterCommit(() -> wishlistCacheService.evictAll(wishlistedBy));
         log.info("Property deleted successfully: {}", propertyId);
     }
 
@@ -296,14 +349,7 @@ public class PropertyServiceImpl implements PropertyService {
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
 
-        User requester = null;
-        if (userId != null) {
-            try {
-                requester = userRepository.findById(UUID.fromString(userId)).orElse(null);
-            } catch (IllegalArgumentException ignored) {
-                requester = userRepository.findByEmail(userId).orElse(null);
-            }
-        }
+        User requester = resolveRequester(userId);
 
         boolean isOwner = requester != null && property.getLandlord() != null
                 && property.getLandlord().getId().equals(requester.getId());
@@ -315,16 +361,28 @@ public class PropertyServiceImpl implements PropertyService {
 
         // Record property view
         if (property.getStatus().equals(PropertyStatus.APPROVED)) {
-            PropertyView view = new PropertyView();
-            view.setProperty(property);
-            view.setUser(requester);
-            view.setViewedAt(LocalDateTime.now());
-            propertyViewRepository.save(view);
+            recordView(property, requester);
         }
 
         return propertyMapper.toPropertyResponse(property);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getPublicPropertyETag(UUID propertyId) {
+        List<Object[]> rows = propertyRepository.findVersionById(propertyId);
+        // Unapproved listings are only visible to their owner and admins; they are never validated or cached
+        if (rows.isEmpty() || rows.get(0)[0] != PropertyStatus.APPROVED) return null;
+        Object[] row = rows.get(0);
+        return HttpCacheUtil.weakETag(propertyId, row[1], row[2], row[3], httpCacheConfig.statsBucket());
+    }
+
+    @Override
+    @Transactional
+    public void recordPublicView(UUID propertyId, String userId) {
+        recordView(propertyRepository.getReferenceById(propertyId), resolveRequester(userId));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<PropertyListResponse> searchProperties(PropertySearchRequest request) {
@@ -412,6 +470,22 @@ public class PropertyServiceImpl implements PropertyService {
         return PaginationUtil.createPagedResponse(propertyPage, properties);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getFeaturedPropertiesETag(int page, int size) {
+        Pageable pageable = PaginationUtil.createPageable(page, size, "createdAt", "DESC");
+        return HttpCacheUtil.weakETag("featured", pageable.getPageNumber(), pageable.getPageSize(),
+                versionsOf(propertyRepository.findFeaturedVersions(pageable)), httpCacheConfig.statsBucket());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getRecentPropertiesETag(int page, int size) {
+        Pageable pageable = PaginationUtil.createPageable(page, size, "createdAt", "DESC");
+        return HttpCacheUtil.weakETag("recent", pageable.getPageNumber(), pageable.getPageSize(),
+                versionsOf(propertyRepository.findRecentVersions(pageable)), httpCacheConfig.statsBucket());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<PropertyListResponse> getRecentProperties(int page, int size) {
@@ -449,16 +523,18 @@ public class PropertyServiceImpl implements PropertyService {
             throw new BadRequestException("Maximum 10 images allowed per property");
         }
 
+        AtomicInteger nextOrder = new AtomicInteger((int) currentImageCount);
         List<String> uploadedUrls = images.stream()
                 .map(image -> {
                     try {
                         String imageUrl = fileUploadService.uploadImage(image, "properties");
 
+                        int order = nextOrder.getAndIncrement();
                         PropertyImage propertyImage = new PropertyImage();
                         propertyImage.setProperty(property);
                         propertyImage.setImageUrl(imageUrl);
-                        propertyImage.setIsPrimary(currentImageCount == 0); // First image is primary
-                        propertyImage.setDisplayOrder((int) currentImageCount);
+                        propertyImage.setIsPrimary(order == 0); // First image is primary
+                        propertyImage.setDisplayOrder(order);
                         propertyImageRepository.save(propertyImage);
 
                         return imageUrl;
@@ -468,6 +544,7 @@ public class PropertyServiceImpl implements PropertyService {
                     }
                 })
                 .collect(Collectors.toList());
+        propertyRepository.touch(propertyId);
 
         log.info("Successfully uploaded {} images for property: {}", uploadedUrls.size(), propertyId);
         return uploadedUrls;
@@ -509,6 +586,7 @@ public class PropertyServiceImpl implements PropertyService {
                 propertyImageRepository.save(newPrimary);
             }
         }
+        propertyRepository.touch(propertyId);
 
         log.info("Image deleted successfully: {}", imageId);
     }
@@ -530,14 +608,6 @@ public class PropertyServiceImpl implements PropertyService {
             throw new ForbiddenException("You can only modify your own properties");
         }
 
-        // Reset current primary image
-        propertyImageRepository.findByPropertyAndIsPrimary(property, true)
-                .ifPresent(currentPrimary -> {
-                    currentPrimary.setIsPrimary(false);
-                    propertyImageRepository.save(currentPrimary);
-                });
-
-        // Set new primary image
         PropertyImage newPrimary = propertyImageRepository.findById(imageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Image not found"));
 
@@ -545,8 +615,11 @@ public class PropertyServiceImpl implements PropertyService {
             throw new BadRequestException("Image does not belong to this property");
         }
 
-        newPrimary.setIsPrimary(true);
-        propertyImageRepository.save(newPrimary);
+        // Touch first: the property row lock queues concurrent calls for the same property, and each later statement
+        // sees the previous winner's primary, so exactly one remains (backed by ux_property_images_one_primary)
+        propertyRepository.touch(propertyId);
+        propertyImageRepository.clearPrimaryExcept(propertyId, imageId);
+        propertyImageRepository.markPrimary(propertyId, imageId);
 
         log.info("Primary image set successfully: {}", imageId);
     }
@@ -569,15 +642,23 @@ public class PropertyServiceImpl implements PropertyService {
         // This is a simplified version - implement detailed stats as needed
         PropertyStatsResponse stats = new PropertyStatsResponse();
         stats.setTotalViews(propertyViewRepository.countByProperty(property));
+        stats.setTotalInquiries(inquiryRepository.countByProperty(property));
+        stats.setTotalWishlists(wishlistRepository.countByIdPropertyId(propertyId));
 
         return stats;
     }
 
     @Override
-    @Transactional
     public void toggleAvailability(UUID propertyId, String landlordId) {
         log.info("Toggling availability for property: {}", propertyId);
 
+        Boolean available = RetryUtil.onOptimisticConflict(optimisticRetries,
+                () -> transactionTemplate.execute(status -> toggleAvailabilityOnce(propertyId, landlordId)));
+
+        log.info("Property availability toggled: {} - {}", propertyId, available);
+    }
+
+    private boolean toggleAvailabilityOnce(UUID propertyId, String landlordId) {
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
 
@@ -590,10 +671,12 @@ public class PropertyServiceImpl implements PropertyService {
             throw new ForbiddenException("You can only modify your own properties");
         }
 
-        property.setIsAvailable(!property.getIsAvailable());
-        propertyRepository.save(property);
-
-        log.info("Property availability toggled: {} - {}", propertyId, property.getIsAvailable());
+        boolean available = !Boolean.TRUE.equals(property.getIsAvailable());
+        if (propertyRepository.updateAvailability(propertyId, available, property.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Property.class, propertyId);
+        }
+        similarListingService.refreshAfterCommit(propertyId);
+        return available;
     }
 
     @Override
@@ -601,11 +684,9 @@ public class PropertyServiceImpl implements PropertyService {
     public void markAsFeatured(UUID propertyId, boolean featured) {
         log.info("Marking property as featured: {} - {}", propertyId, featured);
 
-        Property property = propertyRepository.findById(propertyId)
-                .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
-
-        property.setIsFeatured(featured);
-        propertyRepository.save(property);
+        if (propertyRepository.updateFeatured(propertyId, featured) == 0) {
+            throw new ResourceNotFoundException("Property not found");
+        }
 
         log.info("Property featured status updated: {}", propertyId);
     }
@@ -613,6 +694,12 @@ public class PropertyServiceImpl implements PropertyService {
     @Override
     @Transactional(readOnly = true)
     public List<PropertyListResponse> getSimilarProperties(UUID propertyId, int limit) {
+        Optional<List<UUID>> precomputed = similarListingService.getSimilarPropertyIds(propertyId);
+        if (precomputed.isPresent()) {
+            return loadLiveInOrder(precomputed.get(), Math.min(Math.max(limit, 1), 50));
+        }
+
+        // No neighbour list yet (new listing, or the rebuild has not run): fall back to a search
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
 
@@ -642,4 +729,64 @@ public class PropertyServiceImpl implements PropertyService {
                 .map(propertyMapper::toPropertyListResponse)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PropertyListResponse> getTrendingProperties(String city, int limit) {
+        int size = Math.min(Math.max(limit, 1), 50);
+
+        // Over-fetch so listings that went off the market since they were ranked can be skipped
+        return loadLiveInOrder(popularityService.getTrendingPropertyIds(city, size * 2), size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PropertyListResponse> getAlsoViewedProperties(UUID propertyId, int limit) {
+        if (!propertyRepository.existsById(propertyId)) {
+            throw new ResourceNotFoundException("Property not found");
+        }
+        return loadLiveInOrder(coOccurrenceService.getAlsoViewedPropertyIds(propertyId), Math.min(Math.max(limit, 1), 50));
+    }
+
+    private User resolveRequester(String userId) {
+        if (userId == null) return null;
+        try {
+            return userRepository.findById(UUID.fromString(userId)).orElse(null);
+        } catch (IllegalArgumentException ignored) {
+            return userRepository.findByEmail(userId).orElse(null);
+        }
+    }
+
+    private void recordView(Property property, User requester) {
+        PropertyView view = new PropertyView();
+        view.setProperty(property);
+        view.setUser(requester);
+        view.setViewedAt(LocalDateTime.now());
+        propertyViewRepository.save(view);
+        UUID propertyId = property.getId();
+        TransactionUtil.afterCommit(() -> popularityService.recordView(propertyId));
+    }
+
+    private static String versionsOf(List<Object[]> rows) {
+        StringBuilder versions = new StringBuilder();
+        for (Object[] row : rows) {
+            versions.append(row[0]).append('@').append(row[1]).append(';');
+        }
+        return versions.toString();
+    }
+
+    // Loads the given listings in one query, keeping their order and dropping any that are no longer live
+    private List<PropertyListResponse> loadLiveInOrder(List<UUID> ids, int limit) {
+        if (ids.isEmpty()) return Collections.emptyList();
+
+        Map<UUID, Property> byId = propertyRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Property::getId, p -> p));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(p -> p != null && p.getStatus() == PropertyStatus.APPROVED && Boolean.TRUE.equals(p.getIsAvailable()))
+                .limit(limit)
+                .map(propertyMapper::toPropertyListResponse)
+                .collect(Collectors.toList());
+    }
 }
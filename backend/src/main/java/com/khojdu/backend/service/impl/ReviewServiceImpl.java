@@ -15,6 +15,7 @@ import com.khojdu.backend.repository.PropertyRepository;
 import com.khojdu.backend.repository.ReviewRepository;
 import com.khojdu.backend.repository.UserRepository;
 import com.khojdu.backend.service.ReviewService;
+import com.khojdu.backend.util.HttpCacheUtil;
 import com.khojdu.backend.util.PaginationUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -154,6 +155,15 @@ public class ReviewServiceImpl implements ReviewService {
         return PaginationUtil.createPagedResponse(reviewPage, reviews);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getPropertyReviewSummaryETag(UUID propertyId) {
+        // The count catches deletions, the latest update catches edits; unknown properties get no validator (404 follows)
+        Object[] version = reviewRepository.findVersionByPropertyId(propertyId).get(0);
+        if (((Number) version[0]).longValue() == 0 && !propertyRepository.existsById(propertyId)) return null;
+        return HttpCacheUtil.weakETag(propertyId, version[0], version[1]);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ReviewSummaryResponse getPropertyReviewSummary(UUID propertyId) {
@@ -0,0 +1,416 @@
+package com.khojdu.backend.service.impl;
+
+import com.khojdu.backend.config.SimilarityConfig;
+import com.khojdu.backend.security.redis.RedisCircuitBreaker;
+import com.khojdu.backend.service.SimilarListingService;
+import com.khojdu.backend.util.TransactionUtil;
+import com.khojdu.backend.util.UuidListCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Precomputed similar-listing neighbours. Every live (approved and available) property is reduced to a feature
+ * vector; its nearest neighbours by weighted distance are stored in Redis as one compact value per property
+ * (packed 16-byte ids, base64), so the detail page needs a single GET plus one batched load of the listings.
+ * <p>
+ * Candidates are the properties closest in rent within the same city ({@code candidateWindow} on each side), which
+ * keeps the nightly rebuild linear in the number of listings. A property's own list is recomputed after it changes;
+ * other lists pick it up at the next rebuild. Lists that point at listings no longer live are filtered when read.
+ */
+@Slf4j
+@Service
+public class SimilarListingServiceImpl implements SimilarListingService {
+
+    private static final String KEY_PREFIX = "similar:";
+    private static final String BUILT_KEY = "similar:_built";
+    private static final String LOCK_KEY = "similar:_rebuild_lock";
+    private static final Duration LOCK_TTL = Duration.ofHours(1);
+    // Deletes the lock only while it still holds this rebuild's token; past the TTL another node may own it
+    private static final DefaultRedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+    private static final int WRITE_CHUNK = 1_000;
+
+    private static final String[] FLAG_COLUMNS = {
+            "is_furnished", "parking_available", "internet_included",
+            "utilities_included", "pets_allowed", "smoking_allowed"
+    };
+
+    private static final String FEATURE_COLUMNS =
+            "p.id, p.city, p.property_type, p.monthly_rent, p.bedrooms, p.latitude, p.longitude, " +
+            "p.is_furnished, p.parking_available, p.internet_included, p.utilities_included, p.pets_allowed, p.smoking_allowed";
+    private static final String LIVE = "p.status = 'APPROVED' AND p.is_available = true";
+
+    private static final String ALL_LIVE_SQL = "SELECT " + FEATURE_COLUMNS + " FROM properties p WHERE " + LIVE;
+    private static final String ALL_LIVE_AMENITIES_SQL =
+            "SELECT pa.property_id, pa.amenity_id FROM property_amenities pa " +
+            "JOIN properties p ON p.id = pa.property_id WHERE " + LIVE;
+    private static final String ONE_LIVE_SQL =
+            "SELECT " + FEATURE_COLUMNS + " FROM properties p WHERE p.id = :id AND " + LIVE;
+    // Nearest rents on either side within the city; both halves are range scans on idx_properties_live_city_rent
+    private static final String CANDIDATES_SQL =
+            "(SELECT " + FEATURE_COLUMNS + " FROM properties p WHERE " + LIVE +
+            " AND p.city = :city AND p.monthly_rent >= :rent AND p.id <> :id ORDER BY p.monthly_rent LIMIT :window)" +
+            " UNION ALL " +
+            "(SELECT " + FEATURE_COLUMNS + " FROM properties p WHERE " + LIVE +
+            " AND p.city = :city AND p.monthly_rent < :rent AND p.id <> :id ORDER BY p.monthly_rent DESC LIMIT :window)";
+    private static final String AMENITIES_SQL =
+            "SELECT property_id, amenity_id FROM property_amenities WHERE property_id IN (:ids)";
+
+    private final SimilarityConfig config;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TaskExecutor taskExecutor;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public SimilarListingServiceImpl(SimilarityConfig config,
+                                     DataSource dataSource,
+                                     NamedParameterJdbcTemplate namedJdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                     StringRedisTemplate redisTemplate,
+                                     RedisCircuitBreaker circuitBreaker) {
+        this.config = config;
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(1000);
+        this.namedJdbcTemplate = namedJdbcTemplate;
+
+        // The PostgreSQL driver only streams with a fetch size when autocommit is off
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+
+        this.taskExecutor = taskExecutor;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Optional<List<UUID>> getSimilarPropertyIds(UUID propertyId) {
+        if (!config.isEnabled()) return Optional.empty();
+        try {
+            String value = circuitBreaker.call(() -> redisTemplate.opsForValue().get(KEY_PREFIX + propertyId));
+            return value == null ? Optional.empty() : Optional.of(UuidListCodec.decode(value));
+        } catch (Exception e) {
+            log.debug("Similar listings unavailable for {}: {}", propertyId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void refreshAfterCommit(UUID propertyId) {
+        if (!config.isEnabled()) return;
+        TransactionUtil.afterCommit(() -> taskExecutor.execute(() -> refresh(propertyId)));
+    }
+
+    @Override
+    public void evictAfterCommit(UUID propertyId) {
+        if (!config.isEnabled()) return;
+        TransactionUtil.afterCommit(() -> evict(propertyId));
+    }
+
+    @Scheduled(cron = "${app.similarity.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuildAll();
+    }
+
+    @Override
+    public int rebuildAll() {
+        if (!config.isEnabled()) return 0;
+        String lockToken = acquireLock();
+        if (lockToken == null) return 0;
+
+        long started = System.nanoTime();
+        try {
+            Map<UUID, Features> features = new HashMap<>();
+            Map<UUID, Integer> amenityIndex = new HashMap<>();
+            readTransaction.executeWithoutResult(status -> {
+                cursorJdbcTemplate.query(ALL_LIVE_SQL, rs -> {
+                    Features f = mapFeatures(rs);
+                    features.put(f.id, f);
+                });
+                cursorJdbcTemplate.query(ALL_LIVE_AMENITIES_SQL, rs -> {
+                    Features f = features.get(rs.getObject(1, UUID.class));
+                    if (f != null) f.addAmenity(indexOf(amenityIndex, rs.getObject(2, UUID.class)));
+                });
+            });
+
+            Map<String, List<Features>> byCity = new HashMap<>();
+            for (Features f : features.values()) {
+                byCity.computeIfAbsent(f.city, city -> new ArrayList<>()).add(f);
+            }
+
+            int window = config.getCandidateWindow();
+            Map<UUID, List<UUID>> pending = new HashMap<>();
+            int written = 0;
+            for (List<Features> city : byCity.values()) {
+                city.sort(Comparator.comparingDouble(f -> f.logRent));
+                for (int i = 0; i < city.size(); i++) {
+                    List<Features> candidates = city.subList(Math.max(0, i - window), Math.min(city.size(), i + window + 1));
+                    pending.put(city.get(i).id, nearest(city.get(i), candidates));
+                    if (pending.size() >= WRITE_CHUNK) {
+                        written += write(pending);
+                    }
+                }
+            }
+            written += write(pending);
+
+            circuitBreaker.run(() -> redisTemplate.opsForValue()
+                    .set(BUILT_KEY, String.valueOf(System.currentTimeMillis()), Duration.ofHours(config.getTtlHours())));
+            log.info("Rebuilt similar listings for {} properties in {} cities in {} ms",
+                    written, byCity.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+            return written;
+        } catch (Exception e) {
+            log.error("Similar listings rebuild failed", e);
+            return 0;
+        } finally {
+            releaseLock(lockToken);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        if (!config.isEnabled() || !config.isRebuildOnStartup()) return;
+        try {
+            if (Boolean.TRUE.equals(circuitBreaker.call(() -> redisTemplate.hasKey(BUILT_KEY)))) return;
+        } catch (Exception e) {
+            log.debug("Skipping startup rebuild of similar listings: {}", e.getMessage());
+            return;
+        }
+        log.info("No similar listings found; rebuilding in the background");
+        taskExecutor.execute(this::rebuildAll);
+    }
+
+    @Override
+    public void refresh(UUID propertyId) {
+        if (!config.isEnabled()) return;
+        try {
+            List<Features> subject = namedJdbcTemplate.query(ONE_LIVE_SQL,
+                    new MapSqlParameterSource("id", propertyId), (rs, rowNum) -> mapFeatures(rs));
+            if (subject.isEmpty()) {
+                evict(propertyId);
+                return;
+            }
+            Features f = subject.get(0);
+
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("id", propertyId)
+                    .addValue("city", f.city)
+                    .addValue("rent", f.rent)
+                    .addValue("window", config.getCandidateWindow());
+            List<Features> candidates = namedJdbcTemplate.query(CANDIDATES_SQL, params, (rs, rowNum) -> mapFeatures(rs));
+
+            // Bit positions only have to agree within this one comparison
+            Map<UUID, Features> byId = new HashMap<>();
+            byId.put(f.id, f);
+            candidates.forEach(c -> byId.put(c.id, c));
+            Map<UUID, Integer> amenityIndex = new HashMap<>();
+            namedJdbcTemplate.query(AMENITIES_SQL, new MapSqlParameterSource("ids", byId.keySet()), rs -> {
+                Features owner = byId.get(rs.getObject(1, UUID.class));
+                if (owner != null) owner.addAmenity(indexOf(amenityIndex, rs.getObject(2, UUID.class)));
+            });
+
+            Map<UUID, List<UUID>> lists = new HashMap<>();
+            lists.put(propertyId, nearest(f, candidates));
+            write(lists);
+        } catch (Exception e) {
+            log.warn("Could not refresh similar listings for {}: {}", propertyId, e.getMessage());
+        }
+    }
+
+    private void evict(UUID propertyId) {
+        try {
+            circuitBreaker.run(() -> redisTemplate.delete(KEY_PREFIX + propertyId));
+        } catch (Exception e) {
+            log.warn("Could not evict similar listings for {}: {}", propertyId, e.getMessage());
+        }
+    }
+
+    private List<UUID> nearest(Features subject, List<Features> candidates) {
+        int k = config.getNeighbours();
+        // Max-heap on distance holding the best k seen so far; ties broken by id so rebuilds are deterministic
+        Comparator<Scored> worstFirst = Comparator.comparingDouble(Scored::distance)
+                .thenComparing(Scored::id)
+                .reversed();
+        PriorityQueue<Scored> best = new PriorityQueue<>(k + 1, worstFirst);
+        for (Features candidate : candidates) {
+            if (candidate.id.equals(subject.id)) continue;
+            best.add(new Scored(candidate.id, distance(subject, candidate)));
+            if (best.size() > k) best.poll();
+        }
+
+        List<Scored> ordered = new ArrayList<>(best);
+        ordered.sort(worstFirst.reversed());
+        List<UUID> ids = new ArrayList<>(ordered.size());
+        for (Scored s : ordered) ids.add(s.id());
+        return ids;
+    }
+
+    private double distance(Features a, Features b) {
+        SimilarityConfig.Weights w = config.getWeights();
+        double d = 0;
+        if (!a.type.equals(b.type)) d += w.getType();
+        d += w.getRent() * Math.abs(a.logRent - b.logRent);
+        d += w.getBedrooms() * Math.abs(a.bedrooms - b.bedrooms);
+        d += w.getDistance() * geoDistance(a, b, w.getDistanceScaleKm());
+        d += w.getFeatures() * Integer.bitCount(a.flags ^ b.flags) / (double) FLAG_COLUMNS.length;
+        d += w.getAmenities() * (1 - jaccard(a.amenities, b.amenities));
+        return d;
+    }
+
+    // Equirectangular approximation, accurate at the city scale this is used for; unknown coordinates score halfway
+    private static double geoDistance(Features a, Features b, double scaleKm) {
+        if (Double.isNaN(a.lat) || Double.isNaN(b.lat)) return 0.5;
+        double x = Math.toRadians(b.lon - a.lon) * Math.cos(Math.toRadians((a.lat + b.lat) / 2));
+        double y = Math.toRadians(b.lat - a.lat);
+        double km = Math.sqrt(x * x + y * y) * 6371;
+        return Math.min(km / scaleKm, 1);
+    }
+
+    private static double jaccard(long[] a, long[] b) {
+        int intersection = 0;
+        int union = 0;
+        for (int i = 0; i < Math.max(a.length, b.length); i++) {
+            long x = i < a.length ? a[i] : 0;
+            long y = i < b.length ? b[i] : 0;
+            intersection += Long.bitCount(x & y);
+            union += Long.bitCount(x | y);
+        }
+        return union == 0 ? 1 : (double) intersection / union;
+    }
+
+    private int write(Map<UUID, List<UUID>> lists) {
+        if (lists.isEmpty()) return 0;
+        long ttlSeconds = Duration.ofHours(config.getTtlHours()).toSeconds();
+        circuitBreaker.run(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            lists.forEach((id, neighbours) -> redis.setEx(KEY_PREFIX + id, ttlSeconds, UuidListCodec.encode(neighbours)));
+            return null;
+        }));
+        int count = lists.size();
+        lists.clear();
+        return count;
+    }
+
+    // Returns the token the lock was taken with, or null when another node holds it or Redis is unavailable
+    private String acquireLock() {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = circuitBreaker.call(() -> redisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY, token, LOCK_TTL));
+            if (!Boolean.TRUE.equals(acquired)) {
+                log.info("Similar listings rebuild already running elsewhere; skipping");
+                return null;
+            }
+            return token;
+        } catch (Exception e) {
+            log.warn("Skipping similar listings rebuild, Redis unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void releaseLock(String token) {
+        try {
+            circuitBreaker.call(() -> redisTemplate.execute(RELEASE_LOCK, List.of(LOCK_KEY), token));
+        } catch (Exception e) {
+            log.debug("Could not release similar listings lock: {}", e.getMessage());
+        }
+    }
+
+    private static int indexOf(Map<UUID, Integer> amenityIndex, UUID amenityId) {
+        Integer index = amenityIndex.get(amenityId);
+        if (index == null) {
+            index = amenityIndex.size();
+            amenityIndex.put(amenityId, index);
+        }
+        return index;
+    }
+
+    private static Features mapFeatures(ResultSet rs) throws SQLException {
+        BigDecimal rent = rs.getBigDecimal("monthly_rent");
+        Integer bedrooms = rs.getObject("bedrooms", Integer.class);
+        BigDecimal lat = rs.getBigDecimal("latitude");
+        BigDecimal lon = rs.getBigDecimal("longitude");
+        int flags = 0;
+        for (int i = 0; i < FLAG_COLUMNS.length; i++) {
+            if (rs.getBoolean(FLAG_COLUMNS[i])) flags |= 1 << i;
+        }
+        return new Features(
+                rs.getObject("id", UUID.class),
+                rs.getString("city"),
+                rs.getString("property_type"),
+                rent,
+                bedrooms != null ? bedrooms : 1,
+                lat != null && lon != null ? lat.doubleValue() : Double.NaN,
+                lon != null && lat != null ? lon.doubleValue() : Double.NaN,
+                flags);
+    }
+
+    private record Scored(UUID id, double distance) {
+    }
+
+    private static final class Features {
+        private static final long[] NO_AMENITIES = new long[0];
+
+        final UUID id;
+        final String city;
+        final String type;
+        final BigDecimal rent;
+        final double logRent;
+        final int bedrooms;
+        final double lat;
+        final double lon;
+        final int flags;
+        long[] amenities = NO_AMENITIES;
+
+        Features(UUID id, String city, String type, BigDecimal rent, int bedrooms, double lat, double lon, int flags) {
+            this.id = id;
+            this.city = city;
+            this.type = type;
+            this.rent = rent;
+            this.logRent = Math.log(Math.max(rent.doubleValue(), 1));
+            this.bedrooms = bedrooms;
+            this.lat = lat;
+            this.lon = lon;
+            this.flags = flags;
+        }
+
+        void addAmenity(int index) {
+            int word = index >>> 6;
+            if (word >= amenities.length) {
+                amenities = Arrays.copyOf(amenities, word + 1);
+            }
+            amenities[word] |= 1L << index;
+        }
+    }
+}
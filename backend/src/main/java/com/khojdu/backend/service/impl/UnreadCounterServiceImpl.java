@@ -0,0 +1,238 @@
+package com.khojdu.backend.service.impl;
+
+import com.khojdu.backend.service.UnreadCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Unread badges kept in Redis so polling does not run COUNT queries.
+ * A counter is loaded from the database on first read and then adjusted on writes. Writes never create a
+ * counter: a missing key simply means "not cached". A load could still read the database just before a write
+ * commits and store the result after the write found no counter to adjust, so each load first writes a marker
+ * holding a fresh token, every write deletes the marker, and the load only stores its count if its token is still
+ * there. Keys expire after the reconcile interval, which bounds any remaining drift.
+ * When Redis is unavailable every read falls through to the loader.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnreadCounterServiceImpl implements UnreadCounterService {
+
+    // A counter and its load marker share the hash tag, so the scripts that touch both stay on one cluster slot
+    private static final String NOTIFICATIONS_KEY_PREFIX = "unread:notifications:";
+    private static final String MESSAGES_KEY_PREFIX = "unread:messages:";
+    private static final String LOAD_MARKER_INFIX = "loading:";
+    // Present in every loaded message hash so that "no unread messages" is distinguishable from "not loaded"
+    private static final String LOADED_FIELD = "_loaded";
+
+    // Only needs to outlive one loader query
+    private static final Duration LOAD_MARKER_TTL = Duration.ofSeconds(30);
+
+    // KEYS[1] is the counter, KEYS[2] its load marker
+    private static final DefaultRedisScript<Long> INCREMENT_IF_EXISTS = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[2]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "local value = redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+            "if value < 0 then redis.call('SET', KEYS[1], 0, 'KEEPTTL') value = 0 end " +
+            "return value", Long.class);
+
+    private static final DefaultRedisScript<Long> HINCREMENT_IF_EXISTS = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[2]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "local value = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "if value < 0 then redis.call('HSET', KEYS[1], ARGV[1], 0) value = 0 end " +
+            "return value", Long.class);
+
+    private static final DefaultRedisScript<Long> HSET_IF_EXISTS = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[2]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) return 1", Long.class);
+
+    // ARGV[1] is the load token, ARGV[2] the TTL in ms, ARGV[3] the count
+    private static final DefaultRedisScript<Long> SET_IF_CURRENT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[2]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[3], 'PX', ARGV[2]) return 1", Long.class);
+
+    // ARGV[1] is the load token, ARGV[2] the TTL in ms, followed by field/value pairs
+    private static final DefaultRedisScript<Long> HSET_ALL_IF_CURRENT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[2]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "for i = 3, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.notifications.unread-counter-ttl-ms:900000}")
+    private long counterTtlMs;
+
+    @Override
+    public long getUnreadNotifications(UUID userId, Supplier<Long> loader) {
+        List<String> keys = keys(NOTIFICATIONS_KEY_PREFIX, userId);
+        try {
+            String cached = redisTemplate.opsForValue().get(keys.get(0));
+            if (cached != null) return Long.parseLong(cached);
+        } catch (Exception e) {
+            log.warn("Redis unavailable - reading unread notifications for user {} from database: {}", userId, e.getMessage());
+            return loader.get();
+        }
+
+        String token = mark(keys);
+        long count = loader.get();
+        if (token == null) return count;
+        try {
+            // Stores nothing if a write committed (and dropped the marker) while the loader was reading
+            redisTemplate.execute(SET_IF_CURRENT, keys, token, String.valueOf(counterTtlMs), String.valueOf(count));
+        } catch (Exception e) {
+            log.debug("Could not cache unread notifications for user {}: {}", userId, e.getMessage());
+        }
+        return count;
+    }
+
+    @Override
+    public void adjustUnreadNotifications(UUID userId, long delta) {
+        if (delta == 0) return;
+        try {
+            redisTemplate.execute(INCREMENT_IF_EXISTS, keys(NOTIFICATIONS_KEY_PREFIX, userId), String.valueOf(delta));
+        } catch (Exception e) {
+            evict(keys(NOTIFICATIONS_KEY_PREFIX, userId), e);
+        }
+    }
+
+    @Override
+    public void resetUnreadNotifications(UUID userId) {
+        // A load in flight finds the key present and keeps it
+        List<String> keys = keys(NOTIFICATIONS_KEY_PREFIX, userId);
+        try {
+            redisTemplate.opsForValue().set(keys.get(0), "0", counterTtlMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            evict(keys, e);
+        }
+    }
+
+    @Override
+    public void evictUnreadNotifications(UUID userId) {
+        try {
+            redisTemplate.delete(keys(NOTIFICATIONS_KEY_PREFIX, userId));
+        } catch (Exception e) {
+            log.debug("Could not evict unread notifications for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<UUID, Long> getUnreadMessages(UUID userId, Collection<UUID> inquiryIds, Supplier<Map<UUID, Long>> loader) {
+        Map<UUID, Long> result = new HashMap<>();
+        if (inquiryIds.isEmpty()) return result;
+
+        Map<UUID, Long> all = loadMessageCounts(userId, loader);
+        for (UUID inquiryId : inquiryIds) {
+            result.put(inquiryId, all.getOrDefault(inquiryId, 0L));
+        }
+        return result;
+    }
+
+    @Override
+    public long getTotalUnreadMessages(UUID userId, Supplier<Map<UUID, Long>> loader) {
+        return loadMessageCounts(userId, loader).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public void adjustUnreadMessages(UUID userId, UUID inquiryId, long delta) {
+        if (delta == 0) return;
+        try {
+            redisTemplate.execute(HINCREMENT_IF_EXISTS, keys(MESSAGES_KEY_PREFIX, userId),
+                    inquiryId.toString(), String.valueOf(delta));
+        } catch (Exception e) {
+            evict(keys(MESSAGES_KEY_PREFIX, userId), e);
+        }
+    }
+
+    @Override
+    public void resetUnreadMessages(UUID userId, UUID inquiryId) {
+        try {
+            redisTemplate.execute(HSET_IF_EXISTS, keys(MESSAGES_KEY_PREFIX, userId), inquiryId.toString(), "0");
+        } catch (Exception e) {
+            evict(keys(MESSAGES_KEY_PREFIX, userId), e);
+        }
+    }
+
+    private Map<UUID, Long> loadMessageCounts(UUID userId, Supplier<Map<UUID, Long>> loader) {
+        List<String> keys = keys(MESSAGES_KEY_PREFIX, userId);
+        try {
+            Map<Object, Object> cached = redisTemplate.opsForHash().entries(keys.get(0));
+            if (!cached.isEmpty()) {
+                Map<UUID, Long> counts = new HashMap<>();
+                cached.forEach((field, value) -> {
+                    if (!LOADED_FIELD.equals(field)) {
+                        counts.put(UUID.fromString(field.toString()), Long.parseLong(value.toString()));
+                    }
+                });
+                return counts;
+            }
+        } catch (Exception e) {
+            log.warn("Redis unavailable - reading unread messages for user {} from database: {}", userId, e.getMessage());
+            return loader.get();
+        }
+
+        String token = mark(keys);
+        Map<UUID, Long> counts = loader.get();
+        if (token == null) return counts;
+        try {
+            List<String> args = new ArrayList<>();
+            args.add(token);
+            args.add(String.valueOf(counterTtlMs));
+            args.add(LOADED_FIELD);
+            args.add("1");
+            counts.forEach((inquiryId, count) -> {
+                args.add(inquiryId.toString());
+                args.add(String.valueOf(count));
+            });
+            redisTemplate.execute(HSET_ALL_IF_CURRENT, keys, args.toArray());
+        } catch (Exception e) {
+            log.debug("Could not cache unread messages for user {}: {}", userId, e.getMessage());
+        }
+        return counts;
+    }
+
+    // Writes the load marker; null when Redis is unavailable, in which case the count is not cached
+    private String mark(List<String> keys) {
+        String token = UUID.randomUUID().toString();
+        try {
+            redisTemplate.opsForValue().set(keys.get(1), token, LOAD_MARKER_TTL);
+            return token;
+        } catch (Exception e) {
+            log.debug("Could not mark unread counter load {}: {}", keys.get(0), e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<String> keys(String prefix, UUID userId) {
+        return List.of(prefix + "{" + userId + "}", prefix + LOAD_MARKER_INFIX + "{" + userId + "}");
+    }
+
+    // A counter that may have missed an update is dropped, with any load marker, so the next read reloads it
+    private void evict(List<String> keys, Exception cause) {
+        log.warn("Could not update unread counter {}: {}", keys.get(0), cause.getMessage());
+        try {
+            redisTemplate.delete(keys);
+        } catch (Exception ignored) {
+            // Redis is down; the key expires on its own
+        }
+    }
+}
@@ -15,7 +15,9 @@ import com.khojdu.backend.mapper.UserMapper;
 import com.khojdu.backend.repository.LandlordVerificationRepository;
 import com.khojdu.backend.repository.UserProfileRepository;
 import com.khojdu.backend.repository.UserRepository;
+import com.khojdu.backend.security.redis.TokenRevocationStore;
 import com.khojdu.backend.service.UserService;
+import com.khojdu.backend.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -34,6 +36,7 @@ public class UserServiceImpl implements UserService {
     private final LandlordVerificationRepository landlordVerificationRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Override
     @Transactional(readOnly = true)
@@ -94,6 +97,7 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.delete(user);
+        TransactionUtil.afterCommit(() -> tokenRevocationStore.revokeAll(user.getId()));
         log.info("Account deleted successfully for user: {}", identifier);
     }
 
@@ -141,7 +145,9 @@ public class UserServiceImpl implements UserService {
     private User resolveUser(String identifier) {
         // If SecurityContext already holds the principal, reuse it to avoid repo mismatches
         var authentication = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof com.khojdu.backend.security.UserPrincipal principal) {
+        // Token-authenticated principals carry no entity, only the id
+        if (authentication != null && authentication.getPrincipal() instanceof com.khojdu.backend.security.UserPrincipal principal
+                && principal.getUser() != null) {
             return principal.getUser();
         }
 
@@ -0,0 +1,218 @@
+package com.khojdu.backend.service.impl;
+
+import com.khojdu.backend.security.redis.RedisCircuitBreaker;
+import com.khojdu.backend.service.WishlistCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Per-user wishlist property ids kept as a Redis set, so heart state on search results and the wishlist size
+ * need no query. The set is loaded from the database on first read and then adjusted after each committed change;
+ * changes never create it. A load could still read the database just before a change commits and store the
+ * result after the change found no set to adjust, so each load first writes a marker holding a fresh token, every
+ * change deletes the marker, and the load only stores its result if its token is still there. Sets expire after
+ * the TTL, which bounds any remaining drift. When Redis is unavailable reads fall through to the loader.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WishlistCacheServiceImpl implements WishlistCacheService {
+
+    // Both keys of a user share the hash tag, so the scripts that touch both stay on one cluster slot
+    private static final String KEY_PREFIX = "wishlist:ids:";
+    private static final String LOAD_MARKER_PREFIX = "wishlist:loading:";
+    // Member of every loaded set so that an empty wishlist is distinguishable from "not loaded"
+    private static final String LOADED_MEMBER = "_loaded";
+    // Only needs to outlive one loader query
+    private static final Duration LOAD_MARKER_TTL = Duration.ofSeconds(30);
+    private static final int EVICT_CHUNK = 500;
+
+    // KEYS[1] is the set, KEYS[2] the load marker
+    private static final DefaultRedisScript<Long> SADD_IF_EXISTS = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[2]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "return redis.call('SADD', KEYS[1], ARGV[1])", Long.class);
+
+    private static final DefaultRedisScript<Long> SREM_IF_EXISTS = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[2]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "return redis.call('SREM', KEYS[1], ARGV[1])", Long.class);
+
+    // ARGV[1] is the load token, ARGV[2] the TTL in ms, followed by the members
+    private static final DefaultRedisScript<Long> SADD_ALL_IF_CURRENT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[2]) ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[2]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "for i = 3, #ARGV do redis.call('SADD', KEYS[1], ARGV[i]) end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    @Value("${app.wishlist.cache-ttl-ms:3600000}")
+    private long cacheTtlMs;
+
+    @Override
+    public Set<UUID> getPropertyIds(UUID userId, Supplier<Collection<UUID>> loader) {
+        String key = key(userId);
+        try {
+            Set<String> members = circuitBreaker.call(() -> redisTemplate.opsForSet().members(key));
+            if (members != null && !members.isEmpty()) {
+                Set<UUID> ids = new HashSet<>();
+                for (String member : members) {
+                    if (!LOADED_MEMBER.equals(member)) ids.add(UUID.fromString(member));
+                }
+                return ids;
+            }
+        } catch (Exception e) {
+            log.debug("Wishlist cache unavailable for user {}: {}", userId, e.getMessage());
+            return new HashSet<>(loader.get());
+        }
+        return load(userId, loader);
+    }
+
+    @Override
+    public Map<UUID, Boolean> contains(UUID userId, Collection<UUID> propertyIds, Supplier<Collection<UUID>> loader) {
+        Map<UUID, Boolean> result = new LinkedHashMap<>();
+        if (propertyIds.isEmpty()) return result;
+
+        String key = key(userId);
+        Object[] members = new Object[propertyIds.size() + 1];
+        members[0] = LOADED_MEMBER;
+        int i = 1;
+        for (UUID propertyId : propertyIds) {
+            members[i++] = propertyId.toString();
+        }
+
+        try {
+            // One SMISMEMBER round trip; the marker tells whether the set is loaded at all
+            Map<Object, Boolean> cached = circuitBreaker.call(() -> redisTemplate.opsForSet().isMember(key, members));
+            if (cached != null && Boolean.TRUE.equals(cached.get(LOADED_MEMBER))) {
+                for (UUID propertyId : propertyIds) {
+                    result.put(propertyId, Boolean.TRUE.equals(cached.get(propertyId.toString())));
+                }
+                return result;
+            }
+        } catch (Exception e) {
+            log.debug("Wishlist cache unavailable for user {}: {}", userId, e.getMessage());
+        }
+
+        Set<UUID> ids = getPropertyIds(userId, loader);
+        for (UUID propertyId : propertyIds) {
+            result.put(propertyId, ids.contains(propertyId));
+        }
+        return result;
+    }
+
+    @Override
+    public long count(UUID userId, Supplier<Collection<UUID>> loader) {
+        try {
+            Long size = circuitBreaker.call(() -> redisTemplate.opsForSet().size(key(userId)));
+            if (size != null && size > 0) return size - 1;
+        } catch (Exception e) {
+            log.debug("Wishlist cache unavailable for user {}: {}", userId, e.getMessage());
+            return loader.get().size();
+        }
+        return load(userId, loader).size();
+    }
+
+    @Override
+    public void added(UUID userId, UUID propertyId) {
+        try {
+            circuitBreaker.call(() -> redisTemplate.execute(SADD_IF_EXISTS, keys(userId), propertyId.toString()));
+        } catch (Exception e) {
+            evict(userId, e);
+        }
+    }
+
+    @Override
+    public void removed(UUID userId, UUID propertyId) {
+        try {
+            circuitBreaker.call(() -> redisTemplate.execute(SREM_IF_EXISTS, keys(userId), propertyId.toString()));
+        } catch (Exception e) {
+            evict(userId, e);
+        }
+    }
+
+    @Override
+    public void evictAll(Collection<UUID> userIds) {
+        List<String> keys = new ArrayList<>(Math.min(userIds.size(), EVICT_CHUNK) * 2);
+        try {
+            for (UUID userId : userIds) {
+                keys.addAll(keys(userId));
+                if (keys.size() >= EVICT_CHUNK * 2) {
+                    circuitBreaker.call(() -> redisTemplate.delete(keys));
+                    keys.clear();
+                }
+            }
+            if (!keys.isEmpty()) circuitBreaker.call(() -> redisTemplate.delete(keys));
+        } catch (Exception e) {
+            log.warn("Could not evict {} cached wishlists, they expire within {} ms: {}",
+                    userIds.size(), cacheTtlMs, e.getMessage());
+        }
+    }
+
+    private Set<UUID> load(UUID userId, Supplier<Collection<UUID>> loader) {
+        String token = UUID.randomUUID().toString();
+        boolean marked;
+        try {
+            circuitBreaker.run(() -> redisTemplate.opsForValue().set(loadMarker(userId), token, LOAD_MARKER_TTL));
+            marked = true;
+        } catch (Exception e) {
+            log.debug("Could not mark wishlist load for user {}: {}", userId, e.getMessage());
+            marked = false;
+        }
+
+        Set<UUID> ids = new HashSet<>(loader.get());
+        if (!marked) return ids;
+        try {
+            List<String> args = new ArrayList<>(ids.size() + 3);
+            args.add(token);
+            args.add(String.valueOf(cacheTtlMs));
+            args.add(LOADED_MEMBER);
+            ids.forEach(id -> args.add(id.toString()));
+            // Stores nothing if a change committed (and dropped the marker) while the loader was reading
+            circuitBreaker.call(() -> redisTemplate.execute(SADD_ALL_IF_CURRENT, keys(userId), args.toArray()));
+        } catch (Exception e) {
+            log.debug("Could not cache wishlist for user {}: {}", userId, e.getMessage());
+        }
+        return ids;
+    }
+
+    private static String key(UUID userId) {
+        return KEY_PREFIX + "{" + userId + "}";
+    }
+
+    private static String loadMarker(UUID userId) {
+        return LOAD_MARKER_PREFIX + "{" + userId + "}";
+    }
+
+    private static List<String> keys(UUID userId) {
+        return List.of(key(userId), loadMarker(userId));
+    }
+
+    // A set that may have missed an update is dropped so the next read reloads it
+    private void evict(UUID userId, Exception cause) {
+        log.warn("Could not update cached wishlist for user {}: {}", userId, cause.getMessage());
+        try {
+            redisTemplate.delete(keys(userId));
+        } catch (Exception ignored) {
+            // Redis is down; the key expires on its own
+        }
+    }
+}
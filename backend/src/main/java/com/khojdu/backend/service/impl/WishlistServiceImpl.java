@@ -2,24 +2,31 @@ package com.khojdu.backend.service.impl;
 
 import com.khojdu.backend.dto.common.PagedResponse;
 import com.khojdu.backend.dto.property.PropertyListResponse;
-import com.khojdu.backend.entity.Property;
 import com.khojdu.backend.entity.User;
+import com.khojdu.backend.exception.BadRequestException;
 import com.khojdu.backend.exception.ResourceNotFoundException;
 import com.khojdu.backend.mapper.PropertyMapper;
 import com.khojdu.backend.repository.PropertyRepository;
 import com.khojdu.backend.repository.UserRepository;
+import com.khojdu.backend.repository.WishlistRepository;
+import com.khojdu.backend.service.PopularityService;
+import com.khojdu.backend.service.WishlistCacheService;
 import com.khojdu.backend.service.WishlistService;
 import com.khojdu.backend.util.PaginationUtil;
+import com.khojdu.backend.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,29 +36,29 @@ public class WishlistServiceImpl implements WishlistService {
 
     private final UserRepository userRepository;
     private final PropertyRepository propertyRepository;
+    private final WishlistRepository wishlistRepository;
+    private final WishlistCacheService wishlistCacheService;
+    private final PopularityService popularityService;
     private final PropertyMapper propertyMapper;
 
-    private User resolveUser(String identifier) {
-        // Try email first
-        Optional<User> byEmail = userRepository.findByEmail(identifier);
-        if (byEmail.isPresent()) return byEmail.get();
-        // Try UUID
+    // Upper bound for one membership check, e.g. a page of search results
+    private static final int MAX_CHECK_IDS = 100;
+
+    // The principal name is the user id; email identifiers are still accepted
+    private Optional<UUID> tryResolveUserId(String identifier) {
         try {
-            Optional<User> byId = userRepository.findById(UUID.fromString(identifier));
-            if (byId.isPresent()) return byId.get();
+            return Optional.of(UUID.fromString(identifier));
         } catch (IllegalArgumentException ignored) {
+            return userRepository.findByEmail(identifier).map(User::getId);
         }
-        throw new ResourceNotFoundException("User not found");
     }
 
-    private Optional<User> tryResolveUser(String identifier) {
-        Optional<User> byEmail = userRepository.findByEmail(identifier);
-        if (byEmail.isPresent()) return byEmail;
-        try {
-            return userRepository.findById(UUID.fromString(identifier));
-        } catch (IllegalArgumentException ignored) {
-            return Optional.empty();
-        }
+    private UUID resolveUserId(String identifier) {
+        return tryResolveUserId(identifier).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    private Supplier<Collection<UUID>> wishlistLoader(UUID userId) {
+        return () -> wishlistRepository.findPropertyIdsByUserId(userId);
     }
 
     @Override
@@ -59,24 +66,20 @@ public class WishlistServiceImpl implements WishlistService {
     public void addToWishlist(String userEmail, UUID propertyId) {
         log.info("Adding property {} to wishlist for user: {}", propertyId, userEmail);
 
-        User user = resolveUser(userEmail);
-
-        Property property = propertyRepository.findById(propertyId)
-                .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
-
-        List<Property> wishlist = user.getWishlistProperties() == null
-                ? new ArrayList<>()
-                : new ArrayList<>(user.getWishlistProperties());
+        UUID userId = resolveUserId(userEmail);
+        if (!propertyRepository.existsById(propertyId)) {
+            throw new ResourceNotFoundException("Property not found");
+        }
 
-        if (wishlist.stream().noneMatch(p -> p.getId().equals(property.getId()))) {
-            wishlist.add(property);
-            user.setWishlistProperties(wishlist);
-            userRepository.save(user);
+        if (wishlistRepository.insertIfAbsent(userId, propertyId) > 0) {
+            TransactionUtil.afterCommit(() -> {
+                wishlistCacheService.added(userId, propertyId);
+                popularityService.recordWishlist(propertyId, true);
+            });
             log.info("Property added to wishlist successfully");
         } else {
             log.info("Property {} already in wishlist for user {}", propertyId, userEmail);
         }
-
     }
 
     @Override
@@ -84,59 +87,64 @@ public class WishlistServiceImpl implements WishlistService {
     public void removeFromWishlist(String userEmail, UUID propertyId) {
         log.info("Removing property {} from wishlist for user: {}", propertyId, userEmail);
 
-        User user = resolveUser(userEmail);
-
-        Property property = propertyRepository.findById(propertyId)
-                .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
-
-        if (user.getWishlistProperties() != null) {
-            List<Property> wishlist = new ArrayList<>(user.getWishlistProperties());
-            boolean removed = wishlist.removeIf(p -> p.getId().equals(property.getId()));
-            if (removed) {
-                user.setWishlistProperties(wishlist);
-                userRepository.save(user);
-                log.info("Property removed from wishlist successfully");
-            } else {
-                log.info("Property {} not found in wishlist for user {}", propertyId, userEmail);
-            }
+        UUID userId = resolveUserId(userEmail);
+        if (wishlistRepository.deleteEntry(userId, propertyId) > 0) {
+            TransactionUtil.afterCommit(() -> {
+                wishlistCacheService.removed(userId, propertyId);
+                popularityService.recordWishlist(propertyId, false);
+            });
+            log.info("Property removed from wishlist successfully");
+            return;
         }
 
+        if (!propertyRepository.existsById(propertyId)) {
+            throw new ResourceNotFoundException("Property not found");
+        }
+        log.info("Property {} not found in wishlist for user {}", propertyId, userEmail);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<PropertyListResponse> getUserWishlist(String userEmail, int page, int size) {
-        User user = resolveUser(userEmail);
+        UUID userId = resolveUserId(userEmail);
+        Pageable pageable = PaginationUtil.createPageable(page, size, null, null);
 
-        List<Property> wishlistProperties = user.getWishlistProperties();
-
-        // Manual pagination
-        int start = page * size;
-        int end = Math.min(start + size, wishlistProperties.size());
-
-        List<PropertyListResponse> properties = wishlistProperties
-                .subList(start, end)
+        long total = wishlistCacheService.count(userId, wishlistLoader(userId));
+        List<PropertyListResponse> properties = total == 0 ? List.of() : wishlistRepository.findWishlistPage(userId, pageable)
                 .stream()
                 .map(propertyMapper::toPropertyListResponse)
                 .collect(Collectors.toList());
 
-        int totalPages = (int) Math.ceil((double) wishlistProperties.size() / size);
-
-        return PagedResponse.of(properties, page, size, wishlistProperties.size(), totalPages);
+        int totalPages = (int) Math.ceil((double) total / pageable.getPageSize());
+        return PagedResponse.of(properties, pageable.getPageNumber(), pageable.getPageSize(), total, totalPages);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean isInWishlist(String userEmail, UUID propertyId) {
-        Optional<User> maybeUser = tryResolveUser(userEmail);
-        if (maybeUser.isEmpty()) {
+        Optional<UUID> userId = tryResolveUserId(userEmail);
+        if (userId.isEmpty()) {
             log.warn("User {} not found while checking wishlist; returning false", userEmail);
             return false;
         }
-        User user = maybeUser.get();
+        return wishlistCacheService.contains(userId.get(), List.of(propertyId), wishlistLoader(userId.get()))
+                .getOrDefault(propertyId, false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Boolean> checkWishlist(String userEmail, List<UUID> propertyIds) {
+        if (propertyIds.size() > MAX_CHECK_IDS) {
+            throw new BadRequestException("At most " + MAX_CHECK_IDS + " property ids can be checked at once");
+        }
+
+        Optional<UUID> userId = tryResolveUserId(userEmail);
+        if (userId.isPresent()) {
+            return wishlistCacheService.contains(userId.get(), propertyIds, wishlistLoader(userId.get()));
+        }
 
-        return user.getWishlistProperties() != null &&
-                user.getWishlistProperties().stream()
-                        .anyMatch(p -> p.getId().equals(propertyId));
+        Map<UUID, Boolean> result = new LinkedHashMap<>();
+        propertyIds.forEach(propertyId -> result.put(propertyId, false));
+        return result;
     }
 }
@@ -0,0 +1,126 @@
+package com.khojdu.backend.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes export rows one at a time to an output stream, so memory stays constant however many rows are exported.
+ * Values are Strings, Booleans, Numbers or anything whose toString() is the wire form (UUID, java.time types).
+ */
+public abstract class ExportRowWriter implements AutoCloseable {
+
+    protected String[] columns;
+
+    public void start(String[] columns) throws IOException {
+        this.columns = columns;
+    }
+
+    public abstract void write(Object[] values) throws IOException;
+
+    // Flushes buffered output; the underlying stream is left open
+    @Override
+    public abstract void close() throws IOException;
+
+    /**
+     * One JSON object per line, nulls written explicitly so every line has the same keys.
+     */
+    public static ExportRowWriter ndjson(OutputStream out, JsonFactory jsonFactory) throws IOException {
+        JsonGenerator gen = jsonFactory.createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are separated by the newline written after each row, not Jackson's default space
+        gen.setRootValueSeparator(null);
+        return new ExportRowWriter() {
+            @Override
+            public void write(Object[] values) throws IOException {
+                gen.writeStartObject();
+                for (int i = 0; i < columns.length; i++) {
+                    gen.writeFieldName(columns[i]);
+                    Object value = values[i];
+                    if (value == null) {
+                        gen.writeNull();
+                    } else if (value instanceof String s) {
+                        gen.writeString(s);
+                    } else if (value instanceof Boolean b) {
+                        gen.writeBoolean(b);
+                    } else if (value instanceof Integer n) {
+                        gen.writeNumber(n);
+                    } else if (value instanceof Long n) {
+                        gen.writeNumber(n);
+                    } else if (value instanceof BigDecimal n) {
+                        gen.writeNumber(n);
+                    } else if (value instanceof Number n) {
+                        gen.writeNumber(n.doubleValue());
+                    } else {
+                        gen.writeString(value.toString());
+                    }
+                }
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+            }
+
+            @Override
+            public void close() throws IOException {
+                gen.close();
+            }
+        };
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. Text that a spreadsheet would evaluate as a formula is prefixed with a quote,
+     * since titles, names and complaint text are user input.
+     */
+    public static ExportRowWriter csv(OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        return new ExportRowWriter() {
+            @Override
+            public void start(String[] columns) throws IOException {
+                super.start(columns);
+                write((Object[]) columns);
+            }
+
+            @Override
+            public void write(Object[] values) throws IOException {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) writer.write(',');
+                    Object value = values[i];
+                    if (value == null) continue;
+                    if (value instanceof String s) {
+                        writeText(s);
+                    } else {
+                        writer.write(value.toString());
+                    }
+                }
+                writer.write("\r\n");
+            }
+
+            private void writeText(String s) throws IOException {
+                boolean formula = !s.isEmpty() && "=+-@\t\r".indexOf(s.charAt(0)) >= 0;
+                boolean quote = formula;
+                for (int i = 0; i < s.length() && !quote; i++) {
+                    char c = s.charAt(i);
+                    quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+                }
+                if (!quote) {
+                    writer.write(s);
+                    return;
+                }
+                writer.write(formula ? "\"'" : "\"");
+                writer.write(s.indexOf('"') >= 0 ? s.replace("\"", "\"\"") : s);
+                writer.write('"');
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.khojdu.backend.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+public class HttpCacheUtil {
+
+    /**
+     * Weak validator over the given version parts. Always weak: equal parts mean an equivalent representation, but
+     * bodies are never byte-identical because the ApiResponse envelope carries a timestamp.
+     */
+    public static String weakETag(Object... parts) {
+        StringJoiner joiner = new StringJoiner("|");
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(joiner.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, String etag, CacheControl cacheControl) {
+        if (etag == null) return ResponseEntity.ok(body);
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body);
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+}
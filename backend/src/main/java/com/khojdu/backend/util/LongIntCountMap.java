@@ -0,0 +1,119 @@
+package com.khojdu.backend.util;
+
+/**
+ * Counts per long key in two primitive arrays (open addressing, linear probing), about 12 bytes per slot instead of
+ * the ~80 a HashMap&lt;Long, Integer&gt; entry costs. Key 0 marks an empty slot and cannot be counted.
+ */
+public class LongIntCountMap {
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int count);
+    }
+
+    private static final float MAX_LOAD = 0.75f;
+
+    private long[] keys;
+    private int[] counts;
+    private int mask;
+    private int size;
+
+    public LongIntCountMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int increment(long key) {
+        if (key == 0) throw new IllegalArgumentException("Key 0 is reserved");
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) return ++counts[slot];
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        counts[slot] = 1;
+        if (++size > keys.length * MAX_LOAD) {
+            rehash(keys.length * 2);
+        }
+        return 1;
+    }
+
+    public int get(long key) {
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) return counts[slot];
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) consumer.accept(keys[i], counts[i]);
+        }
+    }
+
+    /**
+     * Drops every entry counted at most {@code maxCount} times and shrinks the table to fit. Returns the number removed.
+     */
+    public int removeAtMost(int maxCount) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int kept = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && oldCounts[i] > maxCount) kept++;
+        }
+
+        int removed = size - kept;
+        allocate(tableSizeFor(kept));
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && oldCounts[i] > maxCount) put(oldKeys[i], oldCounts[i]);
+        }
+        return removed;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) put(oldKeys[i], oldCounts[i]);
+        }
+    }
+
+    private void put(long key, int count) {
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        counts[slot] = count;
+        size++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int slot(long key) {
+        // Murmur3 finalizer; pair keys built from small ints would otherwise cluster
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.min(1L << 30, (long) Math.ceil(Math.max(expectedSize, 8) / MAX_LOAD));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,32 @@
+package com.khojdu.backend.util;
+
+import com.khojdu.backend.exception.ConflictException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+public class RetryUtil {
+
+    /**
+     * Runs the action again when it loses an optimistic-lock race, up to maxAttempts in total, with a short randomized
+     * backoff. Each attempt must open its own transaction so that it re-reads current state.
+     */
+    public static <T> T onOptimisticConflict(int maxAttempts, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new ConflictException("The resource was modified concurrently, please try again", e);
+                }
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(10, 50) * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new ConflictException("The resource was modified concurrently, please try again", e);
+                }
+            }
+        }
+    }
+}
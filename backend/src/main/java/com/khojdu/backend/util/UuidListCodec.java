@@ -0,0 +1,30 @@
+package com.khojdu.backend.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Packs id lists into 16 bytes per id (base64, 22 characters) for compact cache values.
+ */
+public class UuidListCodec {
+
+    public static String encode(List<UUID> ids) {
+        ByteBuffer buffer = ByteBuffer.allocate(ids.size() * 16);
+        for (UUID id : ids) {
+            buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        }
+        return Base64.getEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static List<UUID> decode(String value) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(value));
+        List<UUID> ids = new ArrayList<>(buffer.remaining() / 16);
+        while (buffer.remaining() >= 16) {
+            ids.add(new UUID(buffer.getLong(), buffer.getLong()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,12 @@
+-- Optimistic locking for properties
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- At most one primary image per property; where several exist, keep the first by display order
+UPDATE property_images pi SET is_primary = false
+WHERE pi.is_primary
+  AND EXISTS (SELECT 1 FROM property_images other
+              WHERE other.property_id = pi.property_id
+                AND other.is_primary
+                AND (COALESCE(other.display_order, 0), other.id) < (COALESCE(pi.display_order, 0), pi.id));
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_property_images_one_primary ON property_images(property_id) WHERE is_primary;
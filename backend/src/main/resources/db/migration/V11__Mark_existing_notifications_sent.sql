@@ -0,0 +1,3 @@
+-- Notifications stored before the stream existed were never meant to be pushed; without this the unsent sweep
+-- would replay the whole history to connected users on first deploy
+UPDATE notifications SET is_sent = true WHERE is_sent IS DISTINCT FROM true;
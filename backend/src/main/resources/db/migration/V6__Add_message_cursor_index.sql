@@ -0,0 +1,5 @@
+-- Keyset pagination over a conversation: WHERE inquiry_id = ? AND (sent_at, id) < (?, ?) ORDER BY sent_at, id
+CREATE INDEX IF NOT EXISTS idx_messages_inquiry_sent_at ON messages(inquiry_id, sent_at, id);
+
+-- Covered by the composite index above
+DROP INDEX IF EXISTS idx_messages_inquiry;
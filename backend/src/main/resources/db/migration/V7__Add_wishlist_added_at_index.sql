@@ -0,0 +1,2 @@
+-- Wishlist pages: WHERE user_id = ? ORDER BY added_at DESC, property_id
+CREATE INDEX IF NOT EXISTS idx_wishlists_user_added_at ON wishlists(user_id, added_at DESC, property_id);
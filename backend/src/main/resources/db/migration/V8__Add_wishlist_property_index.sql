@@ -0,0 +1,2 @@
+-- Per-property wishlist counts for listing stats: WHERE property_id = ?
+CREATE INDEX IF NOT EXISTS idx_wishlists_property_id ON wishlists(property_id);
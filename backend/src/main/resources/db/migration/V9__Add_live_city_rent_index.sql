@@ -0,0 +1,3 @@
+-- Similar-listing candidates: live listings in a city ordered by rent, scanned outwards from a given rent
+CREATE INDEX IF NOT EXISTS idx_properties_live_city_rent ON properties(city, monthly_rent)
+    WHERE status = 'APPROVED' AND is_available = true;
@@ -0,0 +1,106 @@
+package com.khojdu.backend.security.ratelimit;
+
+import com.khojdu.backend.config.RateLimitConfig;
+import com.khojdu.backend.security.redis.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimiterTest {
+
+    // 1 token per 100 ms
+    private static final double RATE = 0.01;
+
+    @Test
+    void allowsABurstUpToCapacityThenRefusesWithRetryAfter() {
+        RateLimiter.LocalBucket bucket = new RateLimiter.LocalBucket(3, 0);
+
+        assertThat(bucket.tryConsume(3, RATE, 0).remaining()).isEqualTo(2);
+        assertThat(bucket.tryConsume(3, RATE, 0).remaining()).isEqualTo(1);
+        assertThat(bucket.tryConsume(3, RATE, 0).remaining()).isZero();
+
+        RateLimiter.Decision refused = bucket.tryConsume(3, RATE, 0);
+        assertThat(refused.allowed()).isFalse();
+        assertThat(refused.retryAfterMs()).isEqualTo(100);
+    }
+
+    @Test
+    void refillsInProportionToElapsedTime() {
+        RateLimiter.LocalBucket bucket = new RateLimiter.LocalBucket(3, 0);
+        for (int i = 0; i < 3; i++) bucket.tryConsume(3, RATE, 0);
+
+        RateLimiter.Decision early = bucket.tryConsume(3, RATE, 40);
+        assertThat(early.allowed()).isFalse();
+        assertThat(early.retryAfterMs()).isEqualTo(60);
+
+        assertThat(bucket.tryConsume(3, RATE, 100).allowed()).isTrue();
+        assertThat(bucket.tryConsume(3, RATE, 100).allowed()).isFalse();
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() {
+        RateLimiter.LocalBucket bucket = new RateLimiter.LocalBucket(3, 0);
+        bucket.tryConsume(3, RATE, 0);
+
+        // An hour idle still only yields a full bucket
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(3, RATE, 3_600_000).allowed()).isTrue();
+        }
+        assertThat(bucket.tryConsume(3, RATE, 3_600_000).allowed()).isFalse();
+    }
+
+    @Test
+    void clockGoingBackwardsDoesNotDrainTheBucket() {
+        RateLimiter.LocalBucket bucket = new RateLimiter.LocalBucket(3, 1_000);
+        bucket.tryConsume(3, RATE, 1_000);
+
+        // A caller that read the clock before another thread updated the bucket
+        RateLimiter.Decision decision = bucket.tryConsume(3, RATE, 500);
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsFullOnlyOnceRefilled() {
+        RateLimiter.LocalBucket bucket = new RateLimiter.LocalBucket(3, 0);
+        bucket.tryConsume(3, RATE, 0);
+        bucket.tryConsume(3, RATE, 0);
+
+        assertThat(bucket.isFull(150)).isFalse();
+        assertThat(bucket.isFull(200)).isTrue();
+    }
+
+    @Test
+    void fallsBackToLocalBucketsWhenRedisFails() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new IllegalStateException("connection refused"));
+        RateLimiter limiter = new RateLimiter(redisTemplate, new RedisCircuitBreaker(new SimpleMeterRegistry()));
+
+        RateLimitConfig.Policy policy = new RateLimitConfig.Policy();
+        policy.setName("login");
+        policy.setCapacity(2);
+        policy.setRefillTokens(1);
+        policy.setRefillPeriod(Duration.ofHours(1));
+
+        List<RateLimiter.Decision> decisions = List.of(
+                limiter.tryConsume(policy, "10.0.0.1"),
+                limiter.tryConsume(policy, "10.0.0.1"),
+                limiter.tryConsume(policy, "10.0.0.1"));
+
+        assertThat(decisions).allMatch(RateLimiter.Decision::local);
+        assertThat(decisions).extracting(RateLimiter.Decision::allowed).containsExactly(true, true, false);
+        // Buckets are per subject
+        assertThat(limiter.tryConsume(policy, "10.0.0.2").allowed()).isTrue();
+    }
+}
@@ -0,0 +1,43 @@
+package com.khojdu.backend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoOccurrenceServiceImplTest {
+
+    @Test
+    void pairKeyIsOrderIndependent() {
+        assertThat(CoOccurrenceServiceImpl.pairKey(3, 9)).isEqualTo(CoOccurrenceServiceImpl.pairKey(9, 3));
+    }
+
+    @Test
+    void pairKeyUnpacksToSmallerThenLarger() {
+        int[][] pairs = {{0, 1}, {1, 0}, {5, 123_456}, {Integer.MAX_VALUE - 1, Integer.MAX_VALUE}, {70_000, 2}};
+        for (int[] pair : pairs) {
+            long key = CoOccurrenceServiceImpl.pairKey(pair[0], pair[1]);
+
+            assertThat(CoOccurrenceServiceImpl.pairFirst(key)).isEqualTo(Math.min(pair[0], pair[1]));
+            assertThat(CoOccurrenceServiceImpl.pairSecond(key)).isEqualTo(Math.max(pair[0], pair[1]));
+        }
+    }
+
+    @Test
+    void pairKeyIsNeverTheCountMapEmptyMarker() {
+        // The smallest pair of distinct indexes
+        assertThat(CoOccurrenceServiceImpl.pairKey(0, 1)).isNotZero();
+    }
+
+    @Test
+    void distinctPairsGetDistinctKeys() {
+        Set<Long> keys = new HashSet<>();
+        for (int a = 0; a < 200; a++) {
+            for (int b = a + 1; b < 200; b++) {
+                assertThat(keys.add(CoOccurrenceServiceImpl.pairKey(a, b))).as("pair %d, %d", a, b).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.khojdu.backend.util;
+
+import com.khojdu.backend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilTest {
+
+    @Test
+    void decodeReturnsWhatWasEncoded() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000);
+        UUID id = UUID.randomUUID();
+
+        CursorUtil.Cursor cursor = CursorUtil.decode(CursorUtil.encode(timestamp, id));
+
+        assertThat(cursor.timestamp()).isEqualTo(timestamp);
+        assertThat(cursor.id()).isEqualTo(id);
+    }
+
+    @Test
+    void keepsTimestampsWithoutFractionOrSeconds() {
+        // LocalDateTime.toString() drops zero seconds and nanos; parsing must accept the short form
+        LocalDateTime timestamp = LocalDateTime.of(2026, 1, 1, 10, 0);
+        UUID id = UUID.randomUUID();
+
+        assertThat(CursorUtil.decode(CursorUtil.encode(timestamp, id)).timestamp()).isEqualTo(timestamp);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String cursor = CursorUtil.encode(LocalDateTime.now(), UUID.randomUUID());
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String noSeparator = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2026-01-01T10:00".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2026-01-01T10:00|not-a-uuid".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[]{"", "***", noSeparator, badId}) {
+            assertThatThrownBy(() -> CursorUtil.decode(cursor))
+                    .as("cursor %s", cursor)
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+}
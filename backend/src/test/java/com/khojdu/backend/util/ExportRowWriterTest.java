@@ -0,0 +1,140 @@
+package com.khojdu.backend.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportRowWriterTest {
+
+    private static final String[] COLUMNS = {"id", "title", "rent", "available", "createdAt"};
+
+    @Test
+    void csvWritesHeaderAndPlainValuesUnquoted() throws IOException {
+        UUID id = UUID.fromString("3f1c2a8e-0d4b-4c1e-9a57-2b6f0e8d1c34");
+
+        String csv = csv(new Object[]{id, "Flat in Lalitpur", new BigDecimal("15000.00"), true,
+                LocalDateTime.of(2026, 1, 1, 10, 0)});
+
+        assertThat(csv).isEqualTo("id,title,rent,available,createdAt\r\n" +
+                "3f1c2a8e-0d4b-4c1e-9a57-2b6f0e8d1c34,Flat in Lalitpur,15000.00,true,2026-01-01T10:00\r\n");
+    }
+
+    @Test
+    void csvWritesNullAsEmptyField() throws IOException {
+        assertThat(csv(new Object[]{null, "x", null, null, null})).endsWith("\r\n,x,,,\r\n");
+    }
+
+    @Test
+    void csvQuotesSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertThat(row("a,b")).isEqualTo("\"a,b\"");
+        assertThat(row("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(row("line\nbreak")).isEqualTo("\"line\nbreak\"");
+        assertThat(row("carriage\rreturn")).isEqualTo("\"carriage\rreturn\"");
+        assertThat(row("")).isEmpty();
+    }
+
+    @Test
+    void csvNeutralisesFormulas() throws IOException {
+        assertThat(row("=SUM(A1:A9)")).isEqualTo("\"'=SUM(A1:A9)\"");
+        assertThat(row("+977 1 5555555")).isEqualTo("\"'+977 1 5555555\"");
+        assertThat(row("-2+3")).isEqualTo("\"'-2+3\"");
+        assertThat(row("@cmd")).isEqualTo("\"'@cmd\"");
+        assertThat(row("\tindented")).isEqualTo("\"'\tindented\"");
+        assertThat(row("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        // Only a leading trigger character counts
+        assertThat(row("a=b")).isEqualTo("a=b");
+    }
+
+    @Test
+    void csvLeavesNumbersAlone() throws IOException {
+        // A negative rent is a number, not user text, so it is not treated as a formula
+        assertThat(csv(new Object[]{null, null, new BigDecimal("-5"), null, null})).endsWith("\r\n,,-5,,\r\n");
+    }
+
+    @Test
+    void csvHeaderIsWrittenForEmptyExports() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportRowWriter writer = ExportRowWriter.csv(out)) {
+            writer.start(COLUMNS);
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("id,title,rent,available,createdAt\r\n");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLineWithExplicitNulls() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportRowWriter writer = ExportRowWriter.ndjson(out, new JsonFactory())) {
+            writer.start(COLUMNS);
+            writer.write(new Object[]{UUID.fromString("3f1c2a8e-0d4b-4c1e-9a57-2b6f0e8d1c34"), "a,\"b\"\n",
+                    new BigDecimal("15000.00"), true, LocalDateTime.of(2026, 1, 1, 10, 0)});
+            writer.write(new Object[]{null, "=x", 7L, false, null});
+        }
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        assertThat(lines[0]).startsWith("{").doesNotStartWith(" ");
+        assertThat(lines[1]).startsWith("{").doesNotStartWith(" ");
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode first = mapper.readTree(lines[0]);
+        assertThat(first.get("id").asText()).isEqualTo("3f1c2a8e-0d4b-4c1e-9a57-2b6f0e8d1c34");
+        assertThat(first.get("title").asText()).isEqualTo("a,\"b\"\n");
+        assertThat(first.get("rent").decimalValue()).isEqualByComparingTo("15000.00");
+        assertThat(first.get("available").booleanValue()).isTrue();
+        assertThat(first.get("createdAt").asText()).isEqualTo("2026-01-01T10:00");
+
+        JsonNode second = mapper.readTree(lines[1]);
+        assertThat(second.get("id").isNull()).isTrue();
+        // JSON needs no formula escaping; the text is kept as is
+        assertThat(second.get("title").asText()).isEqualTo("=x");
+        assertThat(second.get("rent").longValue()).isEqualTo(7L);
+        assertThat(second.get("createdAt").isNull()).isTrue();
+    }
+
+    @Test
+    void closeFlushesWithoutClosingTheStream() throws IOException {
+        boolean[] closed = {false};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        try (ExportRowWriter writer = ExportRowWriter.ndjson(out, new JsonFactory())) {
+            writer.start(COLUMNS);
+            writer.write(new Object[]{null, null, null, null, null});
+        }
+        try (ExportRowWriter writer = ExportRowWriter.csv(out)) {
+            writer.start(COLUMNS);
+        }
+
+        assertThat(closed[0]).isFalse();
+        assertThat(out.size()).isPositive();
+    }
+
+    private static String row(String title) throws IOException {
+        String csv = csv(new Object[]{null, title, null, null, null});
+        String line = csv.substring(csv.indexOf("\r\n") + 2, csv.length() - 2);
+        return line.substring(1, line.length() - 3);
+    }
+
+    private static String csv(Object[] values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportRowWriter writer = ExportRowWriter.csv(out)) {
+            writer.start(COLUMNS);
+            writer.write(values);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
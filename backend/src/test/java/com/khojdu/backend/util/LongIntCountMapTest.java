@@ -0,0 +1,92 @@
+package com.khojdu.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongIntCountMapTest {
+
+    @Test
+    void countsRepeatedKeys() {
+        LongIntCountMap map = new LongIntCountMap(16);
+
+        assertThat(map.increment(42)).isEqualTo(1);
+        assertThat(map.increment(42)).isEqualTo(2);
+        assertThat(map.increment(-7)).isEqualTo(1);
+
+        assertThat(map.get(42)).isEqualTo(2);
+        assertThat(map.get(-7)).isEqualTo(1);
+        assertThat(map.get(43)).isZero();
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsTheEmptySlotMarker() {
+        LongIntCountMap map = new LongIntCountMap(16);
+
+        assertThatThrownBy(() -> map.increment(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(0)).isZero();
+    }
+
+    @Test
+    void findsKeysPastCollisionsAndAfterRehash() {
+        // Far more keys than the initial table holds, so it rehashes several times and probes through long runs
+        LongIntCountMap map = new LongIntCountMap(1);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            // Sequential high words with small low words, like pair keys of dense indexes
+            long key = i % 3 == 0 ? random.nextLong() : ((long) (i % 500 + 1) << 32) | (i % 97);
+            if (key == 0) continue;
+            map.increment(key);
+            expected.merge(key, 1, Integer::sum);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, count) -> assertThat(map.get(key)).as("key %d", key).isEqualTo(count));
+
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach((key, count) -> assertThat(visited.put(key, count)).isNull());
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    void removeAtMostDropsRareKeysAndKeepsTheRestReachable() {
+        LongIntCountMap map = new LongIntCountMap(8);
+        for (long key = 1; key <= 1_000; key++) {
+            // key k is counted k % 5 + 1 times
+            for (int i = 0; i <= key % 5; i++) map.increment(key);
+        }
+
+        int removed = map.removeAtMost(2);
+
+        assertThat(removed).isEqualTo(400);
+        assertThat(map.size()).isEqualTo(600);
+        for (long key = 1; key <= 1_000; key++) {
+            int count = (int) (key % 5) + 1;
+            assertThat(map.get(key)).as("key %d", key).isEqualTo(count > 2 ? count : 0);
+        }
+
+        // The shrunk table still grows and counts correctly
+        for (long key = 1; key <= 1_000; key++) map.increment(key);
+        assertThat(map.size()).isEqualTo(1_000);
+        assertThat(map.get(1)).isEqualTo(1);
+        assertThat(map.get(4)).isEqualTo(6);
+    }
+
+    @Test
+    void removeAtMostCanEmptyTheMap() {
+        LongIntCountMap map = new LongIntCountMap(8);
+        map.increment(1);
+        map.increment(2);
+
+        assertThat(map.removeAtMost(Integer.MAX_VALUE)).isEqualTo(2);
+        assertThat(map.size()).isZero();
+        assertThat(map.increment(1)).isEqualTo(1);
+    }
+}